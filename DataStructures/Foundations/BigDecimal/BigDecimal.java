@@ -0,0 +1,649 @@
+package DataStructures.Foundations.BigDecimal;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import DataStructures.Foundations.BigInt.BigInt;
+
+public final class BigDecimal implements Comparable<BigDecimal>{
+    /**
+     * An immutable decimal number, unscaled * 10^-scale, with a BigInt as the unscaled value
+     * For example, 12.345 is 12345 with scale 3, and 1.2E+5 is 12 with scale -4.
+     *
+     * Like java.math.BigDecimal, the unscaled value is kept in a plain long whenever it fits,
+     * since most decimal workloads (money, measurements) never leave that range.
+     * add, minus, multiply, the rescaling by powers of ten and the rounding then run on longs,
+     * with overflow checks, and only fall back to BigInt arithmetic when a result doesn't fit.
+     *
+     * The BigInt limbs are base 2^32, not base 10^9, so rescaling is a multiplication by a power of ten,
+     * a single pass of multiply(long) for up to 18 digits, rather than a limb shift.
+     * Rounding away k digits divides by 10^k, which is again one pass for up to 18 digits,
+     * and the rounding direction comes from comparing twice the remainder with 10^k.
+     *
+     * Arithmetic with a MathContext rounds the exact result to its precision, with its rounding mode.
+     * The MathContext and RoundingMode of java.math are reused, since they are plain value types.
+     * equals, like java.math.BigDecimal, also compares the scale, so 1.0 and 1.00 are not equal,
+     * while compareTo only compares the values.
+     */
+    // Marks that the unscaled value doesn't fit into a long, and is in big instead
+    private static final long INFLATED = Long.MIN_VALUE;
+    // Long.MIN_VALUE is INFLATED, so a compact value is in (Long.MIN_VALUE, Long.MAX_VALUE]
+    private static final long[] LONG_TEN_POWERS = new long[19];
+    // SCALE_UP_LIMIT[k] is the largest |x| for which x * 10^k still fits into a long
+    private static final long[] SCALE_UP_LIMIT = new long[19];
+    private static final double LOG10_2 = Math.log10(2);
+    // Powers of ten as BigInts, computed on first use
+    private static final BigInt[] BIG_TEN_POWERS = new BigInt[1024];
+
+    static{
+        long power = 1;
+        for(int i = 0; i < LONG_TEN_POWERS.length; i++){
+            LONG_TEN_POWERS[i] = power;
+            SCALE_UP_LIMIT[i] = Long.MAX_VALUE / power;
+            power *= 10;
+        }
+    }
+
+    public static final BigDecimal ZERO = new BigDecimal(0, 0);
+    public static final BigDecimal ONE = new BigDecimal(1, 0);
+
+    private final long compact;
+    // null unless compact is INFLATED
+    private final BigInt big;
+    private final int scale;
+
+    public BigDecimal(long unscaled, int scale){
+        this.compact = unscaled;
+        this.big = unscaled == INFLATED? new BigInt(unscaled): null;
+        this.scale = scale;
+    }
+
+    public BigDecimal(BigInt unscaled, int scale){
+        // Every value that fits into a long is kept compact, so equal values always have the same fields
+        // The magnitude's bits, since -2^63, which takes 63 bits in two's complement, is INFLATED
+        if(unscaled.abs().bitLength() < 64){
+            this.compact = unscaled.longValueExact();
+            this.big = null;
+        } else {
+            this.compact = INFLATED;
+            this.big = unscaled;
+        }
+        this.scale = scale;
+    }
+
+    public BigDecimal(String s){
+        this(BigDecimal.parse(s));
+    }
+
+    private BigDecimal(BigDecimal other){
+        this.compact = other.compact;
+        this.big = other.big;
+        this.scale = other.scale;
+    }
+
+    public static BigDecimal valueOf(long value){
+        return BigDecimal.valueOf(value, 0);
+    }
+
+    public static BigDecimal valueOf(long unscaled, int scale){
+        if(unscaled == 0 && scale == 0){
+            return BigDecimal.ZERO;
+        }
+        return new BigDecimal(unscaled, scale);
+    }
+
+    public static BigDecimal parse(CharSequence s){
+        /**
+         * Parses an optional sign, digits with at most one decimal point and at least one digit,
+         * and an optional exponent of 'e' or 'E', an optional sign and digits,
+         * e.g. "-12.50", ".5", "3." or "1.25E-7".
+         * The scale is the number of digits after the point, minus the exponent, so "12.50" has scale 2.
+         * Anything else throws a NumberFormatException.
+         */
+        int length = s.length();
+        int index = 0;
+        boolean negative = false;
+        if(index < length && (s.charAt(index) == '-' || s.charAt(index) == '+')){
+            negative = s.charAt(index) == '-';
+            index += 1;
+        }
+        StringBuilder digits = new StringBuilder(length);
+        long scale = 0;
+        boolean point = false;
+        for(; index < length; index++){
+            char c = s.charAt(index);
+            if(c >= '0' && c <= '9'){
+                digits.append(c);
+                if(point){
+                    scale += 1;
+                }
+            } else if(c == '.' && !point){
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if(digits.length() == 0){
+            throw new NumberFormatException("No digits in \"" + s + "\"");
+        }
+        if(index < length){
+            char c = s.charAt(index);
+            if(c != 'e' && c != 'E'){
+                throw new NumberFormatException("Illegal character " + c + " at index " + index + " in \"" + s + "\"");
+            }
+            try{
+                scale -= Integer.parseInt(s, index + 1, length, 10);
+            } catch(NumberFormatException e){
+                throw new NumberFormatException("Illegal exponent in \"" + s + "\"");
+            }
+        }
+        if(scale != (int)scale){
+            throw new NumberFormatException("Scale out of range in \"" + s + "\"");
+        }
+        // Up to 18 digits always fit into a long
+        if(digits.length() <= 18){
+            long unscaled = Long.parseLong(digits, 0, digits.length(), 10);
+            return new BigDecimal(negative? -unscaled: unscaled, (int)scale);
+        }
+        BigInt unscaled = BigInt.parse(digits);
+        return new BigDecimal(negative? unscaled.inverse(): unscaled, (int)scale);
+    }
+
+    public BigInt unscaledValue(){
+        return this.big != null? this.big: BigInt.valueOf(this.compact);
+    }
+
+    public int scale(){
+        return this.scale;
+    }
+
+    public int signum(){
+        return this.big != null? this.big.signum(): Long.signum(this.compact);
+    }
+
+    public int precision(){
+        // Number of decimal digits of the unscaled value, 1 for 0
+        if(this.big == null){
+            return BigDecimal.digits(Math.abs(this.compact));
+        }
+        // 2^(bits - 1) <= |big| < 2^bits, so the estimate from the bits is at most one digit short
+        int bits = this.big.abs().bitLength();
+        int digits = (int)((bits - 1) * LOG10_2) + 1;
+        return this.big.abs().compareTo(BigDecimal.tenPower(digits)) >= 0? digits + 1: digits;
+    }
+
+    public BigDecimal negate(){
+        if(this.big != null){
+            return new BigDecimal(this.big.inverse(), this.scale);
+        }
+        return new BigDecimal(-this.compact, this.scale);
+    }
+
+    public BigDecimal abs(){
+        return this.signum() < 0? this.negate(): this;
+    }
+
+    public static BigDecimal add(BigDecimal a, BigDecimal b){
+        // Exact, at the larger scale of both
+        int scale = Math.max(a.scale, b.scale);
+        if(a.big == null && b.big == null){
+            long x = BigDecimal.scaleUp(a.compact, (long)scale - a.scale);
+            long y = BigDecimal.scaleUp(b.compact, (long)scale - b.scale);
+            if(x != INFLATED && y != INFLATED){
+                long sum = x + y;
+                // Overflow iff both operands have the same sign, and the sum has the other one
+                if(((x ^ sum) & (y ^ sum)) >= 0){
+                    return new BigDecimal(sum, scale);
+                }
+            }
+        }
+        return new BigDecimal(a.unscaledAt(scale).add(b.unscaledAt(scale)), scale);
+    }
+
+    public BigDecimal add(BigDecimal other){
+        return BigDecimal.add(this, other);
+    }
+
+    public BigDecimal add(BigDecimal other, MathContext mc){
+        return BigDecimal.add(this, other).round(mc);
+    }
+
+    public static BigDecimal minus(BigDecimal a, BigDecimal b){
+        return BigDecimal.add(a, b.negate());
+    }
+
+    public BigDecimal minus(BigDecimal other){
+        return BigDecimal.minus(this, other);
+    }
+
+    public BigDecimal minus(BigDecimal other, MathContext mc){
+        return BigDecimal.minus(this, other).round(mc);
+    }
+
+    public static BigDecimal multiply(BigDecimal a, BigDecimal b){
+        // Exact, at the sum of both scales
+        int scale = BigDecimal.checkScale((long)a.scale + b.scale);
+        if(a.big == null && b.big == null){
+            long product = a.compact * b.compact;
+            // The full 128-bit product fits into a long iff its high half is the sign extension of the low half
+            if(Math.multiplyHigh(a.compact, b.compact) == product >> 63){
+                return new BigDecimal(product, scale);
+            }
+        }
+        return new BigDecimal(a.unscaledValue().multiply(b.unscaledValue()), scale);
+    }
+
+    public BigDecimal multiply(BigDecimal other){
+        return BigDecimal.multiply(this, other);
+    }
+
+    public BigDecimal multiply(BigDecimal other, MathContext mc){
+        return BigDecimal.multiply(this, other).round(mc);
+    }
+
+    public BigDecimal divide(BigDecimal other, int scale, RoundingMode mode){
+        /**
+         * this / other, rounded to the given scale with mode:
+         * The unscaled result is a * 10^(scale - this.scale + other.scale) / b for the unscaled a and b,
+         * where a negative power of ten moves to the divisor instead.
+         */
+        if(other.signum() == 0){
+            throw new ArithmeticException("Division by zero");
+        }
+        long shift = (long)scale - this.scale + other.scale;
+        return BigDecimal.divideAndRound(this, Math.max(shift, 0), other, Math.max(-shift, 0), scale, mode, scale);
+    }
+
+    public BigDecimal divide(BigDecimal other, MathContext mc){
+        /**
+         * this / other, rounded to mc.getPrecision() significant digits with mc.getRoundingMode()
+         * With a precision of 0, the quotient must be exact, see divide(BigDecimal).
+         *
+         * For unscaled a and b with p(a) and p(b) digits, a * 10^shift / b has p or p + 1 digits
+         * for shift = p + p(b) - p(a), and it has p + 1 digits iff the digits of a,
+         * aligned to the same length as the digits of b, are at least b.
+         * So one comparison picks the shift for exactly p digits, and the quotient is rounded once.
+         * Like java.math.BigDecimal, the trailing zeros of an exact quotient are then stripped,
+         * but not below the scale this.scale - other.scale.
+         */
+        if(mc.getPrecision() == 0){
+            return this.divide(other);
+        }
+        if(other.signum() == 0){
+            throw new ArithmeticException("Division by zero");
+        }
+        long preferredScale = (long)this.scale - other.scale;
+        if(this.signum() == 0){
+            return new BigDecimal(0, BigDecimal.checkScale(preferredScale));
+        }
+        int precision = mc.getPrecision();
+        int aDigits = this.precision();
+        int bDigits = other.precision();
+        long shift = (long)precision + bDigits - aDigits;
+        if(BigDecimal.compareAligned(this, aDigits, other, bDigits) >= 0){
+            shift -= 1;
+        }
+        int scale = BigDecimal.checkScale(preferredScale + shift);
+        BigDecimal quotient = BigDecimal.divideAndRound(this, Math.max(shift, 0), other, Math.max(-shift, 0), scale, mc.getRoundingMode(), preferredScale);
+        if(quotient.precision() > precision){
+            // Rounded up to 10^precision, so the dropped digit is a 0
+            quotient = BigDecimal.dropDigits(quotient, 1, RoundingMode.UNNECESSARY);
+        }
+        return quotient;
+    }
+
+    public BigDecimal divide(BigDecimal other){
+        /**
+         * The exact quotient this / other, or an ArithmeticException if it has no finite decimal expansion
+         * An exact quotient has at most p(a) + ceil(10 p(b) / 3) digits, as in java.math.BigDecimal,
+         * so dividing to that precision with RoundingMode.UNNECESSARY either finds it or proves there is none.
+         */
+        if(other.signum() == 0){
+            throw new ArithmeticException("Division by zero");
+        }
+        long digits = this.precision() + (long)Math.ceil(10.0 * other.precision() / 3.0);
+        MathContext mc = new MathContext((int)Math.min(digits, Integer.MAX_VALUE), RoundingMode.UNNECESSARY);
+        try{
+            return this.divide(other, mc);
+        } catch(ArithmeticException e){
+            throw new ArithmeticException("Non-terminating decimal expansion");
+        }
+    }
+
+    public BigDecimal setScale(int scale, RoundingMode mode){
+        // The same value at another scale, rounded with mode if digits are dropped
+        if(scale >= this.scale){
+            return new BigDecimal(this.unscaledAt(scale), scale);
+        }
+        return BigDecimal.dropDigits(this, (long)this.scale - scale, mode);
+    }
+
+    public BigDecimal round(MathContext mc){
+        // Rounded to at most mc.getPrecision() significant digits, where a precision of 0 means no rounding
+        int precision = mc.getPrecision();
+        if(precision == 0){
+            return this;
+        }
+        int drop = this.precision() - precision;
+        if(drop <= 0){
+            return this;
+        }
+        BigDecimal rounded = BigDecimal.dropDigits(this, drop, mc.getRoundingMode());
+        if(rounded.precision() > precision){
+            // Rounded up to 10^precision, so the dropped digit is a 0
+            rounded = BigDecimal.dropDigits(rounded, 1, RoundingMode.UNNECESSARY);
+        }
+        return rounded;
+    }
+
+    public BigInt toBigInt(){
+        // The integer part, truncated towards zero
+        if(this.scale <= 0){
+            return this.unscaledAt(0);
+        }
+        return BigDecimal.dropDigits(this, this.scale, RoundingMode.DOWN).unscaledValue();
+    }
+
+    @Override
+    public int compareTo(BigDecimal other){
+        int signum = this.signum();
+        int otherSignum = other.signum();
+        if(signum != otherSignum){
+            return signum < otherSignum? -1: 1;
+        }
+        if(signum == 0){
+            return 0;
+        }
+        if(this.scale == other.scale && this.big == null && other.big == null){
+            return Long.compare(this.compact, other.compact);
+        }
+        // The position of the leading digit, precision - scale, decides unless it is the same
+        long thisExponent = (long)this.precision() - this.scale;
+        long otherExponent = (long)other.precision() - other.scale;
+        if(thisExponent != otherExponent){
+            return (thisExponent < otherExponent) == (signum > 0)? -1: 1;
+        }
+        int scale = Math.max(this.scale, other.scale);
+        return Integer.signum(this.unscaledAt(scale).compareTo(other.unscaledAt(scale)));
+    }
+
+    @Override
+    public boolean equals(Object o){
+        // Equal values with different scales, like 1.0 and 1.00, are not equal, see compareTo
+        if(o == this){
+            return true;
+        }
+        if(!(o instanceof BigDecimal)){
+            return false;
+        }
+        BigDecimal other = (BigDecimal)o;
+        if(this.scale != other.scale || this.compact != other.compact){
+            return false;
+        }
+        return this.big == null || this.big.equals(other.big);
+    }
+
+    @Override
+    public int hashCode(){
+        int unscaled = this.big != null? this.big.hashCode(): Long.hashCode(this.compact);
+        return 31 * unscaled + this.scale;
+    }
+
+    @Override
+    public String toString(){
+        // Plain notation, without an exponent, e.g. "-0.0012" or "1200" for 12 with scale -2
+        String digits = this.big != null? this.big.abs().toString(): Long.toString(Math.abs(this.compact));
+        StringBuilder builder = new StringBuilder(digits.length() + Math.abs(this.scale) + 3);
+        if(this.signum() < 0){
+            builder.append('-');
+        }
+        if(this.scale <= 0){
+            builder.append(digits);
+            if(this.signum() != 0){
+                builder.append("0".repeat(-this.scale));
+            }
+            return builder.toString();
+        }
+        if(digits.length() <= this.scale){
+            builder.append("0.").append("0".repeat(this.scale - digits.length())).append(digits);
+            return builder.toString();
+        }
+        int point = digits.length() - this.scale;
+        return builder.append(digits, 0, point).append('.').append(digits, point, digits.length()).toString();
+    }
+
+    private static int digits(long x){
+        // Number of decimal digits of x >= 0, 1 for 0
+        int digits = 1;
+        while(digits < LONG_TEN_POWERS.length && x >= LONG_TEN_POWERS[digits]){
+            digits += 1;
+        }
+        return digits;
+    }
+
+    private static int checkScale(long scale){
+        if(scale != (int)scale){
+            throw new ArithmeticException("Scale out of range: " + scale);
+        }
+        return (int)scale;
+    }
+
+    private static BigInt tenPower(long n){
+        if(n < LONG_TEN_POWERS.length){
+            return BigInt.valueOf(LONG_TEN_POWERS[(int)n]);
+        }
+        if(n >= BIG_TEN_POWERS.length){
+            return BigInt.pow(BigInt.valueOf(10), BigDecimal.checkScale(n));
+        }
+        // Threads racing on the same power compute equal values, and BigInts are immutable
+        BigInt power = BIG_TEN_POWERS[(int)n];
+        if(power == null){
+            power = BigInt.pow(BigInt.valueOf(10), (int)n);
+            BIG_TEN_POWERS[(int)n] = power;
+        }
+        return power;
+    }
+
+    private static long scaleUp(long x, long k){
+        // x * 10^k, or INFLATED if it doesn't fit into a long
+        if(k >= LONG_TEN_POWERS.length || Math.abs(x) > SCALE_UP_LIMIT[(int)k]){
+            return x == 0? 0: INFLATED;
+        }
+        return x * LONG_TEN_POWERS[(int)k];
+    }
+
+    private static BigInt scaleUp(BigInt x, long k){
+        if(k == 0 || x.isZero()){
+            return x;
+        }
+        if(k < LONG_TEN_POWERS.length){
+            return x.multiply(LONG_TEN_POWERS[(int)k]);
+        }
+        return x.multiply(BigDecimal.tenPower(k));
+    }
+
+    private BigInt unscaledAt(int scale){
+        // The unscaled value of this at a scale >= this.scale
+        return BigDecimal.scaleUp(this.unscaledValue(), (long)scale - this.scale);
+    }
+
+    private static int compareAligned(BigDecimal a, int aDigits, BigDecimal b, int bDigits){
+        // Compares |a| and |b| after padding the one with fewer digits with zeros to the same number of digits
+        if(a.big == null && b.big == null){
+            // Below 10^19 < 2^64, so the padded values fit into unsigned longs
+            long x = Math.abs(a.compact);
+            long y = Math.abs(b.compact);
+            if(aDigits < bDigits){
+                x *= LONG_TEN_POWERS[bDigits - aDigits];
+            } else {
+                y *= LONG_TEN_POWERS[aDigits - bDigits];
+            }
+            return Long.compareUnsigned(x, y);
+        }
+        BigInt x = BigDecimal.scaleUp(a.unscaledValue().abs(), Math.max(bDigits - aDigits, 0));
+        BigInt y = BigDecimal.scaleUp(b.unscaledValue().abs(), Math.max(aDigits - bDigits, 0));
+        return x.compareTo(y);
+    }
+
+    private static BigDecimal dropDigits(BigDecimal value, long k, RoundingMode mode){
+        // value with its last k > 0 digits rounded away, at the scale value.scale - k
+        int scale = BigDecimal.checkScale(value.scale - k);
+        if(value.big == null && k < LONG_TEN_POWERS.length){
+            return BigDecimal.divideAndRound(value.compact, LONG_TEN_POWERS[(int)k], scale, mode, scale);
+        }
+        return BigDecimal.divideAndRound(value.unscaledValue(), BigDecimal.tenPower(k), scale, mode, scale);
+    }
+
+    private static BigDecimal divideAndRound(BigDecimal a, long aShift, BigDecimal b, long bShift, int scale, RoundingMode mode,
+            long preferredScale){
+        // (a * 10^aShift) / (b * 10^bShift) of the unscaled values, rounded to an integer, at scale
+        // If the division is exact, trailing zeros are stripped down to preferredScale
+        if(a.big == null && b.big == null){
+            long x = BigDecimal.scaleUp(a.compact, aShift);
+            long y = BigDecimal.scaleUp(b.compact, bShift);
+            if(x != INFLATED && y != INFLATED){
+                return BigDecimal.divideAndRound(x, y, scale, mode, preferredScale);
+            }
+            if(y != INFLATED && aShift < LONG_TEN_POWERS.length){
+                /**
+                 * A compact dividend scaled up past 64 bits, e.g. for a quotient with the 16 digits of DECIMAL64:
+                 * The 128-bit product |a| * 10^aShift divided by |y| still has a quotient below 2^63
+                 * as long as the high half is below |y| / 2, so one 128-by-64-bit division does it.
+                 */
+                long x0 = Math.abs(a.compact);
+                long power = LONG_TEN_POWERS[(int)aShift];
+                long high = Math.multiplyHigh(x0, power);
+                long low = x0 * power;
+                long divisor = Math.abs(y);
+                if(high < divisor >>> 1){
+                    long quotient = BigDecimal.divideUnsigned(high, low, divisor);
+                    int sign = Long.signum(a.compact) * Long.signum(y);
+                    return BigDecimal.roundQuotient(quotient, low - quotient * divisor, divisor, sign, scale, mode, preferredScale);
+                }
+            }
+        }
+        return BigDecimal.divideAndRound(BigDecimal.scaleUp(a.unscaledValue(), aShift),
+                BigDecimal.scaleUp(b.unscaledValue(), bShift), scale, mode, preferredScale);
+    }
+
+    private static BigDecimal divideAndRound(long x, long y, int scale, RoundingMode mode, long preferredScale){
+        // x / y rounded to an integer with mode, for y != 0, and neither of them Long.MIN_VALUE
+        int sign = (x ^ y) < 0? -1: 1;
+        return BigDecimal.roundQuotient(Math.abs(x / y), Math.abs(x % y), Math.abs(y), sign, scale, mode, preferredScale);
+    }
+
+    private static BigDecimal roundQuotient(long quotient, long remainder, long divisor, int sign, int scale, RoundingMode mode,
+            long preferredScale){
+        // Rounds the quotient with the given sign, from the magnitudes of the truncated quotient, the remainder and the divisor
+        if(remainder == 0){
+            return new BigDecimal(sign * quotient, scale).stripZeros(preferredScale);
+        }
+        // Compares 2 * remainder with divisor without overflowing
+        int half = Long.compare(remainder, divisor - remainder);
+        if(BigDecimal.roundsUp(mode, sign, half, (quotient & 1) != 0)){
+            if(quotient == Long.MAX_VALUE){
+                // 2^63 doesn't fit, and -2^63 would be taken for INFLATED
+                return new BigDecimal(BigInt.valueOf(Long.MAX_VALUE).add(1).multiply(sign), scale);
+            }
+            quotient += 1;
+        }
+        return new BigDecimal(sign * quotient, scale);
+    }
+
+    private static long divideUnsigned(long high, long low, long divisor){
+        /**
+         * The 128-bit unsigned high:low divided by divisor, for high < divisor, so the quotient fits into 64 bits
+         * This is divlu from Hacker's Delight: the divisor is shifted so its top bit is set,
+         * and the quotient is found as two 32-bit digits, each estimated from the top digits and corrected at most twice.
+         */
+        int shift = Long.numberOfLeadingZeros(divisor);
+        divisor <<= shift;
+        long divisorHigh = divisor >>> 32;
+        long divisorLow = divisor & 0xFFFFFFFFL;
+        long numerator = shift == 0? high: (high << shift) | (low >>> (64 - shift));
+        low <<= shift;
+        long quotientHigh = BigDecimal.divideDigit(numerator, low >>> 32, divisor, divisorHigh, divisorLow);
+        numerator = (numerator << 32) + (low >>> 32) - quotientHigh * divisor;
+        long quotientLow = BigDecimal.divideDigit(numerator, low & 0xFFFFFFFFL, divisor, divisorHigh, divisorLow);
+        return (quotientHigh << 32) | quotientLow;
+    }
+
+    private static long divideDigit(long numerator, long nextDigit, long divisor, long divisorHigh, long divisorLow){
+        // The 32-bit digit (numerator:nextDigit) / divisor, for numerator < divisor with the top bit of divisor set
+        long digit = Long.divideUnsigned(numerator, divisorHigh);
+        long rest = numerator - digit * divisorHigh;
+        while(digit > 0xFFFFFFFFL || Long.compareUnsigned(digit * divisorLow, (rest << 32) | nextDigit) > 0){
+            digit -= 1;
+            rest += divisorHigh;
+            if(rest > 0xFFFFFFFFL){
+                break;
+            }
+        }
+        return digit;
+    }
+
+    private static BigDecimal divideAndRound(BigInt x, BigInt y, int scale, RoundingMode mode, long preferredScale){
+        BigInt[] qr = BigInt.divideAndRemainder(x, y);
+        BigInt quotient = qr[0];
+        if(qr[1].isZero()){
+            return new BigDecimal(quotient, scale).stripZeros(preferredScale);
+        } else {
+            int sign = x.signum() * y.signum();
+            BigInt r = qr[1].abs();
+            int half = Integer.signum(r.add(r).compareTo(y.abs()));
+            // The parity only matters for a tie under HALF_EVEN
+            boolean odd = mode == RoundingMode.HALF_EVEN && half == 0 && !quotient.mod(2).isZero();
+            if(BigDecimal.roundsUp(mode, sign, half, odd)){
+                quotient = quotient.add(sign);
+            }
+        }
+        return new BigDecimal(quotient, scale);
+    }
+
+    private static boolean roundsUp(RoundingMode mode, int sign, int half, boolean odd){
+        /**
+         * Whether a truncated quotient with a non-zero remainder moves one away from zero
+         * sign is the sign of the exact quotient,
+         * half compares the remainder with half of the divisor (-1, 0 or 1),
+         * and odd is whether the truncated quotient is odd.
+         */
+        switch(mode){
+            case UP:
+                return true;
+            case DOWN:
+                return false;
+            case CEILING:
+                return sign > 0;
+            case FLOOR:
+                return sign < 0;
+            case HALF_UP:
+                return half >= 0;
+            case HALF_DOWN:
+                return half > 0;
+            case HALF_EVEN:
+                return half > 0 || (half == 0 && odd);
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+    }
+
+    private BigDecimal stripZeros(long preferredScale){
+        // Removes trailing zeros of the unscaled value, but not below preferredScale
+        BigDecimal result = this;
+        while(result.scale > preferredScale && result.signum() != 0){
+            if(result.big == null){
+                if(result.compact % 10 != 0){
+                    break;
+                }
+                result = new BigDecimal(result.compact / 10, result.scale - 1);
+            } else {
+                BigInt[] qr = BigInt.divideAndRemainder(result.big, 10);
+                if(!qr[1].isZero()){
+                    break;
+                }
+                result = new BigDecimal(qr[0], result.scale - 1);
+            }
+        }
+        return result;
+    }
+}
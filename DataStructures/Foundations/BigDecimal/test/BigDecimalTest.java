@@ -0,0 +1,159 @@
+package DataStructures.Foundations.BigDecimal.test;
+
+import DataStructures.Foundations.BigDecimal.*;
+import DataStructures.Foundations.BigInt.BigInt;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+import org.junit.Test;
+
+public class BigDecimalTest {
+
+    private static final RoundingMode[] MODES = {
+            RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+            RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN
+    };
+
+    private static List<java.math.BigDecimal> randomValues(int count, Random random){
+        // Mixed signs, scales and lengths, around the long range, with ties for the half modes
+        List<java.math.BigDecimal> values = new ArrayList<>();
+        for(int i = 0; i < count; i++){
+            int kind = random.nextInt(5);
+            java.math.BigInteger unscaled;
+            if(kind == 0){
+                unscaled = java.math.BigInteger.valueOf(random.nextInt(2000) - 1000);
+            } else if(kind == 1){
+                unscaled = java.math.BigInteger.valueOf(random.nextLong());
+            } else if(kind == 2){
+                unscaled = java.math.BigInteger.valueOf(random.nextInt(100) * 10 + 5);
+            } else {
+                unscaled = new java.math.BigInteger(1 + random.nextInt(200), random);
+            }
+            unscaled = random.nextBoolean()? unscaled: unscaled.negate();
+            values.add(new java.math.BigDecimal(unscaled, random.nextInt(40) - 10));
+        }
+        return values;
+    }
+
+    private static BigDecimal of(java.math.BigDecimal value){
+        return new BigDecimal(new BigInt(value.unscaledValue().toString()), value.scale());
+    }
+
+    private static void assertSame(java.math.BigDecimal expected, BigDecimal actual){
+        // Same value and same scale
+        assertEquals(expected.toPlainString(), actual.toString());
+        assertEquals(expected.scale(), actual.scale());
+        assertEquals(of(expected), actual);
+    }
+
+    @Test
+    public void testParseAndToString(){
+        String[] inputs = {"0", "-0", "12.50", "-0.0012", ".5", "3.", "1.25E-7", "-4e+3", "12E2", "+7",
+                "123456789012345678901234567890.0987654321", "-9223372036854775808", "9223372036854775808"};
+        for(String input: inputs){
+            BigDecimal value = BigDecimal.parse(input);
+            java.math.BigDecimal expected = new java.math.BigDecimal(input);
+            assertSame(expected, value);
+            assertEquals(expected.precision(), value.precision());
+            assertEquals(expected.signum(), value.signum());
+            assertEquals(value, new BigDecimal(value.toString()).setScale(value.scale(), RoundingMode.UNNECESSARY));
+        }
+        for(String input: new String[]{"", "-", ".", "1.2.3", "1e", "1e+", "12a", "e5"}){
+            assertThrows(NumberFormatException.class, () -> BigDecimal.parse(input));
+        }
+    }
+
+    @Test
+    public void testExactArithmetic(){
+        Random random = new Random(21);
+        List<java.math.BigDecimal> values = randomValues(300, random);
+        for(int i = 0; i + 1 < values.size(); i++){
+            java.math.BigDecimal a = values.get(i);
+            java.math.BigDecimal b = values.get(i + 1);
+            assertSame(a.add(b), of(a).add(of(b)));
+            assertSame(a.subtract(b), of(a).minus(of(b)));
+            assertSame(a.multiply(b), of(a).multiply(of(b)));
+            assertSame(a.negate(), of(a).negate());
+            assertEquals(Integer.signum(a.compareTo(b)), Integer.signum(of(a).compareTo(of(b))));
+        }
+        // Overflow of the compact path
+        BigDecimal max = BigDecimal.valueOf(Long.MAX_VALUE);
+        assertEquals(BigDecimal.parse("18446744073709551614"), max.add(max));
+        assertEquals(BigDecimal.parse("85070591730234615847396907784232501249"), max.multiply(max));
+        assertEquals(BigDecimal.parse("-9223372036854775808"), max.negate().minus(BigDecimal.ONE));
+    }
+
+    @Test
+    public void testRounding(){
+        Random random = new Random(22);
+        for(java.math.BigDecimal a: randomValues(400, random)){
+            for(RoundingMode mode: MODES){
+                int precision = 1 + random.nextInt(30);
+                MathContext mc = new MathContext(precision, mode);
+                assertSame(a.round(mc), of(a).round(mc));
+                int scale = a.scale() - random.nextInt(25);
+                assertSame(a.setScale(scale, mode), of(a).setScale(scale, mode));
+            }
+            assertSame(a.setScale(a.scale() + 3), of(a).setScale(a.scale() + 3, RoundingMode.UNNECESSARY));
+            assertEquals(a.toBigInteger().toString(), of(a).toBigInt().toString());
+        }
+        // Rounding up to a power of ten keeps the precision
+        assertSame(new java.math.BigDecimal("1.0E+3"), BigDecimal.parse("999.96").round(new MathContext(2, RoundingMode.HALF_UP)));
+        assertThrows(ArithmeticException.class, () -> BigDecimal.parse("1.5").setScale(0, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    public void testDivide(){
+        Random random = new Random(23);
+        List<java.math.BigDecimal> values = randomValues(300, random);
+        for(int i = 0; i + 1 < values.size(); i++){
+            java.math.BigDecimal a = values.get(i);
+            java.math.BigDecimal b = values.get(i + 1);
+            if(b.signum() == 0){
+                assertThrows(ArithmeticException.class, () -> of(a).divide(of(b), MathContext.DECIMAL64));
+                continue;
+            }
+            for(RoundingMode mode: MODES){
+                MathContext mc = new MathContext(1 + random.nextInt(40), mode);
+                assertSame(a.divide(b, mc), of(a).divide(of(b), mc));
+                int scale = random.nextInt(30) - 5;
+                assertSame(a.divide(b, scale, mode), of(a).divide(of(b), scale, mode));
+            }
+            // An exact quotient
+            java.math.BigDecimal product = a.multiply(b);
+            assertSame(product.divide(b), of(product).divide(of(b)));
+        }
+        // Truncated quotients of Long.MAX_VALUE that round up to 2^63, on the 128-bit path of precision 19
+        for(RoundingMode mode: MODES){
+            MathContext mc = new MathContext(19, mode);
+            for(long[] xy: new long[][]{{3689348814741910323L, 4}, {7378697629483820646L, 8}, {-3689348814741910323L, 4}}){
+                java.math.BigDecimal a = java.math.BigDecimal.valueOf(xy[0]);
+                java.math.BigDecimal b = java.math.BigDecimal.valueOf(xy[1]);
+                assertSame(a.divide(b, mc), of(a).divide(of(b), mc));
+            }
+        }
+        assertSame(new java.math.BigDecimal("0.125"), BigDecimal.ONE.divide(BigDecimal.valueOf(8)));
+        assertThrows(ArithmeticException.class, () -> BigDecimal.ONE.divide(BigDecimal.valueOf(3)));
+        assertThrows(ArithmeticException.class, () -> BigDecimal.ONE.divide(BigDecimal.ZERO));
+    }
+
+    @Test
+    public void testEqualsAndCompare(){
+        BigDecimal a = BigDecimal.parse("1.0");
+        BigDecimal b = BigDecimal.parse("1.00");
+        assertEquals(0, a.compareTo(b));
+        assertEquals(false, a.equals(b));
+        assertEquals(a, BigDecimal.valueOf(10, 1));
+        assertEquals(a.hashCode(), BigDecimal.valueOf(10, 1).hashCode());
+        // The same value through the BigInt constructor is kept compact, so it is equal
+        assertEquals(a, new BigDecimal(new BigInt(10), 1));
+        assertEquals(-1, BigDecimal.parse("-1E+40").compareTo(BigDecimal.parse("-0.5")));
+        assertEquals(1, BigDecimal.parse("1E+40").compareTo(BigDecimal.parse("99999")));
+    }
+}
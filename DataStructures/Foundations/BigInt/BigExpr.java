@@ -0,0 +1,646 @@
+package DataStructures.Foundations.BigInt;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import static DataStructures.Foundations.BigInt.BigInt.LONG_MASK;
+
+public final class BigExpr {
+    /**
+     * An immutable, unevaluated BigInt expression of add, minus, multiply and pow over BigInt constants
+     * e.g. BigExpr.of(a).multiply(b).add(BigExpr.of(c).multiply(d)).minus(e).evaluate()
+     *
+     * Building an expression only records a node, and evaluate computes the whole expression in one pass:
+     * (1) Plan: the expression is walked once, and every distinct subexpression gets one slot,
+     *     so a subexpression that appears several times, whether as the same object or built twice
+     *     from equal constants, is only computed once. a + b and b + a count as the same, and so do a * b and b * a.
+     * (2) Sums: a tree of add and minus nodes that nothing else refers to is flattened into one signed sum,
+     *     and is accumulated into two scratch buffers, one for the positive and one for the negative terms,
+     *     with a single subtraction at the end. A product in such a sum is added straight into the buffer:
+     *     below the Karatsuba threshold by a fused multiply-add that never materializes the product,
+     *     and above it by the multiplication engine, then one addition.
+     *     So a sum of n terms allocates one result instead of n - 1 intermediate BigInts,
+     *     and the scratch buffers are reused by every sum of the same evaluation.
+     * (3) Parallel: parallelEvaluate computes every subexpression whose estimated size reaches
+     *     the parallel threshold of the multiplication engine as its own task, in waves of independent ones,
+     *     so independent subexpressions run at the same time, and their products use parallelMultiply.
+     *     Smaller ones are computed up front, sequentially, since forking would cost more than they do.
+     *
+     * Building the plan costs tens of nanoseconds per node, which is more than the arithmetic of small operands.
+     * So an expression with at most DIRECT_PATHS nodes, counting shared ones once per use,
+     * and whose estimated size is below the Karatsuba threshold, skips the plan:
+     * it is computed by a plain recursion over the BigInt operations, without fusing sums
+     * or looking for common subexpressions, since recomputing one of them costs less than finding it,
+     * and the scratch buffers of a fused sum cost more than the few small intermediates they save.
+     * Then the only overhead over calling BigInt directly is building the nodes, see bench/ExpressionBenchmark.
+     *
+     * The plan is built again by every evaluate, so an expression can be evaluated from several threads.
+     */
+    private static final int CONSTANT = 0;
+    private static final int ADD = 1;
+    private static final int MINUS = 2;
+    private static final int MULTIPLY = 3;
+    private static final int POW = 4;
+
+    private static final int DIRECT_PATHS = 64;
+    // Expressions with more paths than this remember the nodes they have walked, instead of walking shared ones again
+    private static final int IDENTITY_PATHS = 1 << 16;
+
+    private final int kind;
+    // null for a constant, and right is null for pow
+    private final BigExpr left;
+    private final BigExpr right;
+    // Only for a constant
+    private final BigInt value;
+    // Only for pow
+    private final int exponent;
+    // Upper bound on the limbs of the value, never less than that of a child
+    private final long limbs;
+    // Nodes of the expression as a tree, with shared ones counted once per use, saturating at Integer.MAX_VALUE
+    private final int paths;
+
+    private BigExpr(int kind, BigExpr left, BigExpr right, BigInt value, int exponent, long limbs){
+        this.kind = kind;
+        this.left = left;
+        this.right = right;
+        this.value = value;
+        this.exponent = exponent;
+        this.limbs = limbs;
+        long paths = 1;
+        if(left != null){
+            paths += left.paths;
+        }
+        if(right != null){
+            paths += right.paths;
+        }
+        this.paths = (int)Math.min(paths, Integer.MAX_VALUE);
+    }
+
+    public static BigExpr of(BigInt value){
+        return new BigExpr(CONSTANT, null, null, value, 0, value.arr.length);
+    }
+
+    public static BigExpr of(long value){
+        return BigExpr.of(BigInt.valueOf(value));
+    }
+
+    public BigExpr add(BigExpr other){
+        return new BigExpr(ADD, this, other, null, 0, Math.max(this.limbs, other.limbs) + 1);
+    }
+
+    public BigExpr add(BigInt other){
+        return this.add(BigExpr.of(other));
+    }
+
+    public BigExpr add(long other){
+        return this.add(BigExpr.of(other));
+    }
+
+    public BigExpr minus(BigExpr other){
+        return new BigExpr(MINUS, this, other, null, 0, Math.max(this.limbs, other.limbs) + 1);
+    }
+
+    public BigExpr minus(BigInt other){
+        return this.minus(BigExpr.of(other));
+    }
+
+    public BigExpr minus(long other){
+        return this.minus(BigExpr.of(other));
+    }
+
+    public BigExpr multiply(BigExpr other){
+        return new BigExpr(MULTIPLY, this, other, null, 0, this.limbs + other.limbs);
+    }
+
+    public BigExpr multiply(BigInt other){
+        return this.multiply(BigExpr.of(other));
+    }
+
+    public BigExpr multiply(long other){
+        return this.multiply(BigExpr.of(other));
+    }
+
+    public BigExpr pow(int exponent){
+        if(exponent < 0){
+            throw new ArithmeticException("Negative exponent");
+        }
+        // Saturates instead of overflowing, it's only an estimate
+        long limbs = Math.max(this.limbs, this.limbs * exponent);
+        return new BigExpr(POW, this, null, null, exponent, limbs < 0? Long.MAX_VALUE: limbs);
+    }
+
+    public BigInt evaluate(){
+        if(this.isDirect()){
+            return this.direct();
+        }
+        return new Plan(this).evaluate();
+    }
+
+    public BigInt parallelEvaluate(){
+        return this.parallelEvaluate(ForkJoinPool.commonPool());
+    }
+
+    public BigInt parallelEvaluate(ForkJoinPool pool){
+        // Direct expressions are far below the parallel threshold anyway
+        if(this.isDirect()){
+            return this.direct();
+        }
+        return new Plan(this).parallelEvaluate(pool);
+    }
+
+    @Override
+    public String toString(){
+        // Fully parenthesized, e.g. "((3 * 4) + 5)"
+        switch(this.kind){
+            case CONSTANT:
+                return this.value.toString();
+            case POW:
+                return "(" + this.left + " ^ " + this.exponent + ")";
+            default:
+                String operator = this.kind == ADD? " + ": this.kind == MINUS? " - ": " * ";
+                return "(" + this.left + operator + this.right + ")";
+        }
+    }
+
+    private boolean isDirect(){
+        return this.paths <= DIRECT_PATHS && this.limbs < Multiplication.KARATSUBA_THRESHOLD;
+    }
+
+    private BigInt direct(){
+        // Plain recursion, at most DIRECT_PATHS deep
+        switch(this.kind){
+            case CONSTANT:
+                return this.value;
+            case MULTIPLY:
+                return BigExpr.direct(this.left).multiply(BigExpr.direct(this.right));
+            case POW:
+                return BigExpr.direct(this.left).pow(this.exponent);
+            case ADD:
+                return BigExpr.direct(this.left).add(BigExpr.direct(this.right));
+            default:
+                return BigExpr.direct(this.left).minus(BigExpr.direct(this.right));
+        }
+    }
+
+    private static BigInt direct(BigExpr child){
+        // Constants are read in place, since the JIT doesn't inline the recursion
+        return child.kind == CONSTANT? child.value: child.direct();
+    }
+
+    private static final class Plan {
+        /**
+         * The expression as a list of distinct nodes, numbered so that children come before their parents
+         * A node is fused if its value is never needed on its own:
+         * an add, minus or multiply node whose only reference is from a single add or minus node.
+         * Fused nodes are computed as terms of the sum that refers to them.
+         */
+        private int count;
+        private int[] kinds = new int[16];
+        private int[] lefts = new int[16];
+        private int[] rights = new int[16];
+        private int[] exponents = new int[16];
+        private long[] limbs = new long[16];
+        private int[] hashes = new int[16];
+        private int[] references = new int[16];
+        // The kind of the first node that refers to this one, which is the only one for a fused node
+        private int[] parentKinds = new int[16];
+        private BigInt[] values = new BigInt[16];
+        private boolean[] fused;
+        private final int root;
+
+        // Open addressing table of the distinct nodes, holding number + 1, and 0 for an empty slot
+        private int[] table = new int[32];
+
+        // Scratch buffers of the sequential sums
+        private final Terms terms = new Terms();
+        private int[] positive = new int[0];
+        private int[] negative = new int[0];
+
+        Plan(BigExpr expression){
+            /**
+             * Post-order walk with an explicit stack, so deep expressions don't overflow the call stack
+             * Constants are matched by value and operations by their kind, exponent and the numbers of their children,
+             * which are already distinct, so equal subexpressions end up with the same number.
+             * A shared node is just walked again, and ends up with the same number,
+             * unless the expression has so many paths that walking them all would cost too much.
+             */
+            Map<BigExpr, Integer> walked = expression.paths > IDENTITY_PATHS? new IdentityHashMap<>(): null;
+            BigExpr[] stack = new BigExpr[16];
+            // 0 before the left child, 1 before the right child, 2 when both are done
+            int[] states = new int[16];
+            int[] numbers = new int[16];
+            int depth = 0;
+            int results = 0;
+            stack[depth++] = expression;
+            while(depth > 0){
+                BigExpr node = stack[depth-1];
+                int state = states[depth-1];
+                int number = -1;
+                if(state == 0 && walked != null && walked.containsKey(node)){
+                    number = walked.get(node);
+                } else if(node.kind == CONSTANT){
+                    number = this.intern(CONSTANT, -1, -1, 0, node.value, node.limbs);
+                } else if(state < 2 && (state == 0 || node.right != null)){
+                    states[depth-1] = state + 1;
+                    if(depth == stack.length){
+                        stack = Arrays.copyOf(stack, 2 * depth);
+                        states = Arrays.copyOf(states, 2 * depth);
+                    }
+                    stack[depth] = state == 0? node.left: node.right;
+                    states[depth] = 0;
+                    depth += 1;
+                    continue;
+                } else {
+                    int b = node.right != null? numbers[--results]: -1;
+                    int a = numbers[--results];
+                    if((node.kind == ADD || node.kind == MULTIPLY) && a > b){
+                        // Commutative, so the children are put in a fixed order
+                        int t = a;
+                        a = b;
+                        b = t;
+                    }
+                    number = this.intern(node.kind, a, b, node.exponent, null, node.limbs);
+                }
+                if(walked != null){
+                    walked.put(node, number);
+                }
+                depth -= 1;
+                if(results == numbers.length){
+                    numbers = Arrays.copyOf(numbers, 2 * results);
+                }
+                numbers[results++] = number;
+            }
+            this.root = numbers[0];
+            this.references[this.root] += 1;
+            this.table = null;
+            this.fused = new boolean[this.count];
+            for(int i = 0; i < this.count; i++){
+                int kind = this.kinds[i];
+                int parent = this.parentKinds[i];
+                this.fused[i] = this.references[i] == 1 && kind != CONSTANT && kind != POW && (parent == ADD || parent == MINUS);
+            }
+        }
+
+        private int intern(int kind, int left, int right, int exponent, BigInt value, long limbs){
+            // The number of an equal node, which is added first if there is none yet
+            int hash = kind == CONSTANT? value.hashCode(): ((kind * 31 + left) * 31 + right) * 31 + exponent;
+            hash *= 0x9E3779B9;
+            hash ^= hash >>> 16;
+            int mask = this.table.length - 1;
+            for(int i = hash & mask; ; i = (i + 1) & mask){
+                int number = this.table[i] - 1;
+                if(number < 0){
+                    number = this.add(kind, left, right, exponent, limbs);
+                    this.values[number] = value;
+                    this.hashes[number] = hash;
+                    this.table[i] = number + 1;
+                    if(2 * this.count > this.table.length){
+                        this.rehash();
+                    }
+                    return number;
+                }
+                if(this.hashes[number] == hash && this.kinds[number] == kind
+                        && (kind == CONSTANT? this.values[number].equals(value):
+                            this.lefts[number] == left && this.rights[number] == right && this.exponents[number] == exponent)){
+                    return number;
+                }
+            }
+        }
+
+        private void rehash(){
+            this.table = new int[2 * this.table.length];
+            int mask = this.table.length - 1;
+            for(int number = 0; number < this.count; number++){
+                int i = this.hashes[number] & mask;
+                while(this.table[i] != 0){
+                    i = (i + 1) & mask;
+                }
+                this.table[i] = number + 1;
+            }
+        }
+
+        private int add(int kind, int left, int right, int exponent, long limbs){
+            if(this.count == this.kinds.length){
+                int capacity = 2 * this.count;
+                this.kinds = Arrays.copyOf(this.kinds, capacity);
+                this.lefts = Arrays.copyOf(this.lefts, capacity);
+                this.rights = Arrays.copyOf(this.rights, capacity);
+                this.exponents = Arrays.copyOf(this.exponents, capacity);
+                this.limbs = Arrays.copyOf(this.limbs, capacity);
+                this.hashes = Arrays.copyOf(this.hashes, capacity);
+                this.references = Arrays.copyOf(this.references, capacity);
+                this.parentKinds = Arrays.copyOf(this.parentKinds, capacity);
+                this.values = Arrays.copyOf(this.values, capacity);
+            }
+            int number = this.count;
+            this.kinds[number] = kind;
+            this.lefts[number] = left;
+            this.rights[number] = right;
+            this.exponents[number] = exponent;
+            this.limbs[number] = limbs;
+            this.parentKinds[number] = -1;
+            this.refer(left, kind);
+            this.refer(right, kind);
+            this.count += 1;
+            return number;
+        }
+
+        private void refer(int child, int parentKind){
+            if(child >= 0){
+                if(this.references[child] == 0){
+                    this.parentKinds[child] = parentKind;
+                }
+                this.references[child] += 1;
+            }
+        }
+
+        BigInt evaluate(){
+            // In numbering order, every child is ready before its parent
+            for(int i = 0; i < this.count; i++){
+                if(!this.fused[i] && this.values[i] == null){
+                    this.values[i] = this.compute(i, null);
+                }
+            }
+            return this.values[this.root];
+        }
+
+        BigInt parallelEvaluate(ForkJoinPool pool){
+            // Sizes never shrink towards the root, so the small nodes only depend on small nodes, and go first
+            for(int i = 0; i < this.count; i++){
+                if(!this.fused[i] && this.values[i] == null && this.limbs[i] < Multiplication.PARALLEL_THRESHOLD){
+                    this.values[i] = this.compute(i, null);
+                }
+            }
+            if(this.values[this.root] != null){
+                return this.values[this.root];
+            }
+            /**
+             * The large nodes in waves, without recursion, so deep expressions don't overflow the call stack:
+             * the wave of a node is one past the latest wave among the large nodes it depends on,
+             * found in numbering order, which has every dependency first.
+             * Each wave runs in parallel, and only starts once the one before it has finished.
+             */
+            int[] waves = new int[this.count];
+            int[] sizes = new int[1];
+            int last = 0;
+            for(int i = 0; i < this.count; i++){
+                if(this.fused[i] || this.values[i] != null){
+                    continue;
+                }
+                int wave = 1;
+                for(int dependency: this.dependencies(i)){
+                    wave = Math.max(wave, waves[dependency] + 1);
+                }
+                waves[i] = wave;
+                if(wave == sizes.length){
+                    sizes = Arrays.copyOf(sizes, 2 * wave);
+                }
+                sizes[wave] += 1;
+                last = Math.max(last, wave);
+            }
+            // The nodes grouped by wave, through the prefix sums of the wave sizes
+            int[] starts = new int[last + 2];
+            for(int wave = 1; wave <= last; wave++){
+                starts[wave+1] = starts[wave] + sizes[wave];
+            }
+            int[] nodes = new int[starts[last+1]];
+            int[] next = Arrays.copyOf(starts, starts.length);
+            for(int i = 0; i < this.count; i++){
+                if(waves[i] > 0){
+                    nodes[next[waves[i]]++] = i;
+                }
+            }
+            for(int wave = 1; wave <= last; wave++){
+                pool.invoke(new Wave(this, pool, nodes, starts[wave], starts[wave+1]));
+            }
+            return this.values[this.root];
+        }
+
+        private BigInt compute(int node, ForkJoinPool pool){
+            // The value of a node that is not fused, once the values of the nodes it needs are known
+            BigInt left = this.lefts[node] >= 0? this.values[this.lefts[node]]: null;
+            switch(this.kinds[node]){
+                case MULTIPLY:
+                    BigInt right = this.values[this.rights[node]];
+                    return pool == null? left.multiply(right): left.parallelMultiply(right, pool);
+                case POW:
+                    return pool == null? left.pow(this.exponents[node]): left.parallelPow(this.exponents[node], pool);
+                default:
+                    return this.sum(node, pool);
+            }
+        }
+
+        private BigInt sum(int node, ForkJoinPool pool){
+            // Parallel sums can run at the same time, so each has its own terms and buffers
+            Terms terms = pool == null? this.terms: new Terms();
+            terms.expand(this, node);
+            int length = 0;
+            for(int i = 0; i < terms.count; i++){
+                int termLength = this.values[terms.lefts[i]].arr.length;
+                if(terms.rights[i] >= 0){
+                    termLength += this.values[terms.rights[i]].arr.length;
+                }
+                length = Math.max(length, termLength);
+            }
+            // Room for the carries of up to 2^32 terms
+            length += 2;
+            int[] positive;
+            int[] negative;
+            if(pool == null){
+                if(this.positive.length < length){
+                    this.positive = new int[length];
+                    this.negative = new int[length];
+                } else {
+                    Arrays.fill(this.positive, 0, length, 0);
+                    Arrays.fill(this.negative, 0, length, 0);
+                }
+                positive = this.positive;
+                negative = this.negative;
+            } else {
+                positive = new int[length];
+                negative = new int[length];
+            }
+            for(int i = 0; i < terms.count; i++){
+                BigInt a = this.values[terms.lefts[i]];
+                if(terms.rights[i] < 0){
+                    if(!a.isZero()){
+                        boolean isNegative = terms.isNegated[i] != (a.sign == BigInt.Sign.NEGATIVE);
+                        Multiplication.addInto(isNegative? negative: positive, a.arr, 0);
+                    }
+                    continue;
+                }
+                BigInt b = this.values[terms.rights[i]];
+                if(a.isZero() || b.isZero()){
+                    continue;
+                }
+                boolean isNegative = terms.isNegated[i] != (a.sign != b.sign);
+                int[] accumulator = isNegative? negative: positive;
+                if(Math.min(a.arr.length, b.arr.length) < Multiplication.KARATSUBA_THRESHOLD){
+                    Plan.multiplyAddInto(accumulator, a.arr, b.arr);
+                } else {
+                    int[] product = pool == null? Multiplication.multiply(a.arr, b.arr): Multiplication.parallelMultiply(a.arr, b.arr, pool);
+                    Multiplication.addInto(accumulator, product, 0);
+                }
+            }
+            return Plan.difference(positive, negative, length);
+        }
+
+        private static void multiplyAddInto(int[] accumulator, int[] a, int[] b){
+            /**
+             * accumulator += a * b, row by row as in Multiplication.schoolbook,
+             * but adding into the accumulator instead of a fresh product
+             * Each row ends with a carry into the limb above it, which may ripple further up.
+             */
+            for(int i = 0; i < a.length; i++){
+                long m = a[i] & LONG_MASK;
+                long carry = 0;
+                for(int j = 0; j < b.length; j++){
+                    long product = m * (b[j] & LONG_MASK) + (accumulator[i+j] & LONG_MASK) + carry;
+                    accumulator[i+j] = (int)product;
+                    carry = product >>> 32;
+                }
+                for(int k = i + b.length; carry != 0; k++){
+                    long sum = (accumulator[k] & LONG_MASK) + carry;
+                    accumulator[k] = (int)sum;
+                    carry = sum >>> 32;
+                }
+            }
+        }
+
+        private static BigInt difference(int[] positive, int[] negative, int length){
+            // positive - negative, over their lowest length limbs, as a new BigInt
+            int top = length - 1;
+            while(top >= 0 && positive[top] == negative[top]){
+                top -= 1;
+            }
+            if(top < 0){
+                return BigInt.ZERO;
+            }
+            boolean isNegative = Integer.compareUnsigned(positive[top], negative[top]) < 0;
+            int[] larger = isNegative? negative: positive;
+            int[] smaller = isNegative? positive: negative;
+            int[] result = new int[top + 1];
+            long difference = 0;
+            for(int i = 0; i <= top; i++){
+                difference = (larger[i] & LONG_MASK) - (smaller[i] & LONG_MASK) + (difference >> 32);
+                result[i] = (int)difference;
+            }
+            return new BigInt(BigInt.normalize(result), isNegative? BigInt.Sign.NEGATIVE: BigInt.Sign.NON_NEGATIVE);
+        }
+
+        private int[] dependencies(int node){
+            // The nodes whose values compute(node) reads
+            int kind = this.kinds[node];
+            if(kind == MULTIPLY){
+                return new int[]{this.lefts[node], this.rights[node]};
+            }
+            if(kind == POW){
+                return new int[]{this.lefts[node]};
+            }
+            Terms terms = new Terms();
+            terms.expand(this, node);
+            int[] dependencies = new int[2 * terms.count];
+            int count = 0;
+            for(int i = 0; i < terms.count; i++){
+                dependencies[count++] = terms.lefts[i];
+                if(terms.rights[i] >= 0){
+                    dependencies[count++] = terms.rights[i];
+                }
+            }
+            return Arrays.copyOf(dependencies, count);
+        }
+    }
+
+    private static final class Terms {
+        /**
+         * The terms of the sum at a node: a value, with right -1, or a fused product of left and right
+         * Fused add and minus nodes below it are expanded, with minus negating its right side.
+         */
+        private int count;
+        private boolean[] isNegated = new boolean[8];
+        private int[] lefts = new int[8];
+        private int[] rights = new int[8];
+        // Nodes still to expand, with whether they are negated
+        private int[] stack = new int[8];
+        private boolean[] stackNegated = new boolean[8];
+
+        void expand(Plan plan, int node){
+            this.count = 0;
+            int depth = 0;
+            this.stack[depth] = node;
+            this.stackNegated[depth] = false;
+            depth += 1;
+            while(depth > 0){
+                depth -= 1;
+                int child = this.stack[depth];
+                boolean isNegated = this.stackNegated[depth];
+                int kind = plan.kinds[child];
+                if((kind == ADD || kind == MINUS) && (child == node || plan.fused[child])){
+                    if(depth + 2 > this.stack.length){
+                        this.stack = Arrays.copyOf(this.stack, 2 * this.stack.length);
+                        this.stackNegated = Arrays.copyOf(this.stackNegated, this.stack.length);
+                    }
+                    this.stack[depth] = plan.lefts[child];
+                    this.stackNegated[depth] = isNegated;
+                    this.stack[depth+1] = plan.rights[child];
+                    this.stackNegated[depth+1] = isNegated != (kind == MINUS);
+                    depth += 2;
+                } else if(kind == MULTIPLY && plan.fused[child]){
+                    this.push(isNegated, plan.lefts[child], plan.rights[child]);
+                } else {
+                    this.push(isNegated, child, -1);
+                }
+            }
+        }
+
+        private void push(boolean isNegated, int left, int right){
+            if(this.count == this.lefts.length){
+                int capacity = 2 * this.count;
+                this.isNegated = Arrays.copyOf(this.isNegated, capacity);
+                this.lefts = Arrays.copyOf(this.lefts, capacity);
+                this.rights = Arrays.copyOf(this.rights, capacity);
+            }
+            this.isNegated[this.count] = isNegated;
+            this.lefts[this.count] = left;
+            this.rights[this.count] = right;
+            this.count += 1;
+        }
+    }
+
+    private static final class Wave extends RecursiveAction{
+        /**
+         * Computes the nodes[from, to) of one wave of a plan, whose dependencies are all known
+         * The range is split in halves down to single nodes, so the depth is only logarithmic in its length.
+         */
+        private static final long serialVersionUID = 1L;
+        private final Plan plan;
+        private final ForkJoinPool pool;
+        private final int[] nodes;
+        private final int from;
+        private final int to;
+
+        Wave(Plan plan, ForkJoinPool pool, int[] nodes, int from, int to){
+            this.plan = plan;
+            this.pool = pool;
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute(){
+            if(this.to - this.from == 1){
+                int node = this.nodes[this.from];
+                this.plan.values[node] = this.plan.compute(node, this.pool);
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            ForkJoinTask.invokeAll(new Wave(this.plan, this.pool, this.nodes, this.from, middle),
+                    new Wave(this.plan, this.pool, this.nodes, middle, this.to));
+        }
+    }
+}
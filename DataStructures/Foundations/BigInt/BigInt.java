@@ -1,17 +1,32 @@
 package DataStructures.Foundations.BigInt;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collector;
 
 import DataStructures.Foundations.BigInt.test.BigIntTest;
 public class BigInt implements Comparable<BigInt>{
-    // A single 32-bit int can be used to store up to 9 decimal digits
-    // Every block of 10 bit represent 3 digits, with 2 digits wasted 
-    private final DigitMap[] arr;
+    // The magnitude is stored in base 2^32
+    // Every int in arr is one 32-bit limb, read as unsigned
+    // arr[0] is the least significant limb, and the most significant limb is never 0
+    // Zero is represented by an empty array
+    // arr and sign are package-private so the limb-level algorithms in this package can read them
+    final int[] arr;
+
+    // Mask for reading a limb as an unsigned value in a long
+    static final long LONG_MASK = 0xFFFF_FFFFL;
 
     public static final BigInt ZERO = new BigInt(0);
     public static final BigInt ONE = new BigInt(1);
 
-    private enum Sign{
+    enum Sign{
         NON_NEGATIVE,
         NEGATIVE
     }
@@ -24,148 +39,218 @@ public class BigInt implements Comparable<BigInt>{
     }
 
 
-    private final Sign sign;
-
-    private static class DigitMap implements Comparable<DigitMap>{
-        // A utility class for converting between bits and digits
-        public static final int MAX_VALUE = 999_999_999;
-
-        private final int map;
-        
-        public DigitMap(int digits){
-            int tempMap = 0;
-            //Map the lower 3 digits
-            tempMap |= digits % 1000;
-            digits /= 1000;
-            //Map the middle 3 digits
-            tempMap |= (digits % 1000) << 10;
-            digits /= 1000;
-            //Map the upper 3 digits
-            tempMap |= (digits % 1000) << 20;
-            this.map = tempMap;
-        }
-        public int[] split(){
-            int[] result = new int[3];
-            result[0] = this.map >> 20; // Extract the upper 10 bits
-            result[1] = (this.map >> 10) & 0x3FF; // Extract the middle 10 bits
-            result[2] = this.map & 0x3FF; // Extract the lower 10 bits
-            
-            return result;
-        }
-
-        public int toDigits(){
-            int[] splitBits = this.split();
-            return splitBits[0] * 1_000_000 + splitBits[1] * 1_000 + splitBits[2];
-        }
+    final Sign sign;
 
-        public boolean equals(Object o){
-            if(o == this){
-                return true;
-            }
-            if(!(o instanceof DigitMap)){
-                return false;
-            }
-            DigitMap other = (DigitMap) o;
-            return other.map == this.map;
-        }
-
-        public int compareTo(DigitMap o){
-            if(this.map > o.map){
-                return 1;
-            } else if(this.map == o.map){
-                return 0;
-            } else {
-                return -1;
-            }
-        }
-        
-        @Override
-        public int hashCode(){
-            return map;
-        }
-        
-    }
+    // hashCode, computed on first use like String.hash, since BigInts are immutable
+    // 0 means not computed yet, unless hashIsZero is set
+    // Threads racing on the first call all compute and store the same value
+    private int hash;
+    private boolean hashIsZero;
 
     public BigInt(){
-        this.arr = new DigitMap[1];
-        this.arr[0] = new DigitMap(0);
+        this.arr = new int[0];
         this.sign = Sign.NON_NEGATIVE;
     }
-    
+
     public BigInt(BigInt other){
-        this.arr = other.arr.clone();
+        // BigInts are immutable, so the copy can share the limb array and the hash
+        this.arr = other.arr;
         this.sign = other.sign;
+        this.hash = other.hash;
+        this.hashIsZero = other.hashIsZero;
     }
 
     private BigInt(BigInt other, Sign sign){
-        this.arr = other.arr.clone();
+        // BigInts are immutable, so the limb array can be shared
+        this.arr = other.arr;
         this.sign = sign;
     }
 
-    private BigInt(DigitMap[] arr, Sign sign){
-        this.arr = arr.clone();
-        this.sign = sign;
+    BigInt(int[] arr, Sign sign){
+        // Only used internally with freshly allocated, normalized arrays
+        // So there's no need to clone it again
+        this.arr = arr;
+        // There is no negative zero
+        this.sign = arr.length == 0? Sign.NON_NEGATIVE : sign;
     }
 
     public BigInt(long other){
+        this.sign = other < 0? Sign.NEGATIVE : Sign.NON_NEGATIVE;
+        this.arr = BigInt.longMagnitude(BigInt.unsignedAbs(other));
+    }
 
-        boolean isMin = other == Long.MIN_VALUE;
-        boolean isNegative = other < 0;
-        // TODO: add overflow check for flipping sign
-        if(isMin){
-            
-        }
-        if (isNegative){
-            other*=-1;
-            this.sign = Sign.NEGATIVE;
-        } else {
-            this.sign = Sign.NON_NEGATIVE;
+    private static final class ValueCache{
+        /**
+         * Shared instances for valueOf, created on its first call
+         * The range is [LOW, HIGH], where HIGH can be raised with the system property BigInt.cacheHigh
+         * ZERO and ONE are reused, so valueOf(0) == BigInt.ZERO
+         */
+        static final int LOW = -16;
+        static final int HIGH = Math.max(Integer.getInteger("BigInt.cacheHigh", 256), 1);
+        static final BigInt[] CACHE = new BigInt[HIGH - LOW + 1];
+
+        static{
+            for(int i = LOW; i <= HIGH; i++){
+                CACHE[i - LOW] = i == 0? BigInt.ZERO: i == 1? BigInt.ONE: new BigInt(i);
+            }
         }
+    }
 
+    public static BigInt valueOf(long l){
+        // Like Integer.valueOf, small values come from a cache, since BigInts are immutable
+        if(l >= ValueCache.LOW && l <= ValueCache.HIGH){
+            return ValueCache.CACHE[(int)l - ValueCache.LOW];
+        }
+        return new BigInt(l);
+    }
 
+    static long unsignedAbs(long l){
+        // Long.MIN_VALUE stays the same after negation,
+        // but read as unsigned it is exactly 2^63
+        return l < 0? -l: l;
+    }
 
-        //Initialize arr length
-        int len = 0;
-        long temp = other;
-        while (temp != 0){
-            temp /= 1_000_000_000;
-            len+=1;
+    static int[] longMagnitude(long unsigned){
+        //Map the unsigned long to at most two limbs
+        int high = (int)(unsigned >>> 32);
+        int low = (int)unsigned;
+        if(high != 0){
+            return new int[]{low, high};
+        } else if(low != 0){
+            return new int[]{low};
         }
         // Ensure that BigInt(0) is equal to BigInt()
-        if(len == 0){
-            len=1;
-        }
-        this.arr = new DigitMap[len];
+        return new int[0];
+    }
+
+    public BigInt(String s){
+        // Decimal text with an optional sign, e.g. "-12345"
+        this(BigInt.parse(s, 10));
+    }
+
+    public static BigInt parse(CharSequence s){
+        return BigInt.parse(s, 10);
+    }
 
-        //Map long to DigitMap[]
-        for(int i = this.arr.length-1; i>=0; i--){
-            //Extract the lowest 9 digits
-            int block = (int)(other % 1_000_000_000);
-            this.arr[i] = new DigitMap(block);
-            other /= 1_000_000_000;
+    public static BigInt parse(CharSequence s, int radix){
+        /**
+         * Parses an optional '+' or '-' followed by at least one digit of the radix,
+         * where ASCII letters of either case stand for the digits from 10 upwards.
+         * Only ASCII digits are accepted, in every radix, unlike Character.digit.
+         * Anything else, including whitespace, throws a NumberFormatException.
+         * Long texts are parsed by divide and conquer in O(M(n) log n), see Conversion
+         */
+        if(radix < Character.MIN_RADIX || radix > Character.MAX_RADIX){
+            throw new NumberFormatException("Radix out of range: " + radix);
+        }
+        int length = s.length();
+        int start = 0;
+        Sign sign = Sign.NON_NEGATIVE;
+        if(length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')){
+            sign = s.charAt(0) == '-'? Sign.NEGATIVE : Sign.NON_NEGATIVE;
+            start = 1;
         }
+        if(start == length){
+            throw new NumberFormatException("No digits in \"" + s + "\"");
+        }
+        return new BigInt(Conversion.parse(s, start, length, radix), sign);
     }
-    
+
     @Override
     public String toString(){
-        StringBuffer sb = new StringBuffer();
-        if(this.sign == Sign.NEGATIVE){
-            sb.append("-");
+        return this.toString(10);
+    }
+
+    public String toString(int radix){
+        /**
+         * Digits from 'a' upwards stand for 10 and above, with a leading '-' if negative,
+         * as in Integer.toString(i, radix), and an out-of-range radix falls back to 10.
+         * Long values are converted by divide and conquer, see Conversion
+         */
+        if(radix < Character.MIN_RADIX || radix > Character.MAX_RADIX){
+            radix = 10;
         }
-        sb.append(this.arr[0].toDigits());
-        if(this.arr.length == 1){
-            return sb.toString();
+        return Conversion.toString(this.arr, this.sign == Sign.NEGATIVE, radix);
+    }
+
+    public void writeTo(Appendable out) throws IOException{
+        this.writeTo(out, 10);
+    }
+
+    public void writeTo(Appendable out, int radix) throws IOException{
+        // Same digits as toString(radix), streamed in pieces instead of building one String
+        if(radix < Character.MIN_RADIX || radix > Character.MAX_RADIX){
+            radix = 10;
         }
-        for (int i = 1; i < this.arr.length; i++){
-            String value = String.valueOf(this.arr[i].toDigits());
-            int paddingZeros = 9-value.length();
-            if(paddingZeros>0){
-                sb.append("0".repeat(paddingZeros));
-            }
-            sb.append(value);
+        Conversion.write(this.arr, this.sign == Sign.NEGATIVE, radix, out);
+    }
+
+    public void writeTo(OutputStream out) throws IOException{
+        this.writeTo(out, 10);
+    }
+
+    public void writeTo(OutputStream out, int radix) throws IOException{
+        // The digits as ASCII bytes, without any buffering beyond one conversion piece
+        if(radix < Character.MIN_RADIX || radix > Character.MAX_RADIX){
+            radix = 10;
         }
-        return sb.toString();
-        
+        Conversion.write(this.arr, this.sign == Sign.NEGATIVE, radix, out);
+    }
+
+    public int serializedSize(){
+        /**
+         * Number of bytes written by toByteArray, writeTo(ByteBuffer) and writeBinary:
+         * a varint header with the limb count and the sign, then 4 little-endian bytes per limb.
+         * See Serialization for the format.
+         */
+        long size = Serialization.size(this.arr);
+        if(size > Integer.MAX_VALUE){
+            throw new ArithmeticException("BigInt too large to serialize into one buffer");
+        }
+        return (int)size;
+    }
+
+    public byte[] toByteArray(){
+        byte[] bytes = new byte[this.serializedSize()];
+        Serialization.write(this.arr, this.sign == Sign.NEGATIVE, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    public static BigInt fromByteArray(byte[] bytes){
+        // The inverse of toByteArray, where bytes must hold exactly one value
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        BigInt value = BigInt.readFrom(in);
+        if(in.hasRemaining()){
+            throw new IllegalArgumentException("Malformed BigInt: " + in.remaining() + " bytes after the value");
+        }
+        return value;
+    }
+
+    public void writeTo(ByteBuffer out){
+        // Writes serializedSize() bytes at the position of out and advances it, whatever the byte order of out
+        Serialization.write(this.arr, this.sign == Sign.NEGATIVE, out);
+    }
+
+    public static BigInt readFrom(ByteBuffer in){
+        /**
+         * Reads one value written by writeTo(ByteBuffer) at the position of in and advances it past the value.
+         * The limbs are copied straight from the heap or direct buffer into the new BigInt.
+         * Throws a BufferUnderflowException if in ends within the value,
+         * and an IllegalArgumentException if the bytes are not a valid encoding
+         */
+        return Serialization.read(in);
+    }
+
+    public void writeBinary(DataOutput out) throws IOException{
+        // Same bytes as toByteArray
+        // Not an overload of writeTo, since DataOutputStream is both an OutputStream and a DataOutput
+        Serialization.write(this.arr, this.sign == Sign.NEGATIVE, out);
+    }
+
+    public static BigInt readBinary(DataInput in) throws IOException{
+        // Reads one value written by writeBinary, toByteArray or writeTo(ByteBuffer)
+        // Throws an EOFException if in ends within the value, and an IOException if the bytes are not a valid encoding
+        return Serialization.read(in);
     }
 
     @Override
@@ -183,16 +268,21 @@ public class BigInt implements Comparable<BigInt>{
         }
 
         BigInt other = (BigInt) o;
-
+        // Two hashes that are already cached and differ rule out equality without reading the limbs
+        int thisHash = this.hash;
+        int otherHash = other.hash;
+        if(thisHash != 0 && otherHash != 0 && thisHash != otherHash){
+            return false;
+        }
         return this.sign == other.sign && Arrays.equals(this.arr, other.arr);
     }
 
     public static boolean isEqual(long i, BigInt bi){
-        return bi.equals(new BigInt(i));
+        return BigInt.compare(bi, i) == 0;
     }
 
     public static boolean isEqual(BigInt bi, long i){
-        return bi.equals(new BigInt(i));
+        return BigInt.compare(bi, i) == 0;
     }
 
     @Override
@@ -212,48 +302,116 @@ public class BigInt implements Comparable<BigInt>{
         }
         int direction = this.sign == Sign.NON_NEGATIVE? 1: -1;
 
-        // More digits mean larger absolute value
         // If both are negative, one with lower absolute value is larger
-        
-        if(this.arr.length> o.arr.length){
-            return direction;
-        } else if (this.arr.length < o.arr.length){
-            return -direction;
-        }
-
-        for(int i = 0; i < this.arr.length; i++){
-            int comparison = this.arr[i].compareTo(o.arr[i]);
-            //Checking digits by descending significance
-            if(comparison == 1){
-                return direction;
-            } else if (comparison == -1){
-                return -direction;
+        return direction * BigInt.compareMagnitude(this.arr, o.arr);
+    }
+
+    static int compareMagnitude(int[] a, int[] b){
+        // Copies and abs() share the limb array
+        if(a == b){
+            return 0;
+        }
+        // More limbs mean larger absolute value
+        int length = a.length;
+        if(length != b.length){
+            return length > b.length? 1: -1;
+        }
+        if(length == 0){
+            return 0;
+        }
+        // Different leading limbs decide the common case at once
+        int top = length-1;
+        if(a[top] != b[top]){
+            return Integer.compareUnsigned(a[top], b[top]) > 0? 1: -1;
+        }
+        // Arrays.mismatch finds the lowest differing limb with vectorized compares,
+        // so equal values are confirmed without a limb by limb loop,
+        // and the scan by descending significance can stop at that limb
+        int lowest = Arrays.mismatch(a, b);
+        if(lowest < 0){
+            return 0;
+        }
+        for(int i = top-1; i > lowest; i--){
+            int x = a[i];
+            int y = b[i];
+            if(x != y){
+                return Integer.compareUnsigned(x, y) > 0? 1: -1;
             }
         }
-        return 0;
+        return Integer.compareUnsigned(a[lowest], b[lowest]) > 0? 1: -1;
+    }
+
+    static int compareMagnitude(int[] a, long unsigned){
+        // a against the magnitude of an unsigned long, without building its limbs
+        if(a.length > 2){
+            return 1;
+        }
+        return Long.compareUnsigned(BigInt.toUnsignedLong(a), unsigned);
+    }
+
+    private static long toUnsignedLong(int[] a){
+        // A magnitude of at most two limbs as an unsigned long
+        long value = 0;
+        for(int i = a.length-1; i >= 0; i--){
+            value = (value << 32) | (a[i] & LONG_MASK);
+        }
+        return value;
     }
 
     public static int compare(long i, BigInt bi){
-        return new BigInt(i).compareTo(bi);
+        return -BigInt.compare(bi, i);
     }
 
     public static int compare(BigInt bi, long i){
-        return bi.compareTo(new BigInt(i));
+        // Same as compareTo, against the limbs of i directly
+        Sign iSign = i < 0? Sign.NEGATIVE : Sign.NON_NEGATIVE;
+        if(bi.sign != iSign){
+            return bi.sign == Sign.NON_NEGATIVE? 1: -1;
+        }
+        int direction = bi.sign == Sign.NON_NEGATIVE? 1: -1;
+        return direction * BigInt.compareMagnitude(bi.arr, BigInt.unsignedAbs(i));
     }
 
     @Override
     public int hashCode(){
-        int result = 17;
-        result = 31 * result + (sign == Sign.NON_NEGATIVE ? 1 : -1);
-        for(DigitMap m: this.arr){
-            result = 31*result + m.hashCode();
+        // O(n) on the first call only
+        int h = this.hash;
+        if(h == 0 && !this.hashIsZero){
+            h = 17;
+            h = 31 * h + (sign == Sign.NON_NEGATIVE ? 1 : -1);
+            for(int limb: this.arr){
+                h = 31*h + limb;
+            }
+            if(h == 0){
+                this.hashIsZero = true;
+            } else {
+                this.hash = h;
+            }
         }
-        return result;
+        return h;
+    }
+
+    public boolean isZero(){
+        // Constant time, unlike equals(BigInt.ZERO)
+        return this.arr.length == 0;
+    }
+
+    public int signum(){
+        // -1, 0 or 1 for negative, zero or positive values
+        if(this.arr.length == 0){
+            return 0;
+        }
+        return this.sign == Sign.NEGATIVE? -1: 1;
+    }
+
+    private boolean isOne(){
+        // Constant time, unlike equals(BigInt.ONE)
+        return this.arr.length == 1 && this.arr[0] == 1 && this.sign == Sign.NON_NEGATIVE;
     }
 
     public BigInt inverse(){
         // 0's inverse is itself, no negative 0
-        if (BigInt.isEqual(this, 0)){
+        if (this.isZero()){
             return this;
         }
         Sign newSign = BigInt.changeSign(this.sign);
@@ -263,80 +421,324 @@ public class BigInt implements Comparable<BigInt>{
     public BigInt abs(){
         return new BigInt(this, Sign.NON_NEGATIVE);
     }
-    // Implementing basic operations as static methods
-    // Since BigInts are supposed to be immutable
-    public static BigInt add(BigInt a, BigInt b){
-        // Handle 0 correctly
-        if(BigInt.isEqual(a, 0)){
-            return b;
-        } else if (BigInt.isEqual(b, 0)){
-            return a;
-        }
-        //Check if different signs
-        if(a.sign!=b.sign){
-            if(a.sign == Sign.NON_NEGATIVE){
-                return BigInt.minus(a, b.inverse());
-            } else {
-                return BigInt.minus(b, a.inverse());
+
+    public int bitLength(){
+        /**
+         * Number of bits of the shortest two's complement of this, without the sign bit, as in BigInteger
+         * So it is the bit length of |this|, except for a negative power of two, which needs one bit less,
+         * e.g. 3 for 7 and -8, but 4 for 8 and -9. abs().bitLength() is the bit length of the magnitude.
+         */
+        int bits = BigInt.bitLengthMagnitude(this.arr);
+        if(this.sign == Sign.NEGATIVE && Integer.bitCount(this.arr[this.arr.length-1]) == 1){
+            int i = this.arr.length - 2;
+            while(i >= 0 && this.arr[i] == 0){
+                i -= 1;
+            }
+            if(i < 0){
+                return bits - 1;
             }
         }
-        // Now we know both numbers have the same sign
-        // Initialize an accumulator whose size is the same as the larger one
-        Sign resultSign = a.sign;
-        int length = 0;
-        if(a.arr.length>=b.arr.length){
-            length = a.arr.length;
-        } else {
-            length = b.arr.length;
+        return bits;
+    }
+
+    public long longValueExact(){
+        // The value as a long, or an ArithmeticException if it is out of the range of long
+        if(this.arr.length > 2){
+            throw new ArithmeticException("BigInt out of long range");
         }
-        DigitMap[] temp = new DigitMap[length];
-        int carry = 0;
-        for(int i = 0; i < length; i++){
-            // Matching block index
-            int ai = a.arr.length-i-1;
-            int bi = b.arr.length-i-1;
-            int aVal, bVal;
-
-            // If one BigInt is shorter, ignore missing blocks
-            if(ai < 0){
-                aVal = 0;
-            } else {
-                aVal = a.arr[ai].toDigits();
+        long magnitude = BigInt.toUnsignedLong(this.arr);
+        if(this.sign == Sign.NEGATIVE){
+            // Down to Long.MIN_VALUE, whose magnitude 2^63 is negative as a long
+            if(magnitude < 0 && magnitude != Long.MIN_VALUE){
+                throw new ArithmeticException("BigInt out of long range");
             }
+            return -magnitude;
+        }
+        if(magnitude < 0){
+            throw new ArithmeticException("BigInt out of long range");
+        }
+        return magnitude;
+    }
 
-            if(bi < 0){
-                bVal = 0;
-            } else {
-                bVal = b.arr[bi].toDigits();
+    static int divideByInt(int[] x, int length, int divisor){
+        // Divide the lowest length limbs of x in place by a non-zero limb, read as unsigned
+        // Returns the remainder
+        long d = divisor & LONG_MASK;
+        long remainder = 0;
+        if(divisor > 0){
+            // remainder < d < 2^31, so current stays below 2^63 and signed division is exact
+            for(int i = length-1; i >= 0; i--){
+                long current = (remainder << 32) | (x[i] & LONG_MASK);
+                x[i] = (int)(current / d);
+                remainder = current % d;
             }
-            int newVal = aVal+bVal+carry;
+            return (int)remainder;
+        }
+        // With the top bit of the divisor set, current can reach 2^64 - 1
+        for(int i = length-1; i >= 0; i--){
+            long current = (remainder << 32) | (x[i] & LONG_MASK);
+            x[i] = (int)Long.divideUnsigned(current, d);
+            remainder = Long.remainderUnsigned(current, d);
+        }
+        return (int)remainder;
+    }
+
+    static int[] addMagnitude(int[] a, int[] b){
+        // Make sure a is the longer one
+        if(a.length < b.length){
+            int[] swap = a;
+            a = b;
+            b = swap;
+        }
+        int length = a.length;
+        if(length == 0){
+            return a;
+        }
+        // The sum needs one more limb exactly when the carry leaves the top limb,
+        // which the top limbs decide on their own, unless they add up to 2^32 - 1
+        long top = (a[length-1] & LONG_MASK) + (b.length == length? b[length-1] & LONG_MASK: 0);
+        int[] temp = new int[top >= LONG_MASK? length+1: length];
+        long sum = 0;
+        int i = 0;
+        // The loop over the common limbs has no per-limb length check, so the JIT can unroll it
+        // The carry is whatever ends up above the low 32 bits
+        for(; i < b.length; i++){
+            sum = (a[i] & LONG_MASK) + (b[i] & LONG_MASK) + (sum >>> 32);
+            temp[i] = (int)sum;
+        }
+        // Propagate the carry into the rest of a, then copy what's left in one go
+        for(; i < length && (sum >>> 32) != 0; i++){
+            sum = (a[i] & LONG_MASK) + 1;
+            temp[i] = (int)sum;
+        }
+        System.arraycopy(a, i, temp, i, length - i);
+        if(temp.length == length){
+            return temp;
+        }
+        temp[length] = (int)(sum >>> 32);
+        return BigInt.normalize(temp);
+    }
+
+    static int[] subtractMagnitude(int[] a, int[] b){
+        // The caller guarantees that abs(a) > abs(b)
+        // So a must be at least the same length as b
+        int length = a.length;
+        int[] temp = new int[length];
+        long difference = 0;
+        int i = 0;
+        // A borrow makes the previous difference negative,
+        // and the arithmetic shift turns it into -1
+        for(; i < b.length; i++){
+            difference = (a[i] & LONG_MASK) - (b[i] & LONG_MASK) + (difference >> 32);
+            temp[i] = (int)difference;
+        }
+        // Propagate the borrow into the rest of a, then copy what's left in one go
+        for(; i < length && (difference >> 32) != 0; i++){
+            difference = (a[i] & LONG_MASK) - 1;
+            temp[i] = (int)difference;
+        }
+        System.arraycopy(a, i, temp, i, length - i);
+        return BigInt.normalize(temp);
+    }
+
+    static int[] addMagnitude(int[] a, long unsigned){
+        // a + an unsigned long, in one pass over a
+        int length = Math.max(a.length, unsigned >>> 32 != 0? 2: 1);
+        int[] temp = new int[length];
+        long sum = 0;
+        for(int i = 0; i < length; i++){
+            sum = (i < a.length? a[i] & LONG_MASK: 0) + (unsigned & LONG_MASK) + (sum >>> 32);
+            unsigned >>>= 32;
+            temp[i] = (int)sum;
+        }
+        if((sum >>> 32) == 0){
+            return temp;
+        }
+        int[] result = Arrays.copyOf(temp, length+1);
+        result[length] = 1;
+        return result;
+    }
+
+    static int[] subtractMagnitude(int[] a, long unsigned){
+        // The caller guarantees that abs(a) > unsigned
+        int length = a.length;
+        int[] temp = new int[length];
+        long difference = 0;
+        for(int i = 0; i < length; i++){
+            difference = (a[i] & LONG_MASK) - (unsigned & LONG_MASK) + (difference >> 32);
+            unsigned >>>= 32;
+            temp[i] = (int)difference;
+        }
+        return BigInt.normalize(temp);
+    }
+
+    static int[] multiplyMagnitude(int[] a, long unsigned){
+        /**
+         * a * an unsigned long, as one row of single-limb products per limb of the long
+         * The bit length of the product is bitLength(a) + bitLength(unsigned) or one less,
+         * so the result is allocated at its final size, except in 1 of 32 cases.
+         */
+        int n = a.length;
+        int bits = BigInt.bitLengthMagnitude(a) + 64 - Long.numberOfLeadingZeros(unsigned);
+        int[] result = new int[(bits + 31) >>> 5];
+        long low = unsigned & LONG_MASK;
+        long high = unsigned >>> 32;
+        long carry = 0;
+        for(int i = 0; i < n; i++){
+            long product = (a[i] & LONG_MASK) * low + carry;
+            result[i] = (int)product;
+            carry = product >>> 32;
+        }
+        if(n < result.length){
+            result[n] = (int)carry;
+        }
+        if(high != 0){
+            // (2^32 - 1)^2 + 2 * (2^32 - 1) == 2^64 - 1, so the sum can't overflow
             carry = 0;
-            // Check if there's carrying to a higher block
-            if (newVal < DigitMap.MAX_VALUE){
-                temp[length-i-1] = new DigitMap(newVal);
-            } else {
-                newVal-= (DigitMap.MAX_VALUE+1);
-                carry = 1;
-                temp[length-i-1] = new DigitMap(newVal);
+            for(int i = 0; i < n; i++){
+                long product = (a[i] & LONG_MASK) * high + (result[i+1] & LONG_MASK) + carry;
+                result[i+1] = (int)product;
+                carry = product >>> 32;
+            }
+            if(n + 1 < result.length){
+                result[n+1] = (int)carry;
             }
         }
-        if(carry == 0){
-            return new BigInt(temp, resultSign);
+        return BigInt.normalize(result);
+    }
+
+    static int[] normalize(int[] temp){
+        // Remove most significant limbs that have a value of zero
+        int length = temp.length;
+        while(length > 0 && temp[length-1] == 0){
+            length -= 1;
+        }
+        if(length == temp.length){
+            return temp;
+        }
+        return Arrays.copyOf(temp, length);
+    }
+
+    static int bitLengthMagnitude(int[] x){
+        if(x.length == 0){
+            return 0;
+        }
+        return 32 * x.length - Integer.numberOfLeadingZeros(x[x.length-1]);
+    }
+
+    static int[] shiftLeftMagnitude(int[] x, int bits){
+        // x * 2^bits
+        if(x.length == 0 || bits == 0){
+            return x;
+        }
+        int limbs = bits >>> 5;
+        int offset = bits & 31;
+        if(offset == 0){
+            // A shift by 32 would be a no-op in Java, so whole limbs are just copied
+            int[] result = new int[x.length + limbs];
+            System.arraycopy(x, 0, result, limbs, x.length);
+            return result;
+        }
+        // The bits shifted out of the top limb, which only need a limb of their own if there are any
+        // So the result is normalized without another copy
+        int high = x[x.length-1] >>> (32 - offset);
+        int[] result = new int[x.length + limbs + (high != 0? 1: 0)];
+        result[limbs] = x[0] << offset;
+        for(int i = 1; i < x.length; i++){
+            result[i+limbs] = (x[i] << offset) | (x[i-1] >>> (32 - offset));
+        }
+        if(high != 0){
+            result[result.length-1] = high;
+        }
+        return result;
+    }
+
+    static int[] extractBits(int[] x, int from, int count){
+        // Bits [from, from+count) of x as a normalized magnitude
+        // So shifting right by n is extractBits(x, n, bitLength - n),
+        // and keeping the lowest n bits is extractBits(x, 0, n)
+        if(count <= 0){
+            return new int[0];
+        }
+        int[] result = new int[(count + 31) >>> 5];
+        int limbs = from >>> 5;
+        int offset = from & 31;
+        // Limbs of the result that lie within x
+        int end = Math.min(result.length, x.length - limbs);
+        if(offset == 0){
+            if(end > 0){
+                System.arraycopy(x, limbs, result, 0, end);
+            }
         } else {
-            DigitMap[] result = new DigitMap[length+1];
-            System.arraycopy(temp, 0, result, 1, length);
-            result[0] = new DigitMap(1);
-            return new BigInt(result, resultSign);
+            // Every limb but the top one of x also takes bits from the limb above it
+            int i = 0;
+            for(; i < end && i + limbs + 1 < x.length; i++){
+                result[i] = (x[i+limbs] >>> offset) | (x[i+limbs+1] << (32 - offset));
+            }
+            if(i < end){
+                result[i] = x[i+limbs] >>> offset;
+            }
         }
+        if((count & 31) != 0){
+            result[result.length-1] &= (1 << (count & 31)) - 1;
+        }
+        return BigInt.normalize(result);
+    }
 
+    // Implementing basic operations as static methods
+    // Since BigInts are supposed to be immutable
+    public static BigInt add(BigInt a, BigInt b){
+        // Handle 0 correctly
+        if(a.isZero()){
+            return b;
+        } else if (b.isZero()){
+            return a;
+        }
+        // Same sign: add absolute values and keep the sign
+        if(a.sign == b.sign){
+            return new BigInt(BigInt.addMagnitude(a.arr, b.arr), a.sign);
+        }
+        // Different signs: it's easier for a large number to subtract a smaller one
+        // The result takes the sign of the one with larger absolute value
+        int comparison = BigInt.compareMagnitude(a.arr, b.arr);
+        if(comparison == 0){
+            return BigInt.ZERO;
+        } else if(comparison > 0){
+            return new BigInt(BigInt.subtractMagnitude(a.arr, b.arr), a.sign);
+        } else {
+            return new BigInt(BigInt.subtractMagnitude(b.arr, a.arr), b.sign);
+        }
     }
 
     public static BigInt add(BigInt bi, long i){
-        return BigInt.add(bi, new BigInt(i));
+        // Works on the limbs of i directly, so only the result is allocated
+        if(i == 0){
+            return bi;
+        }
+        return BigInt.addSigned(bi.arr, bi.sign, BigInt.unsignedAbs(i), i < 0? Sign.NEGATIVE : Sign.NON_NEGATIVE);
     }
 
     public static BigInt add(long i, BigInt bi){
-        return BigInt.add(bi, new BigInt(i));
+        return BigInt.add(bi, i);
+    }
+
+    private static BigInt addSigned(int[] a, Sign aSign, long unsigned, Sign lSign){
+        // (aSign a) + (lSign unsigned), for a non-zero unsigned long, with the same cases as add(BigInt, BigInt)
+        if(a.length == 0){
+            return new BigInt(BigInt.longMagnitude(unsigned), lSign);
+        }
+        if(aSign == lSign){
+            return new BigInt(BigInt.addMagnitude(a, unsigned), aSign);
+        }
+        int comparison = BigInt.compareMagnitude(a, unsigned);
+        if(comparison == 0){
+            return BigInt.ZERO;
+        } else if(comparison > 0){
+            return new BigInt(BigInt.subtractMagnitude(a, unsigned), aSign);
+        } else {
+            // a has at most two limbs here
+            return new BigInt(BigInt.longMagnitude(unsigned - BigInt.toUnsignedLong(a)), lSign);
+        }
     }
 
     public BigInt add(BigInt bi){
@@ -344,78 +746,47 @@ public class BigInt implements Comparable<BigInt>{
     }
 
     public BigInt add(long i){
-        return BigInt.add(this, new BigInt(i));
+        return BigInt.add(this, i);
     }
 
     public static BigInt minus(BigInt a, BigInt b){
-        // If b < 0, then a-b == a + (-b)
-        if (b.compareTo(BigInt.ZERO) == -1){
-            return BigInt.add(a, b.inverse());
+        // a-b == a + (-b)
+        if(b.isZero()){
+            return a;
         }
-        // If a == b, then a-b == 0
-        if (a.equals(b)){
-            return BigInt.ZERO;
+        if(a.isZero()){
+            return b.inverse();
         }
-        // If abs(a) < abs(b), then a-b = -(b-a)
-        // It's easier for a large number to subtract a smaller one
-        if (a.abs().compareTo(b.abs()) == -1){
-            return BigInt.minus(b, a).inverse();
-        }
-        
-        // At this step, we know that abs(a)>abs(b)
-        // Initialize temporary result with length of a.arr
-        Sign resultSign = a.sign;
-        int length = a.arr.length;
-        DigitMap[] temp = new DigitMap[length];
-        int carry = 0;
-        for(int i = 0; i < length; i++){
-            // Matching block index
-            int ai = a.arr.length-i-1;
-            int bi = b.arr.length-i-1;
-            int aVal, bVal;
-            
-            // Because a must be at least the same length as b
-            // We only have to check b
-            aVal = a.arr[ai].toDigits();
-            if(bi < 0){
-                bVal = 0;
-            } else {
-                bVal = b.arr[bi].toDigits();
-            }
-            int newVal = aVal-bVal-carry;
-            carry = 0;
-            // Check if there's carrying from a higher block
-            if (newVal >= 0){
-                temp[length-i-1] = new DigitMap(newVal);
-            } else {
-                newVal+= (DigitMap.MAX_VALUE+1);
-                carry = 1;
-                temp[length-i-1] = new DigitMap(newVal);
-            }
+        // Different signs: absolute values are added, a's sign is kept
+        if(a.sign != b.sign){
+            return new BigInt(BigInt.addMagnitude(a.arr, b.arr), a.sign);
         }
-
-        // There couldn't be a carry after the calculation
-        // But we need to remove leading maps that have a value of zero
-        int newLength = length;
-        for(int i = 0; i < length && temp[i].toDigits() == 0; i++){
-            newLength -= 1;
-        }
-        // No leading empty maps
-        if (newLength == length){
-            return new BigInt(temp, resultSign);
-        } else{
-            DigitMap[] result = new DigitMap[newLength];
-            System.arraycopy(temp, length-newLength, result, 0, newLength);
-            return new BigInt(result, resultSign);
+        // If a == b, then a-b == 0
+        int comparison = BigInt.compareMagnitude(a.arr, b.arr);
+        if(comparison == 0){
+            return BigInt.ZERO;
+        } else if(comparison > 0){
+            return new BigInt(BigInt.subtractMagnitude(a.arr, b.arr), a.sign);
+        } else {
+            // If abs(a) < abs(b), then a-b = -(b-a)
+            return new BigInt(BigInt.subtractMagnitude(b.arr, a.arr), BigInt.changeSign(a.sign));
         }
     }
 
     public static BigInt minus(BigInt bi, long i){
-        return BigInt.minus(bi, new BigInt(i));
+        // bi - i == bi + (-i), without negating i, which would overflow for Long.MIN_VALUE
+        if(i == 0){
+            return bi;
+        }
+        return BigInt.addSigned(bi.arr, bi.sign, BigInt.unsignedAbs(i), i < 0? Sign.NON_NEGATIVE : Sign.NEGATIVE);
     }
 
     public static BigInt minus(long i, BigInt bi){
-        return BigInt.minus(new BigInt(i), bi);
+        // i - bi == (-bi) + i
+        if(i == 0){
+            return bi.inverse();
+        }
+        return BigInt.addSigned(bi.arr, BigInt.changeSign(bi.sign), BigInt.unsignedAbs(i), i < 0? Sign.NEGATIVE : Sign.NON_NEGATIVE);
     }
 
     public BigInt minus(BigInt other){
@@ -423,102 +794,650 @@ public class BigInt implements Comparable<BigInt>{
     }
 
     public BigInt minus(long other){
-        return BigInt.minus(this, new BigInt(other));
+        return BigInt.minus(this, other);
     }
 
-    private BigInt leftShift(int n){
-        // Left shift the DigitMap array by n
-        // For example, BigInt(1).leftShift == BigInt(1_000_000_000)
-        // This method is crucial for multiplication.
+    BigInt leftShift(int n){
+        // Left shift the limb array by n limbs
+        // For example, BigInt(1).leftShift(1) == BigInt(4_294_967_296L)
         if(n == 0){
             // No need to shift
             return this;
         }
-        if(this.equals(BigInt.ZERO)){
+        if(this.isZero()){
             // Zero is always zero
             return BigInt.ZERO;
         }
-        int newLength = this.arr.length + n;
-        DigitMap[] newArr = new DigitMap[newLength];
-        System.arraycopy(this.arr, 0, newArr, 0, this.arr.length);
-        for(int i = this.arr.length; i < newLength; i++){
-            newArr[i] = new DigitMap(0);
-        }
+        // New low limbs are already zero
+        int[] newArr = new int[this.arr.length + n];
+        System.arraycopy(this.arr, 0, newArr, n, this.arr.length);
         return new BigInt(newArr, this.sign);
     }
 
     public static BigInt multiply(BigInt a, BigInt b){
-        /**
-         * Given two BigInts with their DigitMap arrays:
-         * M1M2M3...Mx * N1N2N3...Ny
-         * We can consider Mx * Ny first, since other terms only involve left shifting
-         * Mx and Ny are both made up of three sections, each representing 3 digits:
-         * m1m2m3 = 10^6m1 + 10^3m2 + m3
-         * n1n2n3 = 10^6n1 + 10^3n2 + n3
-         * m1m2m3 * n1n2n3 is thus
-         * 
-         * (1) 10^12(m1n1) +
-         * (2) 10^9(m1n2 +m2n1) +
-         * (3) 10^6(m1n3 + m2n2 + m3n1) +
-         * (4) 10^3(m2n3 + m3n2) +
-         * (5) (m3n3)
-         * 
-         * We use (n) to refer to the term within the parenthesis
-         * 
-         * 
-         * We can split it into two BigInt
-         * res1 = BigInt(10^3(1) + (2)).leftShift(1)
-         * res2 = BigInt(10^6(3) + 10^3(4) + (5))
-         * 
-         * Because mx and nx <= 999, mx*nx < 10^6
-         * Thus, all the multiplications can be safely done using primitive long. 
-         * 
-         * 
-         */
         // 0 * anything is 0
-        if(a.equals(BigInt.ZERO) || b.equals(BigInt.ZERO)){
+        if(a.isZero() || b.isZero()){
             return BigInt.ZERO;
         }
         // 1 * x = x
-        if(a.equals(BigInt.ONE)){
+        if(a.isOne()){
             return b;
-        } else if(b.equals(BigInt.ONE)){
+        } else if(b.isOne()){
             return a;
         }
         // If same sign, the result is positive, negative otherwise
         Sign resultSign = a.sign == b.sign? Sign.NON_NEGATIVE : Sign.NEGATIVE;
-        BigInt accumulator = new BigInt(0);
-        for(int i = 0; i < a.arr.length; i++){
-            for(int j = 0; j < b.arr.length; j++){
-                int[] m = a.arr[a.arr.length-1-i].split();
-                int[] n = b.arr[b.arr.length-1-j].split();
-                long base1 = 1_000 * (m[0] * n[0]) + (m[0]*n[1] + m[1]*n[0]);
-                accumulator = accumulator.add(new BigInt(base1).leftShift(1+i+j));
-                long base2 = (long)1_000_000 * (m[0]*n[2] + m[1]*n[1] + m[2]*n[0])
-                            +1_000 * (m[1]*n[2] + m[2]*n[1])
-                            +m[2]*n[2];
-                accumulator = accumulator.add(new BigInt(base2).leftShift(i+j));
-            }
-        }
-        if (resultSign == Sign.NEGATIVE){
-            return accumulator.inverse();
-        } else {
-            return accumulator;
-        }
+        return new BigInt(Multiplication.multiply(a.arr, b.arr), resultSign);
     }
     public static BigInt multiply(BigInt bi, long i){
-        return BigInt.multiply(bi, new BigInt(i));
+        // One or two rows of single-limb products on the limbs of i, so only the result is allocated
+        if(bi.isZero() || i == 0){
+            return BigInt.ZERO;
+        }
+        if(i == 1){
+            return bi;
+        } else if(i == -1){
+            return bi.inverse();
+        }
+        Sign resultSign = (bi.sign == Sign.NEGATIVE) == (i < 0)? Sign.NON_NEGATIVE : Sign.NEGATIVE;
+        return new BigInt(BigInt.multiplyMagnitude(bi.arr, BigInt.unsignedAbs(i)), resultSign);
     }
 
     public static BigInt multiply(long i, BigInt bi){
-        return BigInt.multiply(bi, new BigInt(i));
+        return BigInt.multiply(bi, i);
     }
 
     public BigInt multiply(BigInt other){
         return BigInt.multiply(this, other);
     }
-    
+
     public BigInt multiply(long other){
         return BigInt.multiply(this, other);
     }
-}
\ No newline at end of file
+
+    public static BigInt parallelMultiply(BigInt a, BigInt b){
+        return BigInt.parallelMultiply(a, b, ForkJoinPool.commonPool());
+    }
+
+    public static BigInt parallelMultiply(BigInt a, BigInt b, ForkJoinPool pool){
+        /**
+         * Same result as multiply, with the independent sub-products of large operands
+         * forked as tasks of pool, see Multiplication
+         * The parallelism is the one of pool, by default the common pool,
+         * which is sized by the system property java.util.concurrent.ForkJoinPool.common.parallelism
+         */
+        if(a.isZero() || b.isZero()){
+            return BigInt.ZERO;
+        }
+        Sign resultSign = a.sign == b.sign? Sign.NON_NEGATIVE : Sign.NEGATIVE;
+        return new BigInt(Multiplication.parallelMultiply(a.arr, b.arr, pool), resultSign);
+    }
+
+    public BigInt parallelMultiply(BigInt other){
+        return BigInt.parallelMultiply(this, other);
+    }
+
+    public BigInt parallelMultiply(BigInt other, ForkJoinPool pool){
+        return BigInt.parallelMultiply(this, other, pool);
+    }
+
+    public static BigInt square(BigInt a){
+        // Every cross product of a * a appears twice, so squaring has its own path
+        // The result is never negative
+        if(a.isZero()){
+            return BigInt.ZERO;
+        }
+        return new BigInt(Multiplication.square(a.arr), Sign.NON_NEGATIVE);
+    }
+
+    public BigInt square(){
+        return BigInt.square(this);
+    }
+
+    public static BigInt parallelSquare(BigInt a){
+        return BigInt.parallelSquare(a, ForkJoinPool.commonPool());
+    }
+
+    public static BigInt parallelSquare(BigInt a, ForkJoinPool pool){
+        if(a.isZero()){
+            return BigInt.ZERO;
+        }
+        return new BigInt(Multiplication.parallelSquare(a.arr, pool), Sign.NON_NEGATIVE);
+    }
+
+    public BigInt parallelSquare(){
+        return BigInt.parallelSquare(this);
+    }
+
+    public BigInt parallelSquare(ForkJoinPool pool){
+        return BigInt.parallelSquare(this, pool);
+    }
+
+    public static BigInt pow(BigInt a, int exponent){
+        return BigInt.pow(a, exponent, null);
+    }
+
+    private static BigInt pow(BigInt a, int exponent, ForkJoinPool pool){
+        /**
+         * Left-to-right square-and-multiply:
+         * For every bit of the exponent from the top, square the result,
+         * and multiply it by a if the bit is set.
+         * All the multiplications are by the small operand a,
+         * while all the large products are squarings.
+         * With a pool, both run through the parallel multiplication.
+         */
+        if(exponent < 0){
+            throw new ArithmeticException("Negative exponent");
+        }
+        if(exponent == 0){
+            return BigInt.ONE;
+        }
+        if(a.isZero() || a.isOne()){
+            return a;
+        }
+        BigInt result = a;
+        for(int bit = 30 - Integer.numberOfLeadingZeros(exponent); bit >= 0; bit--){
+            result = pool == null? result.square(): result.parallelSquare(pool);
+            if(((exponent >>> bit) & 1) == 1){
+                result = pool == null? result.multiply(a): result.parallelMultiply(a, pool);
+            }
+        }
+        // Squaring drops the sign and multiplying by a negative a flips it,
+        // so only an odd exponent, whose last step is a multiplication, ends up negative
+        return result;
+    }
+
+    public BigInt pow(int exponent){
+        return BigInt.pow(this, exponent);
+    }
+
+    public static BigInt parallelPow(BigInt a, int exponent){
+        return BigInt.pow(a, exponent, ForkJoinPool.commonPool());
+    }
+
+    public static BigInt parallelPow(BigInt a, int exponent, ForkJoinPool pool){
+        return BigInt.pow(a, exponent, pool);
+    }
+
+    public BigInt parallelPow(int exponent){
+        return BigInt.parallelPow(this, exponent);
+    }
+
+    public BigInt parallelPow(int exponent, ForkJoinPool pool){
+        return BigInt.parallelPow(this, exponent, pool);
+    }
+
+    public static BigInt sqrt(BigInt a){
+        // floor(sqrt(a)), see Roots
+        return BigInt.sqrtAndRemainder(a)[0];
+    }
+
+    public BigInt sqrt(){
+        return BigInt.sqrt(this);
+    }
+
+    public static BigInt[] sqrtAndRemainder(BigInt a){
+        // Returns {s, a - s^2} for s = floor(sqrt(a)), so 0 <= a - s^2 <= 2s
+        if(a.sign == Sign.NEGATIVE){
+            throw new ArithmeticException("Square root of a negative BigInt");
+        }
+        int[][] result = Roots.sqrtAndRemainder(a.arr);
+        return new BigInt[]{new BigInt(result[0], Sign.NON_NEGATIVE), new BigInt(result[1], Sign.NON_NEGATIVE)};
+    }
+
+    public BigInt[] sqrtAndRemainder(){
+        return BigInt.sqrtAndRemainder(this);
+    }
+
+    public static BigInt nthRoot(BigInt a, int n){
+        /**
+         * The n-th root of a, truncated towards zero like divide
+         * So a negative a has a negative root for an odd n, e.g. BigInt.nthRoot(-9, 3) == -2,
+         * and an ArithmeticException for an even n.
+         */
+        if(n <= 0){
+            throw new ArithmeticException("Non-positive root index");
+        }
+        if(a.sign == Sign.NEGATIVE && (n & 1) == 0){
+            throw new ArithmeticException("Even root of a negative BigInt");
+        }
+        return new BigInt(Roots.nthRoot(a.arr, n), a.sign);
+    }
+
+    public BigInt nthRoot(int n){
+        return BigInt.nthRoot(this, n);
+    }
+
+    // Bitwise operations, with the two's complement semantics of java.math.BigInteger, see Bitwise
+    public static BigInt shiftLeft(BigInt a, int n){
+        // a * 2^n, where a negative n shifts to the right instead
+        if(n < 0){
+            return n == Integer.MIN_VALUE? BigInt.shiftRight(BigInt.shiftRight(a, Integer.MAX_VALUE), 1): BigInt.shiftRight(a, -n);
+        }
+        if((long)BigInt.bitLengthMagnitude(a.arr) + n > Integer.MAX_VALUE){
+            throw new ArithmeticException("BigInt would overflow supported range");
+        }
+        return new BigInt(BigInt.shiftLeftMagnitude(a.arr, n), a.sign);
+    }
+
+    public BigInt shiftLeft(int n){
+        return BigInt.shiftLeft(this, n);
+    }
+
+    public static BigInt shiftRight(BigInt a, int n){
+        // floor(a / 2^n), like >> on primitives, so -5 >> 1 == -3, and a negative n shifts to the left instead
+        if(n < 0){
+            if(n == Integer.MIN_VALUE){
+                throw new ArithmeticException("BigInt would overflow supported range");
+            }
+            return BigInt.shiftLeft(a, -n);
+        }
+        return Bitwise.shiftRight(a, n);
+    }
+
+    public BigInt shiftRight(int n){
+        return BigInt.shiftRight(this, n);
+    }
+
+    public static BigInt and(BigInt a, BigInt b){
+        return Bitwise.combine(a, b, Bitwise.AND);
+    }
+
+    public static BigInt and(BigInt bi, long i){
+        return BigInt.and(bi, BigInt.valueOf(i));
+    }
+
+    public static BigInt and(long i, BigInt bi){
+        return BigInt.and(BigInt.valueOf(i), bi);
+    }
+
+    public BigInt and(BigInt other){
+        return BigInt.and(this, other);
+    }
+
+    public BigInt and(long other){
+        return BigInt.and(this, BigInt.valueOf(other));
+    }
+
+    public static BigInt or(BigInt a, BigInt b){
+        return Bitwise.combine(a, b, Bitwise.OR);
+    }
+
+    public static BigInt or(BigInt bi, long i){
+        return BigInt.or(bi, BigInt.valueOf(i));
+    }
+
+    public static BigInt or(long i, BigInt bi){
+        return BigInt.or(BigInt.valueOf(i), bi);
+    }
+
+    public BigInt or(BigInt other){
+        return BigInt.or(this, other);
+    }
+
+    public BigInt or(long other){
+        return BigInt.or(this, BigInt.valueOf(other));
+    }
+
+    public static BigInt xor(BigInt a, BigInt b){
+        return Bitwise.combine(a, b, Bitwise.XOR);
+    }
+
+    public static BigInt xor(BigInt bi, long i){
+        return BigInt.xor(bi, BigInt.valueOf(i));
+    }
+
+    public static BigInt xor(long i, BigInt bi){
+        return BigInt.xor(BigInt.valueOf(i), bi);
+    }
+
+    public BigInt xor(BigInt other){
+        return BigInt.xor(this, other);
+    }
+
+    public BigInt xor(long other){
+        return BigInt.xor(this, BigInt.valueOf(other));
+    }
+
+    public static BigInt andNot(BigInt a, BigInt b){
+        // a & ~b
+        return Bitwise.combine(a, b, Bitwise.AND_NOT);
+    }
+
+    public static BigInt andNot(BigInt bi, long i){
+        return BigInt.andNot(bi, BigInt.valueOf(i));
+    }
+
+    public static BigInt andNot(long i, BigInt bi){
+        return BigInt.andNot(BigInt.valueOf(i), bi);
+    }
+
+    public BigInt andNot(BigInt other){
+        return BigInt.andNot(this, other);
+    }
+
+    public BigInt andNot(long other){
+        return BigInt.andNot(this, BigInt.valueOf(other));
+    }
+
+    public static BigInt not(BigInt a){
+        // ~a == -a - 1
+        return BigInt.add(a, 1).inverse();
+    }
+
+    public BigInt not(){
+        return BigInt.not(this);
+    }
+
+    public boolean testBit(int n){
+        // Bit n of the two's complement, so every bit above the magnitude of a negative value is set
+        if(n < 0){
+            throw new ArithmeticException("Negative bit address");
+        }
+        return Bitwise.testBit(this, n);
+    }
+
+    public BigInt setBit(int n){
+        return this.testBit(n)? this: BigInt.or(this, BigInt.ONE.shiftLeft(n));
+    }
+
+    public BigInt clearBit(int n){
+        return this.testBit(n)? BigInt.andNot(this, BigInt.ONE.shiftLeft(n)): this;
+    }
+
+    public BigInt flipBit(int n){
+        if(n < 0){
+            throw new ArithmeticException("Negative bit address");
+        }
+        return BigInt.xor(this, BigInt.ONE.shiftLeft(n));
+    }
+
+    public int getLowestSetBit(){
+        // The number of trailing zero bits, the same for x and -x, or -1 for 0
+        return Bitwise.lowestSetBit(this.arr);
+    }
+
+    public int bitCount(){
+        // The number of bits that differ from the sign bit, as in BigInteger
+        return Bitwise.bitCount(this);
+    }
+
+    public static BigInt sum(Iterable<BigInt> values){
+        /**
+         * Adds all values into one carry-save buffer, see SumAccumulator,
+         * instead of allocating an intermediate BigInt per addition.
+         * The empty sum is 0.
+         */
+        SumAccumulator accumulator = new SumAccumulator();
+        for(BigInt value: values){
+            accumulator.add(value);
+        }
+        return accumulator.toBigInt();
+    }
+
+    public static BigInt sum(BigInt... values){
+        return BigInt.sum(Arrays.asList(values));
+    }
+
+    public static BigInt product(Iterable<BigInt> values){
+        /**
+         * Multiplies along a balanced product tree, see productTree.
+         * The empty product is 1.
+         */
+        List<BigInt> factors = new ArrayList<>();
+        for(BigInt value: values){
+            factors.add(value);
+        }
+        return BigInt.productTree(factors);
+    }
+
+    public static BigInt product(BigInt... values){
+        return BigInt.product(Arrays.asList(values));
+    }
+
+    private static BigInt productTree(List<BigInt> factors){
+        /**
+         * Multiplies neighbours level by level until one product is left.
+         * Both operands of every product have about the same size,
+         * so the large products at the top of the tree go through Karatsuba, Toom-3 or the NTT,
+         * while a running product would multiply a growing value by one small factor at a time,
+         * which is quadratic in the size of the result.
+         */
+        BigInt[] level = new BigInt[factors.size()];
+        int count = 0;
+        for(BigInt factor: factors){
+            if(factor.isZero()){
+                return BigInt.ZERO;
+            }
+            level[count++] = factor;
+        }
+        if(count == 0){
+            return BigInt.ONE;
+        }
+        while(count > 1){
+            int next = 0;
+            for(int i = 0; i + 1 < count; i += 2){
+                level[next++] = level[i].multiply(level[i + 1]);
+            }
+            if(count % 2 == 1){
+                level[next++] = level[count - 1];
+            }
+            count = next;
+        }
+        return level[0];
+    }
+
+    public static Collector<BigInt, ?, BigInt> summing(){
+        /**
+         * Collects a stream into its sum through a SumAccumulator,
+         * which allocates nothing per element once its buffer is large enough.
+         * In a parallel stream, every thread sums its part into its own accumulator, and the accumulators are combined.
+         */
+        return Collector.of(SumAccumulator::new, SumAccumulator::add, SumAccumulator::combine, SumAccumulator::toBigInt,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    public static Collector<BigInt, ?, BigInt> multiplying(){
+        /**
+         * Collects a stream into its product:
+         * The factors are gathered first, and multiplied along a balanced product tree at the end.
+         */
+        return Collector.of(ArrayList<BigInt>::new, List::add, (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                }, BigInt::productTree,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    public static BigInt[] divideAndRemainder(BigInt a, BigInt b){
+        /**
+         * Returns {a / b, a % b} with the same semantics as Java's / and % on primitives:
+         * The quotient is truncated towards zero,
+         * and the remainder takes the sign of the dividend a.
+         */
+        if(b.isZero()){
+            throw new ArithmeticException("Division by zero");
+        }
+        if(a.isZero()){
+            return new BigInt[]{BigInt.ZERO, BigInt.ZERO};
+        }
+        int[][] qr = Division.divideAndRemainder(a.arr, b.arr);
+        Sign quotientSign = a.sign == b.sign? Sign.NON_NEGATIVE : Sign.NEGATIVE;
+        return new BigInt[]{new BigInt(qr[0], quotientSign), new BigInt(qr[1], a.sign)};
+    }
+
+    public static BigInt[] divideAndRemainder(BigInt bi, long i){
+        return BigInt.divideAndRemainder(bi, BigInt.valueOf(i));
+    }
+
+    public static BigInt[] divideAndRemainder(long i, BigInt bi){
+        return BigInt.divideAndRemainder(BigInt.valueOf(i), bi);
+    }
+
+    public BigInt[] divideAndRemainder(BigInt other){
+        return BigInt.divideAndRemainder(this, other);
+    }
+
+    public BigInt[] divideAndRemainder(long other){
+        return BigInt.divideAndRemainder(this, BigInt.valueOf(other));
+    }
+
+    public static BigInt divide(BigInt a, BigInt b){
+        return BigInt.divideAndRemainder(a, b)[0];
+    }
+
+    public static BigInt divide(BigInt bi, long i){
+        return BigInt.divide(bi, BigInt.valueOf(i));
+    }
+
+    public static BigInt divide(long i, BigInt bi){
+        return BigInt.divide(BigInt.valueOf(i), bi);
+    }
+
+    public BigInt divide(BigInt other){
+        return BigInt.divide(this, other);
+    }
+
+    public BigInt divide(long other){
+        return BigInt.divide(this, BigInt.valueOf(other));
+    }
+
+    public static BigInt mod(BigInt a, BigInt m){
+        /**
+         * Unlike the remainder of divideAndRemainder, the result of mod is never negative
+         * So the modulus must be positive, e.g. BigInt.mod(-7, 3) == 2
+         */
+        if(m.sign == Sign.NEGATIVE || m.isZero()){
+            throw new ArithmeticException("Modulus not positive");
+        }
+        BigInt remainder = BigInt.divideAndRemainder(a, m)[1];
+        if(remainder.sign == Sign.NEGATIVE){
+            return remainder.add(m);
+        }
+        return remainder;
+    }
+
+    public static BigInt mod(BigInt bi, long i){
+        return BigInt.mod(bi, BigInt.valueOf(i));
+    }
+
+    public static BigInt mod(long i, BigInt bi){
+        return BigInt.mod(BigInt.valueOf(i), bi);
+    }
+
+    public BigInt mod(BigInt m){
+        return BigInt.mod(this, m);
+    }
+
+    public BigInt mod(long m){
+        return BigInt.mod(this, BigInt.valueOf(m));
+    }
+
+    public static BigInt modPow(BigInt base, BigInt exponent, BigInt modulus){
+        // Builds a throwaway ModContext, so reuse one with modPow(exponent, context) for a fixed modulus
+        return new ModContext(modulus).modPow(base, exponent);
+    }
+
+    public BigInt modPow(BigInt exponent, BigInt modulus){
+        return BigInt.modPow(this, exponent, modulus);
+    }
+
+    public BigInt modPow(BigInt exponent, ModContext context){
+        return context.modPow(this, exponent);
+    }
+
+    public static BigInt modInverse(BigInt a, BigInt m){
+        // The x in [0, m) with a * x == 1 (mod m), which exists if and only if gcd(a, m) == 1
+        if(m.sign == Sign.NEGATIVE || m.isZero()){
+            throw new ArithmeticException("Modulus not positive");
+        }
+        if(m.isOne()){
+            return BigInt.ZERO;
+        }
+        BigInt[] gxy = BigInt.extendedGcd(a.mod(m), m);
+        if(!gxy[0].isOne()){
+            throw new ArithmeticException("BigInt not invertible");
+        }
+        return gxy[1].mod(m);
+    }
+
+    public BigInt modInverse(BigInt m){
+        return BigInt.modInverse(this, m);
+    }
+
+    public static BigInt gcd(BigInt a, BigInt b){
+        // The greatest common divisor of |a| and |b|, where gcd(0, 0) == 0
+        return new BigInt(Gcd.gcd(a.arr, b.arr), Sign.NON_NEGATIVE);
+    }
+
+    public static BigInt gcd(BigInt bi, long i){
+        return BigInt.gcd(bi, BigInt.valueOf(i));
+    }
+
+    public static BigInt gcd(long i, BigInt bi){
+        return BigInt.gcd(BigInt.valueOf(i), bi);
+    }
+
+    public BigInt gcd(BigInt other){
+        return BigInt.gcd(this, other);
+    }
+
+    public BigInt gcd(long other){
+        return BigInt.gcd(this, BigInt.valueOf(other));
+    }
+
+    public static BigInt lcm(BigInt a, BigInt b){
+        // The least common multiple of |a| and |b|, where lcm(0, x) == 0
+        if(a.isZero() || b.isZero()){
+            return BigInt.ZERO;
+        }
+        // Divide before multiplying, so the division works on the smaller operands
+        BigInt g = BigInt.gcd(a, b);
+        return a.abs().divide(g).multiply(b.abs());
+    }
+
+    public static BigInt lcm(BigInt bi, long i){
+        return BigInt.lcm(bi, BigInt.valueOf(i));
+    }
+
+    public static BigInt lcm(long i, BigInt bi){
+        return BigInt.lcm(BigInt.valueOf(i), bi);
+    }
+
+    public BigInt lcm(BigInt other){
+        return BigInt.lcm(this, other);
+    }
+
+    public BigInt lcm(long other){
+        return BigInt.lcm(this, BigInt.valueOf(other));
+    }
+
+    public static BigInt[] extendedGcd(BigInt a, BigInt b){
+        /**
+         * Returns {g, x, y} with a * x + b * y == g, where g = gcd(a, b) is never negative
+         * x and y are the coefficients Euclid's algorithm finds, with |x| <= |b| / g and |y| <= |a| / g
+         */
+        if(b.isZero()){
+            return new BigInt[]{a.abs(), a.sign == Sign.NEGATIVE? BigInt.valueOf(-1): BigInt.ONE, BigInt.ZERO};
+        }
+        if(a.isZero()){
+            return new BigInt[]{b.abs(), BigInt.ZERO, b.sign == Sign.NEGATIVE? BigInt.valueOf(-1): BigInt.ONE};
+        }
+        int[][] result = Gcd.extendedGcd(a.arr, b.arr);
+        BigInt g = new BigInt(result[0], Sign.NON_NEGATIVE);
+        // The coefficient of |a|, then the one of |b| from |a| * x + |b| * y == g
+        BigInt x = new BigInt(result[1], result[2][0] < 0? Sign.NEGATIVE : Sign.NON_NEGATIVE);
+        BigInt y = g.minus(x.multiply(a.abs())).divide(b.abs());
+        if(a.sign == Sign.NEGATIVE){
+            x = x.inverse();
+        }
+        if(b.sign == Sign.NEGATIVE){
+            y = y.inverse();
+        }
+        return new BigInt[]{g, x, y};
+    }
+
+    public BigInt[] extendedGcd(BigInt other){
+        return BigInt.extendedGcd(this, other);
+    }
+}
@@ -0,0 +1,167 @@
+package DataStructures.Foundations.BigInt;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class BigIntFiles {
+    /**
+     * Reading and writing single, very large BigInts as files
+     *
+     * Binary files hold exactly the bytes of BigInt.toByteArray, see Serialization:
+     * a varint header with the limb count and the sign, then the limbs as little-endian 32-bit words.
+     * The limbs are copied straight between the limb array and the file through FileChannel.map,
+     * in windows of WINDOW_BYTES, so a value of any size goes at about the speed of memcpy and the disk,
+     * without ever building a byte[] of the whole file.
+     * This is the format for checkpoints of long computations.
+     *
+     * Decimal files hold the text of BigInt.toString, with no line terminator.
+     * Writing streams the digits in pieces from the most significant end, as BigInt.writeTo does,
+     * instead of building one huge String.
+     * Reading maps the file and parses the mapped bytes through a CharSequence view,
+     * again without a String or char[] copy of the text.
+     * A trailing line terminator, as most tools write one, is ignored.
+     *
+     * Mapped files stay mapped until their buffers are garbage collected, as with any MappedByteBuffer.
+     */
+    // Bytes per mapped window of the binary limbs, a multiple of 4
+    private static final long WINDOW_BYTES = 1L << 28;
+    // Bytes per write of the decimal digits
+    private static final int TEXT_BUFFER_BYTES = 1 << 20;
+
+    private BigIntFiles(){}
+
+    public static void write(BigInt value, Path path) throws IOException{
+        // Creates or replaces the file at path with the bytes of value.toByteArray()
+        int[] mag = value.arr;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)){
+            ByteBuffer header = ByteBuffer.allocate(Serialization.MAX_HEADER_BYTES);
+            Serialization.writeHeader(mag, value.sign == BigInt.Sign.NEGATIVE, header);
+            header.flip();
+            long position = 0;
+            while(header.hasRemaining()){
+                position += channel.write(header, position);
+            }
+            int windowLimbs = (int)(WINDOW_BYTES / 4);
+            for(int from = 0; from < mag.length; from += windowLimbs){
+                int limbs = Math.min(windowLimbs, mag.length - from);
+                // Mapping past the end of the file grows it
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, position, 4L * limbs);
+                window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(mag, from, limbs);
+                position += 4L * limbs;
+            }
+        }
+    }
+
+    public static BigInt read(Path path) throws IOException{
+        // Reads a file written by write, or holding the bytes of toByteArray
+        // Throws an IOException if the file is not exactly one valid encoding
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            long size = channel.size();
+            MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, Serialization.MAX_HEADER_BYTES));
+            long header;
+            int length;
+            try{
+                header = Serialization.readHeader(head);
+                length = Serialization.checkHeader(header);
+            } catch(IllegalArgumentException | BufferUnderflowException e){
+                throw new IOException("Malformed BigInt file " + path, e);
+            }
+            long position = head.position();
+            if(size != position + 4L * length){
+                throw new IOException("Malformed BigInt file " + path + ": " + size + " bytes for " + length + " limbs");
+            }
+            int[] mag = new int[length];
+            int windowLimbs = (int)(WINDOW_BYTES / 4);
+            for(int from = 0; from < length; from += windowLimbs){
+                int limbs = Math.min(windowLimbs, length - from);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * limbs);
+                window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(mag, from, limbs);
+                position += 4L * limbs;
+            }
+            try{
+                return Serialization.toBigInt(mag, header);
+            } catch(IllegalArgumentException e){
+                throw new IOException("Malformed BigInt file " + path, e);
+            }
+        }
+    }
+
+    public static void writeDecimal(BigInt value, Path path) throws IOException{
+        // Creates or replaces the file at path with the digits of value.toString()
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), TEXT_BUFFER_BYTES)){
+            value.writeTo(out);
+        }
+    }
+
+    public static BigInt readDecimal(Path path) throws IOException{
+        // Parses a file with the text of a BigInt, as BigInt.parse does, with an optional trailing line terminator
+        // Throws a NumberFormatException if the text is not a valid number
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            long size = channel.size();
+            if(size > Integer.MAX_VALUE){
+                throw new IOException("Decimal BigInt file " + path + " too large: " + size + " bytes");
+            }
+            MappedByteBuffer text = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int length = (int)size;
+            while(length > 0 && (text.get(length - 1) == '\n' || text.get(length - 1) == '\r')){
+                length -= 1;
+            }
+            return BigInt.parse(new AsciiSequence(text, 0, length));
+        }
+    }
+
+    private static final class AsciiSequence implements CharSequence{
+        // The bytes [from, to) of a buffer as chars, for text that is known to be ASCII
+        private final ByteBuffer bytes;
+        private final int from;
+        private final int to;
+
+        AsciiSequence(ByteBuffer bytes, int from, int to){
+            this.bytes = bytes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public int length(){
+            return this.to - this.from;
+        }
+
+        @Override
+        public char charAt(int index){
+            if(index < 0 || index >= this.length()){
+                throw new IndexOutOfBoundsException(index);
+            }
+            return (char)(this.bytes.get(this.from + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end){
+            if(start < 0 || start > end || end > this.length()){
+                throw new IndexOutOfBoundsException("[" + start + ", " + end + ") of " + this.length());
+            }
+            return new AsciiSequence(this.bytes, this.from + start, this.from + end);
+        }
+
+        @Override
+        public String toString(){
+            StringBuilder builder = new StringBuilder(this.length());
+            for(int i = 0; i < this.length(); i++){
+                builder.append(this.charAt(i));
+            }
+            return builder.toString();
+        }
+    }
+}
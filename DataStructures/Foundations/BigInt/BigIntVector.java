@@ -0,0 +1,404 @@
+package DataStructures.Foundations.BigInt;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static DataStructures.Foundations.BigInt.BigInt.LONG_MASK;
+
+public final class BigIntVector {
+    /**
+     * A column of BigInts, with the limbs of all values stored back to back off-heap
+     *
+     * Every BigInt on the heap costs two objects, the BigInt and its int[], with their headers and references.
+     * A BigIntVector keeps one direct ByteBuffer with all limbs, 4 little-endian bytes per limb as in BigInt.arr,
+     * plus an int offset and a sign bit per value on the heap.
+     * So a value of n limbs costs about 4n + 4 bytes, and the garbage collector only ever sees a handful of objects.
+     *
+     * The element-wise add and multiply write their results into a new vector,
+     * without creating any BigInt per element.
+     * They run over batches of consecutive elements with up to BATCH_LIMBS limbs:
+     * every batch is moved between the buffers and small heap arrays in one bulk copy,
+     * and the limb loops run on the heap arrays.
+     * Loops that read and write the direct buffer limb by limb measured about 3 times slower,
+     * since every raw store may alias the buffer fields, which then have to be reloaded.
+     * compare only reads, and mostly only the top limb, so it reads the buffers directly.
+     * get(i) materializes a single element as a BigInt only when it is asked for.
+     *
+     * A vector is append-only and not thread-safe.
+     * Its buffer is freed by the garbage collector, like any direct ByteBuffer,
+     * and holds at most Integer.MAX_VALUE bytes, which is about 536 million limbs in total.
+     */
+    private static final int MAX_LIMBS = Integer.MAX_VALUE / 4;
+    private static final int BATCH_LIMBS = 4096;
+
+    // The limbs of value i are [offsets[i], offsets[i + 1]), counted in limbs from the start of limbs
+    private IntBuffer limbs;
+    private int[] offsets;
+    // Bit i is set if value i is negative
+    private long[] negative;
+    private int size;
+
+    public BigIntVector(){
+        this(16, 64);
+    }
+
+    public BigIntVector(int capacity, int limbCapacity){
+        // capacity values with limbCapacity limbs in total fit without growing
+        if(capacity < 0 || limbCapacity < 0 || limbCapacity > MAX_LIMBS){
+            throw new IllegalArgumentException("Illegal capacity: " + capacity + " values, " + limbCapacity + " limbs");
+        }
+        this.limbs = BigIntVector.allocateLimbs(limbCapacity);
+        this.offsets = new int[capacity + 1];
+        this.negative = new long[(capacity + 63) >>> 6];
+    }
+
+    public static BigIntVector of(Iterable<BigInt> values){
+        BigIntVector vector = new BigIntVector();
+        for(BigInt value: values){
+            vector.append(value);
+        }
+        return vector;
+    }
+
+    public int size(){
+        return this.size;
+    }
+
+    public void append(BigInt value){
+        int[] mag = value.arr;
+        int offset = this.offsets[this.size];
+        this.ensureCapacity(this.size + 1, (long)offset + mag.length);
+        this.limbs.put(offset, mag, 0, mag.length);
+        this.push(mag.length, value.sign == BigInt.Sign.NEGATIVE);
+    }
+
+    public BigInt get(int index){
+        Objects.checkIndex(index, this.size);
+        int[] mag = new int[this.length(index)];
+        this.limbs.get(this.offsets[index], mag, 0, mag.length);
+        return new BigInt(mag, this.isNegative(index)? BigInt.Sign.NEGATIVE: BigInt.Sign.NON_NEGATIVE);
+    }
+
+    public int signum(int index){
+        Objects.checkIndex(index, this.size);
+        if(this.length(index) == 0){
+            return 0;
+        }
+        return this.isNegative(index)? -1: 1;
+    }
+
+    public BigIntVector add(BigIntVector other){
+        /**
+         * Returns the vector of this[i] + other[i]
+         * Values of the same sign add their magnitudes,
+         * otherwise the smaller magnitude is subtracted from the larger one, which gives the sign.
+         */
+        this.checkSameSize(other);
+        long limbs = 0;
+        for(int i = 0; i < this.size; i++){
+            limbs += Math.max(this.length(i), other.length(i)) + 1;
+        }
+        BigIntVector result = BigIntVector.allocate(this.size, limbs);
+        int[] a = new int[BATCH_LIMBS];
+        int[] b = new int[BATCH_LIMBS];
+        int[] out = new int[2 * BATCH_LIMBS];
+        for(int from = 0, to; from < this.size; from = to){
+            to = this.batchEnd(from, other);
+            a = this.load(from, to, a);
+            b = other.load(from, to, b);
+            out = BigIntVector.grow(out, (long)this.offsets[to] - this.offsets[from] + other.offsets[to] - other.offsets[from] + (to - from));
+            int aBase = this.offsets[from];
+            int bBase = other.offsets[from];
+            int outOffset = 0;
+            for(int i = from; i < to; i++){
+                int aOffset = this.offsets[i] - aBase;
+                int aLength = this.length(i);
+                int bOffset = other.offsets[i] - bBase;
+                int bLength = other.length(i);
+                boolean aNegative = this.isNegative(i);
+                boolean bNegative = other.isNegative(i);
+                int length;
+                boolean negative;
+                if(aNegative == bNegative){
+                    length = BigIntVector.addMagnitude(a, aOffset, aLength, b, bOffset, bLength, out, outOffset);
+                    negative = aNegative;
+                } else if(BigIntVector.compareMagnitude(a, aOffset, aLength, b, bOffset, bLength) >= 0){
+                    length = BigIntVector.subtractMagnitude(a, aOffset, aLength, b, bOffset, bLength, out, outOffset);
+                    negative = aNegative;
+                } else {
+                    length = BigIntVector.subtractMagnitude(b, bOffset, bLength, a, aOffset, aLength, out, outOffset);
+                    negative = bNegative;
+                }
+                result.push(length, negative);
+                outOffset += length;
+            }
+            result.store(from, out, outOffset);
+        }
+        return result;
+    }
+
+    public BigIntVector multiply(BigInt scalar){
+        /**
+         * Returns the vector of this[i] * scalar
+         * Every product is a schoolbook product of the element and the scalar,
+         * which suits a small scalar against values of a few limbs,
+         * the usual case for a column.
+         */
+        int[] s = scalar.arr;
+        long limbs = 0;
+        if(s.length > 0){
+            for(int i = 0; i < this.size; i++){
+                int length = this.length(i);
+                limbs += length == 0? 0: length + s.length;
+            }
+        }
+        BigIntVector result = BigIntVector.allocate(this.size, limbs);
+        boolean scalarNegative = scalar.sign == BigInt.Sign.NEGATIVE;
+        int[] a = new int[BATCH_LIMBS];
+        int[] out = new int[BATCH_LIMBS];
+        for(int from = 0, to; from < this.size; from = to){
+            to = this.batchEnd(from, null);
+            a = this.load(from, to, a);
+            out = BigIntVector.grow(out, (long)this.offsets[to] - this.offsets[from] + (long)s.length * (to - from));
+            int base = this.offsets[from];
+            int outOffset = 0;
+            for(int i = from; i < to; i++){
+                int length = this.length(i);
+                if(length == 0 || s.length == 0){
+                    result.push(0, false);
+                    continue;
+                }
+                int productLength = BigIntVector.multiplyMagnitude(a, this.offsets[i] - base, length, s, out, outOffset);
+                result.push(productLength, this.isNegative(i) != scalarNegative);
+                outOffset += productLength;
+            }
+            result.store(from, out, outOffset);
+        }
+        return result;
+    }
+
+    public BigIntVector multiply(long scalar){
+        return this.multiply(BigInt.valueOf(scalar));
+    }
+
+    public int[] compare(BigIntVector other){
+        // Returns Integer.signum(this[i].compareTo(other[i])) for every i
+        // Most pairs differ in sign, length or top limb, so the limbs are read straight from the buffers,
+        // rather than copying whole batches that are mostly never looked at
+        this.checkSameSize(other);
+        int[] result = new int[this.size];
+        for(int i = 0; i < this.size; i++){
+            int aSignum = this.signum(i);
+            int bSignum = other.signum(i);
+            if(aSignum != bSignum){
+                result[i] = aSignum < bSignum? -1: 1;
+                continue;
+            }
+            int comparison = Integer.compare(this.length(i), other.length(i));
+            int aOffset = this.offsets[i];
+            int bOffset = other.offsets[i];
+            for(int j = this.length(i) - 1; comparison == 0 && j >= 0; j--){
+                comparison = Integer.compareUnsigned(this.limbs.get(aOffset + j), other.limbs.get(bOffset + j));
+            }
+            comparison = Integer.signum(comparison);
+            // Between two negative values, the larger magnitude is the smaller value
+            result[i] = aSignum < 0? -comparison: comparison;
+        }
+        return result;
+    }
+
+    public int[] compare(BigInt other){
+        // Returns Integer.signum(this[i].compareTo(other)) for every i
+        int[] mag = other.arr;
+        int otherSignum = other.signum();
+        int[] result = new int[this.size];
+        for(int i = 0; i < this.size; i++){
+            int signum = this.signum(i);
+            if(signum != otherSignum){
+                result[i] = signum < otherSignum? -1: 1;
+                continue;
+            }
+            int comparison = Integer.compare(this.length(i), mag.length);
+            int offset = this.offsets[i];
+            for(int j = this.length(i) - 1; comparison == 0 && j >= 0; j--){
+                comparison = Integer.compareUnsigned(this.limbs.get(offset + j), mag[j]);
+            }
+            comparison = Integer.signum(comparison);
+            result[i] = signum < 0? -comparison: comparison;
+        }
+        return result;
+    }
+
+    private static BigIntVector allocate(int size, long limbs){
+        // An empty vector with room for size values of limbs limbs in total, for the results of the bulk operations
+        return new BigIntVector(size, BigIntVector.checkLimbs(limbs));
+    }
+
+    private static int checkLimbs(long limbs){
+        if(limbs > MAX_LIMBS){
+            throw new IllegalStateException("BigIntVector too large: " + limbs + " limbs");
+        }
+        return (int)limbs;
+    }
+
+    private int length(int index){
+        return this.offsets[index + 1] - this.offsets[index];
+    }
+
+    private boolean isNegative(int index){
+        return (this.negative[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void push(int length, boolean negative){
+        // Ends value size, with length limbs from offsets[size]
+        if(negative && length > 0){
+            this.negative[this.size >>> 6] |= 1L << this.size;
+        }
+        this.offsets[this.size + 1] = this.offsets[this.size] + length;
+        this.size += 1;
+    }
+
+    private int batchEnd(int from, BigIntVector other){
+        // The end of the batch of elements from `from` whose limbs fit into BATCH_LIMBS, in this and other if given
+        // A single longer element makes a batch of its own
+        int end = from + 1;
+        while(end < this.size && this.offsets[end + 1] - this.offsets[from] <= BATCH_LIMBS
+                && (other == null || other.offsets[end + 1] - other.offsets[from] <= BATCH_LIMBS)){
+            end += 1;
+        }
+        return end;
+    }
+
+    private int[] load(int from, int to, int[] scratch){
+        // Copies the limbs of the elements [from, to) to the start of scratch, which grows if needed
+        int start = this.offsets[from];
+        int length = this.offsets[to] - start;
+        scratch = BigIntVector.grow(scratch, length);
+        this.limbs.get(start, scratch, 0, length);
+        return scratch;
+    }
+
+    private void store(int from, int[] limbs, int length){
+        // Copies the limbs of the elements pushed from `from` on, which are the first length limbs of limbs
+        this.limbs.put(this.offsets[from], limbs, 0, length);
+    }
+
+    private static int[] grow(int[] scratch, long length){
+        return scratch.length >= length? scratch: new int[BigIntVector.checkLimbs(length)];
+    }
+
+    private void checkSameSize(BigIntVector other){
+        if(other.size != this.size){
+            throw new IllegalArgumentException("Vector sizes differ: " + this.size + " and " + other.size);
+        }
+    }
+
+    private void ensureCapacity(int size, long limbs){
+        if(size >= this.offsets.length){
+            int capacity = (int)Math.min(Integer.MAX_VALUE - 8, Math.max(size + 1L, 2L * this.offsets.length));
+            this.offsets = Arrays.copyOf(this.offsets, capacity);
+            this.negative = Arrays.copyOf(this.negative, (capacity + 63) >>> 6);
+        }
+        if(limbs > this.limbs.capacity()){
+            int capacity = BigIntVector.checkLimbs(Math.min(MAX_LIMBS, Math.max(limbs, 2L * this.limbs.capacity())));
+            IntBuffer grown = BigIntVector.allocateLimbs(capacity);
+            // One bulk copy of the limbs in use
+            grown.put(this.limbs.duplicate().position(0).limit(this.offsets[this.size]));
+            this.limbs = grown;
+        }
+    }
+
+    private static IntBuffer allocateLimbs(int limbs){
+        // A little-endian int view, so a limb is addressed by its index and copied as is from and to an int[]
+        return ByteBuffer.allocateDirect(4 * limbs).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static int compareMagnitude(int[] a, int aOffset, int aLength, int[] b, int bOffset, int bLength){
+        if(aLength != bLength){
+            return aLength < bLength? -1: 1;
+        }
+        for(int i = aLength - 1; i >= 0; i--){
+            int x = a[aOffset + i];
+            int y = b[bOffset + i];
+            if(x != y){
+                return Integer.compareUnsigned(x, y) < 0? -1: 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int addMagnitude(int[] a, int aOffset, int aLength, int[] b, int bOffset, int bLength, int[] out, int outOffset){
+        // Writes |a| + |b| at outOffset and returns its length
+        if(aLength < bLength){
+            return BigIntVector.addMagnitude(b, bOffset, bLength, a, aOffset, aLength, out, outOffset);
+        }
+        long carry = 0;
+        int i = 0;
+        for(; i < bLength; i++){
+            long sum = (a[aOffset + i] & LONG_MASK) + (b[bOffset + i] & LONG_MASK) + carry;
+            out[outOffset + i] = (int)sum;
+            carry = sum >>> 32;
+        }
+        for(; i < aLength && carry != 0; i++){
+            long sum = (a[aOffset + i] & LONG_MASK) + carry;
+            out[outOffset + i] = (int)sum;
+            carry = sum >>> 32;
+        }
+        // Once the carry is gone, the rest of a is copied as is
+        for(; i < aLength; i++){
+            out[outOffset + i] = a[aOffset + i];
+        }
+        if(carry != 0){
+            out[outOffset + aLength] = 1;
+            return aLength + 1;
+        }
+        return aLength;
+    }
+
+    private static int subtractMagnitude(int[] a, int aOffset, int aLength, int[] b, int bOffset, int bLength, int[] out, int outOffset){
+        // Writes |a| - |b|, where |a| >= |b|, at outOffset and returns its normalized length
+        long borrow = 0;
+        int i = 0;
+        for(; i < bLength; i++){
+            long difference = (a[aOffset + i] & LONG_MASK) - (b[bOffset + i] & LONG_MASK) - borrow;
+            out[outOffset + i] = (int)difference;
+            borrow = difference >>> 63;
+        }
+        for(; i < aLength && borrow != 0; i++){
+            long difference = (a[aOffset + i] & LONG_MASK) - borrow;
+            out[outOffset + i] = (int)difference;
+            borrow = difference >>> 63;
+        }
+        for(; i < aLength; i++){
+            out[outOffset + i] = a[aOffset + i];
+        }
+        int length = aLength;
+        while(length > 0 && out[outOffset + length - 1] == 0){
+            length -= 1;
+        }
+        return length;
+    }
+
+    private static int multiplyMagnitude(int[] a, int aOffset, int aLength, int[] s, int[] out, int outOffset){
+        // Writes |a| * |s|, both non-zero, at outOffset and returns its length
+        // The first row is stored, and every later row is added onto it, so out needs no clearing
+        for(int j = 0; j < s.length; j++){
+            long factor = s[j] & LONG_MASK;
+            long carry = 0;
+            for(int i = 0; i < aLength; i++){
+                int index = outOffset + i + j;
+                long previous = j == 0? 0: out[index] & LONG_MASK;
+                long product = (a[aOffset + i] & LONG_MASK) * factor + previous + carry;
+                out[index] = (int)product;
+                carry = product >>> 32;
+            }
+            out[outOffset + aLength + j] = (int)carry;
+        }
+        int length = aLength + s.length;
+        // Both top limbs are non-zero, so the product has at most one leading zero limb
+        return out[outOffset + length - 1] == 0? length - 1: length;
+    }
+}
@@ -0,0 +1,172 @@
+package DataStructures.Foundations.BigInt;
+
+import java.util.Arrays;
+
+final class Bitwise {
+    /**
+     * Limb-level engine behind the bitwise operations of BigInt, with the semantics of java.math.BigInteger:
+     * every value is read as an infinitely long two's complement number, so -1 is all ones,
+     * and the result of and, or, xor and andNot is negative exactly if its infinite sign bits are ones.
+     *
+     * BigInt keeps the magnitude in binary already, so nothing is converted or cached:
+     * the two's complement limbs of -m follow from the lowest non-zero limb f of m, as in BigInteger.getInt:
+     *     limb i is 0 below f, -m[f] at f, ~m[i] above f, and -1 past the end of m
+     * So every operation writes the two's complement of a into the result array, combines it with that of b
+     * in one branch-free pass, and negates the result back into a magnitude in place if it is negative.
+     * Only a negative b needs a second array for its two's complement.
+     */
+    static final int AND = 0;
+    static final int OR = 1;
+    static final int XOR = 2;
+    static final int AND_NOT = 3;
+
+    private Bitwise(){}
+
+    static BigInt combine(BigInt a, BigInt b, int operation){
+        // a & b, a | b, a ^ b or a & ~b
+        int[] x = a.arr;
+        int[] y = b.arr;
+        boolean xNegative = a.sign == BigInt.Sign.NEGATIVE && x.length > 0;
+        boolean yNegative = b.sign == BigInt.Sign.NEGATIVE && y.length > 0;
+        // One limb more than both, for the sign
+        int[] result = new int[Math.max(x.length, y.length) + 1];
+        Bitwise.complementInto(result, x, xNegative);
+        // A non-negative y is used as it is, with the zeros above its length left implicit
+        int[] other = y;
+        if(yNegative){
+            other = new int[result.length];
+            Bitwise.complementInto(other, y, true);
+        }
+        switch(operation){
+            case AND:
+                for(int i = 0; i < other.length; i++){
+                    result[i] &= other[i];
+                }
+                Arrays.fill(result, other.length, result.length, 0);
+                break;
+            case OR:
+                for(int i = 0; i < other.length; i++){
+                    result[i] |= other[i];
+                }
+                break;
+            case XOR:
+                for(int i = 0; i < other.length; i++){
+                    result[i] ^= other[i];
+                }
+                break;
+            default:
+                for(int i = 0; i < other.length; i++){
+                    result[i] &= ~other[i];
+                }
+        }
+        return Bitwise.fromComplement(result);
+    }
+
+    static boolean testBit(BigInt a, int n){
+        boolean negative = a.sign == BigInt.Sign.NEGATIVE && a.arr.length > 0;
+        int limb = Bitwise.limb(a.arr, negative, Bitwise.lowestNonZero(a.arr), n >>> 5);
+        return ((limb >>> (n & 31)) & 1) != 0;
+    }
+
+    static int lowestSetBit(int[] x){
+        // The same for m and -m, or -1 for 0
+        int first = Bitwise.lowestNonZero(x);
+        if(first == x.length){
+            return -1;
+        }
+        return 32 * first + Integer.numberOfTrailingZeros(x[first]);
+    }
+
+    static int bitCount(BigInt a){
+        // Bits that differ from the sign bit: the ones of m, or for -m the ones of m - 1, which is ~(-m)
+        int[] x = a.arr;
+        int count = 0;
+        if(a.sign == BigInt.Sign.NEGATIVE && x.length > 0){
+            // The borrow of m - 1 turns the zero limbs below the lowest non-zero one into all ones
+            int first = Bitwise.lowestNonZero(x);
+            count = 32 * first + Integer.bitCount(x[first] - 1);
+            for(int i = first + 1; i < x.length; i++){
+                count += Integer.bitCount(x[i]);
+            }
+            return count;
+        }
+        for(int limb: x){
+            count += Integer.bitCount(limb);
+        }
+        return count;
+    }
+
+    static BigInt shiftRight(BigInt a, int bits){
+        // floor(a / 2^bits), like >> on primitives, so -5 >> 1 == -3
+        int[] x = a.arr;
+        int[] result = BigInt.extractBits(x, bits, BigInt.bitLengthMagnitude(x) - bits);
+        if(a.sign == BigInt.Sign.NEGATIVE && x.length > 0){
+            // Truncation rounded towards zero, so one more if any set bit was shifted out
+            // The result is a fresh array, so the increment can run in place
+            if(Bitwise.lowestSetBit(x) < bits){
+                int i = 0;
+                while(i < result.length && ++result[i] == 0){
+                    i += 1;
+                }
+                if(i == result.length){
+                    // Carried out of every limb, or the result was 0
+                    result = Arrays.copyOf(result, result.length + 1);
+                    result[result.length-1] = 1;
+                }
+            }
+            return new BigInt(result, BigInt.Sign.NEGATIVE);
+        }
+        return new BigInt(result, BigInt.Sign.NON_NEGATIVE);
+    }
+
+    private static void complementInto(int[] dst, int[] x, boolean negative){
+        // The two's complement of x, or of -x if negative, over all of dst, which is longer than x and still all zeros
+        if(!negative){
+            System.arraycopy(x, 0, dst, 0, x.length);
+            return;
+        }
+        int first = Bitwise.lowestNonZero(x);
+        dst[first] = -x[first];
+        for(int i = first + 1; i < x.length; i++){
+            dst[i] = ~x[i];
+        }
+        Arrays.fill(dst, x.length, dst.length, -1);
+    }
+
+    private static int limb(int[] x, boolean negative, int first, int i){
+        // Limb i of the two's complement of x, or of -x if negative, see above
+        if(!negative){
+            return i < x.length? x[i]: 0;
+        }
+        if(i < first){
+            return 0;
+        }
+        if(i == first){
+            return -x[i];
+        }
+        return i < x.length? ~x[i]: -1;
+    }
+
+    private static int lowestNonZero(int[] x){
+        // x.length for 0
+        int i = 0;
+        while(i < x.length && x[i] == 0){
+            i += 1;
+        }
+        return i;
+    }
+
+    private static BigInt fromComplement(int[] result){
+        // A two's complement number whose top limb holds the sign, as a BigInt
+        if(result[result.length-1] >= 0){
+            return new BigInt(BigInt.normalize(result), BigInt.Sign.NON_NEGATIVE);
+        }
+        // Negative and so not 0, negate in place as above
+        int first = Bitwise.lowestNonZero(result);
+        result[first] = -result[first];
+        for(int i = first + 1; i < result.length; i++){
+            result[i] = ~result[i];
+        }
+        return new BigInt(BigInt.normalize(result), BigInt.Sign.NEGATIVE);
+    }
+}
@@ -0,0 +1,310 @@
+package DataStructures.Foundations.BigInt;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+
+import static DataStructures.Foundations.BigInt.BigInt.LONG_MASK;
+
+final class Conversion {
+    /**
+     * Limb-level radix conversion engine behind BigInt(String), BigInt.parse,
+     * BigInt.toString and BigInt.writeTo
+     * All methods work on normalized little-endian magnitudes (see BigInt.arr).
+     *
+     * Parsing: the text is first cut into chunks of CHUNK_DIGITS[radix] digits,
+     * the most digits whose value always fits into one unsigned limb (9 for base 10).
+     * The chunks are then combined into limbs:
+     * (1) up to PARSE_THRESHOLD chunks: one multiply-add per chunk on a single array, O(n^2)
+     * (2) otherwise: divide and conquer, value = high * radix^(digits of low) + low,
+     *     where the split leaves a power-of-two number of chunks in the low half,
+     *     so every power of the radix needed is one of log(n) repeated squares.
+     *     This runs at O(M(n) log n) with the fast multiplication tiers.
+     *     The squares are cached across calls, since the same ones are needed for every long text.
+     *
+     * Printing runs the same split backwards:
+     * (1) up to TO_STRING_THRESHOLD limbs: repeated division by the chunk base, O(n^2),
+     *     with the digits written straight into a char buffer from the right
+     * (2) otherwise: divide by the cached power of the radix closest to the square root,
+     *     then print the quotient, and the remainder padded with leading zeros.
+     *     With Burnikel-Ziegler division this runs at O(M(n) log n).
+     * The digits come out from the most significant end in buffer-sized pieces,
+     * so they can be streamed to a Writer or an OutputStream without building one huge String.
+     *
+     * The thresholds can be tuned with the system properties BigInt.parseThreshold and BigInt.toStringThreshold.
+     * The defaults were measured on a JDK 17 HotSpot x86_64 build on random decimal strings:
+     * the multiply-add loop is tight enough to win up to around 1024 chunks (~9000 digits),
+     * and splitting by division already pays off from around 16 limbs (~150 digits).
+     */
+    static final int PARSE_THRESHOLD = Integer.getInteger("BigInt.parseThreshold", 1024);
+    static final int TO_STRING_THRESHOLD = Integer.getInteger("BigInt.toStringThreshold", 16);
+
+    private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+    // Leading zeros of a padded remainder are copied from here
+    private static final char[] ZEROS = new char[64];
+    static{
+        Arrays.fill(ZEROS, '0');
+    }
+
+    // CHUNK_DIGITS[radix] digits of the radix fit into one limb, and CHUNK_BASE[radix] is radix^CHUNK_DIGITS[radix]
+    private static final int[] CHUNK_DIGITS = new int[Character.MAX_RADIX + 1];
+    private static final int[] CHUNK_BASE = new int[Character.MAX_RADIX + 1];
+    static{
+        for(int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++){
+            long base = radix;
+            int digits = 1;
+            while(base * radix <= LONG_MASK){
+                base *= radix;
+                digits += 1;
+            }
+            CHUNK_DIGITS[radix] = digits;
+            CHUNK_BASE[radix] = (int)base;
+        }
+    }
+
+    // powerCache[radix][i] is CHUNK_BASE[radix]^(2^i)
+    // It is only ever replaced by a longer copy, so readers never see a partly built row
+    private static volatile int[][][] powerCache = new int[Character.MAX_RADIX + 1][0][];
+
+    private Conversion(){}
+
+    static int[] parse(CharSequence s, int from, int to, int radix){
+        // The digits s[from, to) without any sign, the caller checks that there's at least one
+        int digits = CHUNK_DIGITS[radix];
+        int count = (to - from + digits - 1) / digits;
+        // The most significant chunk takes whatever is left over, so every other chunk is full
+        int[] chunks = new int[count];
+        int end = to - (count - 1) * digits;
+        for(int i = 0; i < count; i++){
+            chunks[i] = radix == 10? Conversion.decimalChunk(s, from, end): Conversion.chunk(s, from, end, radix);
+            from = end;
+            end += digits;
+        }
+        return BigInt.normalize(Conversion.combine(chunks, 0, count, radix));
+    }
+
+    private static int decimalChunk(CharSequence s, int from, int to){
+        // Base 10 fast path: 9 digits fit into an int, so plain character arithmetic can't overflow
+        int value = 0;
+        for(int i = from; i < to; i++){
+            int digit = s.charAt(i) - '0';
+            if(digit < 0 || digit > 9){
+                throw new NumberFormatException("Illegal digit " + s.charAt(i) + " at index " + i);
+            }
+            value = 10 * value + digit;
+        }
+        return value;
+    }
+
+    private static int chunk(CharSequence s, int from, int to, int radix){
+        long value = 0;
+        for(int i = from; i < to; i++){
+            int digit = Conversion.digit(s.charAt(i));
+            if(digit < 0 || digit >= radix){
+                throw new NumberFormatException("Illegal digit " + s.charAt(i) + " at index " + i);
+            }
+            value = radix * value + digit;
+        }
+        return (int)value;
+    }
+
+    private static int digit(char c){
+        // The value of an ASCII digit or letter, or -1
+        // Unlike Character.digit, non-ASCII digits such as fullwidth or Arabic-Indic ones are rejected,
+        // as they are by the base 10 path
+        if(c >= '0' && c <= '9'){
+            return c - '0';
+        }
+        if(c >= 'a' && c <= 'z'){
+            return c - 'a' + 10;
+        }
+        if(c >= 'A' && c <= 'Z'){
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static int[] combine(int[] chunks, int from, int to, int radix){
+        // chunks[from, to), most significant first, into a possibly unnormalized magnitude
+        int count = to - from;
+        if(count <= PARSE_THRESHOLD){
+            return Conversion.multiplyAdd(chunks, from, to, CHUNK_BASE[radix]);
+        }
+        int half = Integer.highestOneBit(count - 1);
+        int[] power = Conversion.power(radix, Integer.numberOfTrailingZeros(half));
+        int[] high = BigInt.normalize(Conversion.combine(chunks, from, to - half, radix));
+        int[] low = BigInt.normalize(Conversion.combine(chunks, to - half, to, radix));
+        return BigInt.addMagnitude(Multiplication.multiply(high, power), low);
+    }
+
+    static int[] power(int radix, int level){
+        // CHUNK_BASE[radix]^(2^level), each one the square of the previous
+        int[][][] cache = powerCache;
+        int[][] powers = cache[radix];
+        if(level < powers.length){
+            return powers[level];
+        }
+        // Two threads may both extend the same row, but they compute the same values
+        int oldLength = powers.length;
+        powers = Arrays.copyOf(powers, level + 1);
+        for(int i = oldLength; i <= level; i++){
+            powers[i] = i == 0? new int[]{CHUNK_BASE[radix]}: Multiplication.square(powers[i-1]);
+        }
+        int[][][] updated = cache.clone();
+        updated[radix] = powers;
+        powerCache = updated;
+        return powers[level];
+    }
+
+    private static int[] multiplyAdd(int[] chunks, int from, int to, int base){
+        // result = result * base + chunk for every chunk, in place on a single array
+        // Every chunk is less than base < 2^32, so the result never needs more limbs than chunks
+        int[] result = new int[to - from];
+        int length = 0;
+        long b = base & LONG_MASK;
+        for(int i = from; i < to; i++){
+            long carry = chunks[i] & LONG_MASK;
+            for(int j = 0; j < length; j++){
+                long product = b * (result[j] & LONG_MASK) + carry;
+                result[j] = (int)product;
+                carry = product >>> 32;
+            }
+            if(carry != 0){
+                result[length++] = (int)carry;
+            }
+        }
+        return result;
+    }
+
+    static String toString(int[] mag, boolean negative, int radix){
+        // One char array of the largest possible length, and a single copy into the String
+        char[] chars = new char[Conversion.maxDigits(mag, radix) + 1];
+        int[] position = {0};
+        if(negative){
+            chars[position[0]++] = '-';
+        }
+        try{
+            Conversion.write(mag, radix, (digits, from, to) -> {
+                System.arraycopy(digits, from, chars, position[0], to - from);
+                position[0] += to - from;
+            });
+        } catch(IOException e){
+            // Copying into an array can't fail
+            throw new AssertionError(e);
+        }
+        return new String(chars, 0, position[0]);
+    }
+
+    static void write(int[] mag, boolean negative, int radix, Appendable out) throws IOException{
+        if(negative){
+            out.append('-');
+        }
+        if(out instanceof Writer){
+            Writer writer = (Writer)out;
+            Conversion.write(mag, radix, (digits, from, to) -> writer.write(digits, from, to - from));
+            return;
+        }
+        Conversion.write(mag, radix, (digits, from, to) -> {
+            for(int i = from; i < to; i++){
+                out.append(digits[i]);
+            }
+        });
+    }
+
+    static void write(int[] mag, boolean negative, int radix, OutputStream out) throws IOException{
+        // Digits are ASCII, so every char becomes one byte, through a single reused byte buffer
+        if(negative){
+            out.write('-');
+        }
+        // A piece is either a base case or a run of zeros
+        byte[] bytes = new byte[Math.max(Conversion.bufferLength(radix), ZEROS.length)];
+        Conversion.write(mag, radix, (digits, from, to) -> {
+            for(int i = from; i < to; i++){
+                bytes[i - from] = (byte)digits[i];
+            }
+            out.write(bytes, 0, to - from);
+        });
+    }
+
+    private interface DigitSink{
+        // Receives the next digits[from, to), from the most significant end
+        void write(char[] digits, int from, int to) throws IOException;
+    }
+
+    private static void write(int[] mag, int radix, DigitSink out) throws IOException{
+        if(mag.length == 0){
+            out.write(DIGITS, 0, 1);
+            return;
+        }
+        // Every base case is at most TO_STRING_THRESHOLD limbs, and never longer than mag itself
+        int limbs = Math.min(mag.length, TO_STRING_THRESHOLD);
+        Conversion.write(mag, radix, 0, out, new char[Conversion.maxDigits(32 * limbs, radix)], new int[limbs]);
+    }
+
+    private static void write(int[] mag, int radix, int pad, DigitSink out, char[] buffer, int[] scratch) throws IOException{
+        // Writes mag, padded with leading zeros to at least pad digits
+        if(mag.length <= TO_STRING_THRESHOLD){
+            Conversion.writeBasecase(mag, radix, pad, out, buffer, scratch);
+            return;
+        }
+        /**
+         * Split at the power CHUNK_BASE^(2^level) with about half the bits of mag
+         * log2(CHUNK_BASE) is rounded down, so the power is always smaller than mag
+         * and the quotient is never 0
+         */
+        int bitsPerChunk = 31 - Integer.numberOfLeadingZeros(CHUNK_BASE[radix]);
+        int chunks = BigInt.bitLengthMagnitude(mag) / (2 * bitsPerChunk);
+        int level = 31 - Integer.numberOfLeadingZeros(chunks);
+        int[][] qr = Division.divideAndRemainder(mag, Conversion.power(radix, level));
+        int lowDigits = CHUNK_DIGITS[radix] << level;
+        Conversion.write(qr[0], radix, pad - lowDigits, out, buffer, scratch);
+        Conversion.write(qr[1], radix, lowDigits, out, buffer, scratch);
+    }
+
+    private static void writeBasecase(int[] mag, int radix, int pad, DigitSink out, char[] buffer, int[] scratch) throws IOException{
+        // Repeatedly divide a copy of mag by the chunk base, and fill in the digits of every chunk from the right
+        int digits = CHUNK_DIGITS[radix];
+        int base = CHUNK_BASE[radix];
+        System.arraycopy(mag, 0, scratch, 0, mag.length);
+        int length = mag.length;
+        int position = buffer.length;
+        while(length > 0){
+            long chunk = BigInt.divideByInt(scratch, length, base) & LONG_MASK;
+            while(length > 0 && scratch[length-1] == 0){
+                length -= 1;
+            }
+            int end = position - digits;
+            do{
+                buffer[--position] = DIGITS[(int)(chunk % radix)];
+                chunk /= radix;
+            } while(chunk != 0);
+            // Every chunk except the most significant one is padded to its full width
+            if(length > 0){
+                while(position > end){
+                    buffer[--position] = '0';
+                }
+            }
+        }
+        for(int zeros = pad - (buffer.length - position); zeros > 0; zeros -= ZEROS.length){
+            out.write(ZEROS, 0, Math.min(zeros, ZEROS.length));
+        }
+        if(position < buffer.length){
+            out.write(buffer, position, buffer.length);
+        }
+    }
+
+    private static int bufferLength(int radix){
+        // Enough digits for any magnitude of at most TO_STRING_THRESHOLD limbs
+        return Conversion.maxDigits(32 * TO_STRING_THRESHOLD, radix);
+    }
+
+    private static int maxDigits(int[] mag, int radix){
+        return Conversion.maxDigits(Math.max(BigInt.bitLengthMagnitude(mag), 1), radix);
+    }
+
+    private static int maxDigits(int bits, int radix){
+        // A number of b bits has at most ceil(b * log(2) / log(radix)) digits, plus one for rounding
+        return (int)Math.ceil(bits * Math.log(2) / Math.log(radix)) + 1;
+    }
+}
@@ -0,0 +1,347 @@
+package DataStructures.Foundations.BigInt;
+
+import java.util.Arrays;
+
+import static DataStructures.Foundations.BigInt.BigInt.LONG_MASK;
+
+final class Division {
+    /**
+     * Limb-level division engine behind BigInt.divide, BigInt.mod and BigInt.divideAndRemainder
+     * All methods work on normalized little-endian magnitudes (see BigInt.arr)
+     * and return {quotient, remainder} as normalized magnitudes.
+     *
+     * The algorithm is picked by the size of the divisor:
+     * (1) a single limb: one pass of 64-by-32-bit divisions, O(n)
+     * (2) shorter than BURNIKEL_ZIEGLER_THRESHOLD limbs, or a quotient shorter than
+     *     BURNIKEL_ZIEGLER_OFFSET limbs: Knuth's Algorithm D, O(n*m)
+     * (3) otherwise: Burnikel-Ziegler recursive division, which turns the division into
+     *     multiplications and so runs at O(M(n) log n) with the fast multiplication tiers
+     * (4) from NEWTON_THRESHOLD limbs, with a quotient at least as long as the divisor:
+     *     multiplication by a Newton reciprocal of the divisor, O(M(n)) per n limbs of quotient
+     *
+     * BURNIKEL_ZIEGLER_OFFSET is also where the recursion stops and hands over to Algorithm D.
+     * The thresholds can be tuned with the system properties
+     * BigInt.burnikelZieglerThreshold, BigInt.burnikelZieglerOffset and BigInt.newtonThreshold.
+     * The defaults were measured on a JDK 17 HotSpot x86_64 build on random operands
+     * with a quotient as long as the divisor: recursion runs best with a 400-limb base case,
+     * and beats Algorithm D from divisors of around 1500 limbs (~14k digits).
+     * The reciprocal costs several multiplications up front, and only wins from around 32000 limbs (~300k digits),
+     * where the NTT multiplication makes a few products cheaper than the log n levels of recursion.
+     */
+    static final int BURNIKEL_ZIEGLER_THRESHOLD = Integer.getInteger("BigInt.burnikelZieglerThreshold", 1500);
+    static final int BURNIKEL_ZIEGLER_OFFSET = Integer.getInteger("BigInt.burnikelZieglerOffset", 400);
+
+    static final int NEWTON_THRESHOLD = Integer.getInteger("BigInt.newtonThreshold", 32_000);
+    // Below this many limbs, reciprocal divides directly with Algorithm D
+    private static final int RECIPROCAL_BASECASE = 64;
+
+    private static final int[] ZERO = new int[0];
+
+    private Division(){}
+
+    static int[][] divideAndRemainder(int[] a, int[] b){
+        // The caller guarantees that b is not zero
+        if(b.length >= NEWTON_THRESHOLD && a.length - b.length >= b.length){
+            return Division.newton(a, b);
+        }
+        if(b.length >= BURNIKEL_ZIEGLER_THRESHOLD && a.length - b.length >= BURNIKEL_ZIEGLER_OFFSET){
+            return Division.burnikelZiegler(a, b);
+        }
+        return Division.basecase(a, b);
+    }
+
+    private static int[][] basecase(int[] a, int[] b){
+        if(BigInt.compareMagnitude(a, b) < 0){
+            return new int[][]{ZERO, a};
+        }
+        if(b.length == 1){
+            return Division.divideBySingleLimb(a, b[0]);
+        }
+        return Division.knuth(a, b);
+    }
+
+    private static int[][] divideBySingleLimb(int[] a, int divisor){
+        int[] quotient = a.clone();
+        int remainder = BigInt.divideByInt(quotient, quotient.length, divisor);
+        int[] remainderArr = remainder == 0? ZERO : new int[]{remainder};
+        return new int[][]{BigInt.normalize(quotient), remainderArr};
+    }
+
+    static int[][] knuth(int[] a, int[] b){
+        /**
+         * Knuth, The Art of Computer Programming Vol. 2, 4.3.1, Algorithm D
+         * (1) Normalize: shift both operands left until the top bit of the divisor is set,
+         *     so every estimated quotient limb is at most 2 too large
+         * (2) For every quotient limb from the top, estimate it from the top two limbs of the
+         *     running remainder and the top limb of the divisor, refine it with the second limb,
+         *     then multiply and subtract. In the rare case it's still 1 too large, add the divisor back
+         * (3) Unnormalize the remainder
+         */
+        int n = b.length;
+        int m = a.length - n;
+        int shift = Integer.numberOfLeadingZeros(b[n-1]);
+        int[] divisor = Division.shiftLeftFixed(b, shift, n);
+        int[] remainder = Division.shiftLeftFixed(a, shift, a.length + 1);
+        int[] quotient = new int[m + 1];
+
+        long top = divisor[n-1] & LONG_MASK;
+        long second = divisor[n-2] & LONG_MASK;
+        for(int j = m; j >= 0; j--){
+            long numerator = ((remainder[j+n] & LONG_MASK) << 32) | (remainder[j+n-1] & LONG_MASK);
+            long qhat = Long.divideUnsigned(numerator, top);
+            long rhat = Long.remainderUnsigned(numerator, top);
+            while(qhat > LONG_MASK || Long.compareUnsigned(qhat * second, (rhat << 32) | (remainder[j+n-2] & LONG_MASK)) > 0){
+                qhat -= 1;
+                rhat += top;
+                if(rhat > LONG_MASK){
+                    break;
+                }
+            }
+
+            // remainder[j .. j+n] -= qhat * divisor
+            long carry = 0;
+            long borrow = 0;
+            for(int i = 0; i < n; i++){
+                long product = qhat * (divisor[i] & LONG_MASK) + carry;
+                carry = product >>> 32;
+                long difference = (remainder[i+j] & LONG_MASK) - (product & LONG_MASK) - borrow;
+                remainder[i+j] = (int)difference;
+                borrow = difference < 0? 1: 0;
+            }
+            long difference = (remainder[j+n] & LONG_MASK) - carry - borrow;
+            remainder[j+n] = (int)difference;
+
+            if(difference < 0){
+                // qhat was one too large
+                qhat -= 1;
+                long sum = 0;
+                for(int i = 0; i < n; i++){
+                    sum = (remainder[i+j] & LONG_MASK) + (divisor[i] & LONG_MASK) + (sum >>> 32);
+                    remainder[i+j] = (int)sum;
+                }
+                remainder[j+n] += (int)(sum >>> 32);
+            }
+            quotient[j] = (int)qhat;
+        }
+
+        int[] unnormalized = BigInt.extractBits(remainder, shift, 32 * n);
+        return new int[][]{BigInt.normalize(quotient), unnormalized};
+    }
+
+    private static int[] shiftLeftFixed(int[] x, int shift, int length){
+        // x << shift in exactly length limbs, without normalizing
+        int[] result = new int[length];
+        for(int i = 0; i < x.length; i++){
+            result[i] |= x[i] << shift;
+            if(shift != 0 && i+1 < length){
+                result[i+1] = x[i] >>> (32 - shift);
+            }
+        }
+        return result;
+    }
+
+    static int[] reciprocal(int[] a){
+        /**
+         * Brent, Zimmermann, Modern Computer Arithmetic, 3.4.1, Algorithm 3.5 ApproximateReciprocal
+         * For a with n limbs and the top bit of its top limb set,
+         * returns x with a * x < 2^(64n) <= a * (x + 2), so x is floor(2^(64n) / a) or 1 below it.
+         *
+         * It's a Newton iteration x + x (1 - a x) that doubles the precision at each step:
+         * The reciprocal of the top half of a, computed recursively, is correct to about n/2 limbs,
+         * and one step with the full a brings it to n limbs.
+         * Each step multiplies n by n/2 and n/2 by n/2 limbs, so all the steps together
+         * cost about as much as two full n by n multiplications.
+         */
+        int n = a.length;
+        if(n <= RECIPROCAL_BASECASE){
+            // floor((2^(64n) - 1) / a)
+            int[] numerator = new int[2 * n];
+            Arrays.fill(numerator, -1);
+            return Division.basecase(numerator, a)[0];
+        }
+        int low = (n - 1) / 2;
+        int high = n - low;
+        BigInt xh = Division.positive(Division.reciprocal(Arrays.copyOfRange(a, low, n)));
+        BigInt divisor = Division.positive(a);
+        BigInt t = divisor.multiply(xh);
+        BigInt limit = Division.power(n + high);
+        while(t.compareTo(limit) >= 0){
+            xh = xh.minus(1);
+            t = t.minus(divisor);
+        }
+        // The error of xh, scaled: 2^(32(n + high)) - a * xh
+        t = limit.minus(t);
+        BigInt u = Division.positive(Division.shiftRightLimbs(t.arr, low)).multiply(xh);
+        return BigInt.addMagnitude(Division.shiftLeftLimbs(xh.arr, low), Division.shiftRightLimbs(u.arr, 2 * high - low));
+    }
+
+    private static int[][] newton(int[] a, int[] b){
+        /**
+         * Division by multiplication with the reciprocal of the divisor, see reciprocal
+         * (1) Normalize as in Algorithm D, so the divisor d has n limbs with the top bit set,
+         *     and compute x = reciprocal(d) once
+         * (2) Divide the dividend from the top in blocks of n limbs, like a long division in base 2^(32n):
+         *     Each step divides c = remainder * 2^(32n) + block < d * 2^(32n) by d.
+         *     The quotient limb is estimated as (c >> 32(n-1)) * x >> 32(n+1), which is never too large
+         *     and at most a few below the true one, then corrected from the remainder c - q d.
+         * So every block costs two n by n multiplications, after the reciprocal.
+         */
+        int shift = Integer.numberOfLeadingZeros(b[b.length-1]);
+        int[] d = BigInt.shiftLeftMagnitude(b, shift);
+        int[] dividend = BigInt.shiftLeftMagnitude(a, shift);
+        int n = d.length;
+        BigInt divisor = Division.positive(d);
+        BigInt x = Division.positive(Division.reciprocal(d));
+        int blocks = (dividend.length + n - 1) / n;
+        int[] quotient = new int[blocks * n];
+        BigInt remainder = BigInt.ZERO;
+        for(int i = blocks - 1; i >= 0; i--){
+            int[] block = Multiplication.slice(dividend, i * n, Math.min((i + 1) * n, dividend.length));
+            BigInt c = Division.positive(BigInt.addMagnitude(Division.shiftLeftLimbs(remainder.arr, n), block));
+            BigInt q;
+            if(c.arr.length <= n){
+                // Only the top block, with no remainder yet, can be this short, and its quotient is 0 or 1
+                q = c.compareTo(divisor) >= 0? BigInt.ONE: BigInt.ZERO;
+            } else {
+                BigInt top = Division.positive(Division.shiftRightLimbs(c.arr, n - 1));
+                q = Division.positive(Division.shiftRightLimbs(top.multiply(x).arr, n + 1));
+            }
+            BigInt r = c.minus(q.multiply(divisor));
+            while(r.compareTo(divisor) >= 0){
+                q = q.add(1);
+                r = r.minus(divisor);
+            }
+            System.arraycopy(q.arr, 0, quotient, i * n, q.arr.length);
+            remainder = r;
+        }
+        int[] unnormalized = BigInt.extractBits(remainder.arr, shift, BigInt.bitLengthMagnitude(remainder.arr) - shift);
+        return new int[][]{BigInt.normalize(quotient), unnormalized};
+    }
+
+    private static BigInt power(int limbs){
+        // 2^(32 limbs)
+        int[] mag = new int[limbs + 1];
+        mag[limbs] = 1;
+        return Division.positive(mag);
+    }
+
+    private static int[] shiftLeftLimbs(int[] x, int limbs){
+        if(x.length == 0){
+            return x;
+        }
+        int[] result = new int[x.length + limbs];
+        System.arraycopy(x, 0, result, limbs, x.length);
+        return result;
+    }
+
+    private static int[] shiftRightLimbs(int[] x, int limbs){
+        if(x.length <= limbs){
+            return ZERO;
+        }
+        return Arrays.copyOfRange(x, limbs, x.length);
+    }
+
+    private static int[][] burnikelZiegler(int[] a, int[] b){
+        /**
+         * Burnikel, Ziegler, "Fast Recursive Division", MPI-I-98-1-022
+         * This is the bit-oriented formulation: with n = bitLength(b),
+         * a is cut into n-bit digits, and every digit is divided by b from the top
+         * with divide2n1n, each step carrying the remainder into the next one.
+         */
+        int n = BigInt.bitLengthMagnitude(b);
+        int digits = (BigInt.bitLengthMagnitude(a) + n - 1) / n;
+        int[] quotient = new int[a.length - b.length + 2];
+        BigInt divisor = Division.positive(b);
+        BigInt remainder = BigInt.ZERO;
+        for(int i = digits - 1; i >= 0; i--){
+            BigInt digit = Division.positive(BigInt.extractBits(a, i * n, n));
+            BigInt[] qr = Division.divide2n1n(Division.shiftLeft(remainder, n).add(digit), divisor, n);
+            Division.insertBits(quotient, qr[0].arr, i * n);
+            remainder = qr[1];
+        }
+        return new int[][]{BigInt.normalize(quotient), remainder.arr};
+    }
+
+    private static BigInt[] divide2n1n(BigInt a, BigInt b, int n){
+        /**
+         * Divides a < 2^n * b by b, where b has exactly n bits
+         * Splits into two 3-halves by 2-halves divisions of half the size
+         */
+        if(BigInt.bitLengthMagnitude(a.arr) - n <= 32 * BURNIKEL_ZIEGLER_OFFSET){
+            int[][] qr = Division.basecase(a.arr, b.arr);
+            return new BigInt[]{Division.positive(qr[0]), Division.positive(qr[1])};
+        }
+        // An odd n can't be halved, so both operands get one extra bit
+        boolean pad = (n & 1) == 1;
+        if(pad){
+            a = Division.shiftLeft(a, 1);
+            b = Division.shiftLeft(b, 1);
+            n += 1;
+        }
+        int half = n >> 1;
+        BigInt b1 = Division.positive(BigInt.extractBits(b.arr, half, n - half));
+        BigInt b2 = Division.positive(BigInt.extractBits(b.arr, 0, half));
+        BigInt a12 = Division.positive(BigInt.extractBits(a.arr, n, BigInt.bitLengthMagnitude(a.arr) - n));
+        BigInt a3 = Division.positive(BigInt.extractBits(a.arr, half, half));
+        BigInt a4 = Division.positive(BigInt.extractBits(a.arr, 0, half));
+
+        BigInt[] qr1 = Division.divide3n2n(a12, a3, b, b1, b2, half);
+        BigInt[] qr2 = Division.divide3n2n(qr1[1], a4, b, b1, b2, half);
+
+        int[] quotient = new int[(n >>> 5) + 2];
+        Division.insertBits(quotient, qr2[0].arr, 0);
+        Division.insertBits(quotient, qr1[0].arr, half);
+        BigInt remainder = qr2[1];
+        if(pad){
+            remainder = Division.positive(BigInt.extractBits(remainder.arr, 1, BigInt.bitLengthMagnitude(remainder.arr)));
+        }
+        return new BigInt[]{Division.positive(BigInt.normalize(quotient)), remainder};
+    }
+
+    private static BigInt[] divide3n2n(BigInt a12, BigInt a3, BigInt b, BigInt b1, BigInt b2, int n){
+        // Divides a12 * 2^n + a3 by b = b1 * 2^n + b2, where a12 < 2^n * b
+        // The quotient estimated from a12 / b1 is at most 2 too large
+        BigInt q;
+        BigInt r;
+        if(BigInt.compareMagnitude(Division.shiftRight(a12, n).arr, b1.arr) == 0){
+            // a12 / b1 would be 2^n, which doesn't fit: use 2^n - 1 instead
+            q = Division.shiftLeft(BigInt.ONE, n).minus(1);
+            r = a12.minus(Division.shiftLeft(b1, n)).add(b1);
+        } else {
+            BigInt[] qr = Division.divide2n1n(a12, b1, n);
+            q = qr[0];
+            r = qr[1];
+        }
+        r = Division.shiftLeft(r, n).add(a3).minus(q.multiply(b2));
+        while(r.sign == BigInt.Sign.NEGATIVE){
+            q = q.minus(1);
+            r = r.add(b);
+        }
+        return new BigInt[]{q, r};
+    }
+
+    private static BigInt positive(int[] mag){
+        return new BigInt(mag, BigInt.Sign.NON_NEGATIVE);
+    }
+
+    private static BigInt shiftLeft(BigInt x, int bits){
+        return new BigInt(BigInt.shiftLeftMagnitude(x.arr, bits), x.sign);
+    }
+
+    private static BigInt shiftRight(BigInt x, int bits){
+        // Only used on non-negative values
+        return Division.positive(BigInt.extractBits(x.arr, bits, BigInt.bitLengthMagnitude(x.arr) - bits));
+    }
+
+    private static void insertBits(int[] dst, int[] src, int offset){
+        // dst |= src << offset, the caller guarantees that the bits don't overlap
+        int limbs = offset >>> 5;
+        int shift = offset & 31;
+        for(int i = 0; i < src.length; i++){
+            dst[i+limbs] |= src[i] << shift;
+            if(shift != 0 && i+limbs+1 < dst.length){
+                dst[i+limbs+1] |= src[i] >>> (32 - shift);
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package DataStructures.Foundations.BigInt;
+
+import java.util.Arrays;
+
+import static DataStructures.Foundations.BigInt.BigInt.LONG_MASK;
+
+public final class ModContext {
+    /**
+     * Arithmetic modulo a fixed positive modulus, with the per-modulus precomputation done once
+     * Create one ModContext per modulus and reuse it, e.g. for many exponentiations with the same RSA key.
+     * ModContext is immutable, so it can be shared between threads.
+     *
+     * Every product is computed by the limb-level multiplication engine behind BigInt.multiply,
+     * then reduced by one of two strategies:
+     * (1) odd moduli: Montgomery reduction, where values are kept as x * R mod m for R = 2^(32n),
+     *     and the reduction replaces the division by m with n single-limb multiply-adds
+     * (2) even moduli: Barrett reduction, which replaces the division by m
+     *     with two multiplications by the precomputed mu = floor(2^(64n) / m)
+     * Here n is the number of limbs of m.
+     */
+    private final BigInt modulus;
+    private final Reduction reduction;
+
+    // Sliding windows of k bits pay off for exponents with more than WINDOW_THRESHOLDS[k-1] bits
+    // The same table as java.math.BigInteger
+    private static final int[] WINDOW_THRESHOLDS = {7, 25, 81, 241, 673, 1793, Integer.MAX_VALUE};
+
+    public ModContext(BigInt modulus){
+        if(modulus.sign == BigInt.Sign.NEGATIVE || modulus.arr.length == 0){
+            throw new ArithmeticException("Modulus not positive");
+        }
+        this.modulus = modulus;
+        if((modulus.arr[0] & 1) == 1){
+            this.reduction = new MontgomeryReduction(modulus.arr);
+        } else {
+            this.reduction = new BarrettReduction(modulus.arr);
+        }
+    }
+
+    public BigInt modulus(){
+        return this.modulus;
+    }
+
+    public BigInt multiply(BigInt a, BigInt b){
+        // a * b mod m, in [0, m)
+        int[] x = this.reduction.toDomain(this.reduce(a));
+        int[] y = this.reduction.toDomain(this.reduce(b));
+        return this.toBigInt(this.reduction.fromDomain(this.reduction.multiply(x, y)));
+    }
+
+    public BigInt modPow(BigInt base, BigInt exponent){
+        /**
+         * base^exponent mod m, in [0, m)
+         * A negative exponent raises the modular inverse of base instead,
+         * so it throws an ArithmeticException if base and m are not coprime.
+         */
+        if(this.isOne()){
+            return BigInt.ZERO;
+        }
+        if(exponent.sign == BigInt.Sign.NEGATIVE){
+            base = base.modInverse(this.modulus);
+            exponent = exponent.abs();
+        }
+        int[] e = exponent.arr;
+        int bits = BigInt.bitLengthMagnitude(e);
+        if(bits == 0){
+            return BigInt.ONE;
+        }
+        int window = 1;
+        while(bits > WINDOW_THRESHOLDS[window-1]){
+            window += 1;
+        }
+
+        // table[i] = base^(2i+1), the odd powers a window can end on
+        Reduction r = this.reduction;
+        int[][] table = new int[1 << (window-1)][];
+        table[0] = r.toDomain(this.reduce(base));
+        if(table.length > 1){
+            int[] baseSquared = r.square(table[0]);
+            for(int i = 1; i < table.length; i++){
+                table[i] = r.multiply(table[i-1], baseSquared);
+            }
+        }
+
+        /**
+         * Left-to-right sliding window:
+         * Zero bits only square the result. At a one bit, take the longest window of at most
+         * window bits that also ends on a one bit, square once per bit of it,
+         * and multiply by the odd power it stands for.
+         */
+        int[] result = null;
+        int i = bits - 1;
+        while(i >= 0){
+            if(!ModContext.testBit(e, i)){
+                result = r.square(result);
+                i -= 1;
+                continue;
+            }
+            int j = Math.max(i - window + 1, 0);
+            while(!ModContext.testBit(e, j)){
+                j += 1;
+            }
+            int value = 0;
+            for(int k = i; k >= j; k--){
+                value = (value << 1) | (ModContext.testBit(e, k)? 1: 0);
+                if(result != null){
+                    result = r.square(result);
+                }
+            }
+            // The first window starts from the power itself instead of squaring 1
+            result = result == null? table[value >>> 1]: r.multiply(result, table[value >>> 1]);
+            i = j - 1;
+        }
+        return this.toBigInt(r.fromDomain(result));
+    }
+
+    private int[] reduce(BigInt x){
+        // x mod m as a magnitude in [0, m)
+        if(x.sign == BigInt.Sign.NON_NEGATIVE && BigInt.compareMagnitude(x.arr, this.modulus.arr) < 0){
+            return x.arr;
+        }
+        return x.mod(this.modulus).arr;
+    }
+
+    private boolean isOne(){
+        return this.modulus.arr.length == 1 && this.modulus.arr[0] == 1;
+    }
+
+    private BigInt toBigInt(int[] x){
+        return new BigInt(x, BigInt.Sign.NON_NEGATIVE);
+    }
+
+    private static boolean testBit(int[] x, int bit){
+        return ((x[bit >>> 5] >>> (bit & 31)) & 1) == 1;
+    }
+
+    private abstract static class Reduction{
+        // Modular multiplication on normalized magnitudes in some internal representation
+        abstract int[] toDomain(int[] x);
+        abstract int[] fromDomain(int[] x);
+        abstract int[] multiply(int[] a, int[] b);
+        abstract int[] square(int[] a);
+    }
+
+    private static final class MontgomeryReduction extends Reduction{
+        private final int[] m;
+        private final int n;
+        // -m^-1 mod 2^32
+        private final int negativeInverse;
+        // R^2 mod m, for converting into Montgomery form
+        private final int[] rSquared;
+
+        MontgomeryReduction(int[] m){
+            this.m = m;
+            this.n = m.length;
+            // Newton iteration for m^-1 mod 2^32, every step doubles the correct bits
+            int inverse = m[0];
+            for(int i = 0; i < 5; i++){
+                inverse *= 2 - m[0] * inverse;
+            }
+            this.negativeInverse = -inverse;
+            int[] r2 = BigInt.shiftLeftMagnitude(new int[]{1}, 64 * this.n);
+            this.rSquared = Division.divideAndRemainder(r2, m)[1];
+        }
+
+        @Override
+        int[] toDomain(int[] x){
+            return this.redc(Multiplication.multiply(x, this.rSquared));
+        }
+
+        @Override
+        int[] fromDomain(int[] x){
+            return this.redc(x);
+        }
+
+        @Override
+        int[] multiply(int[] a, int[] b){
+            return this.redc(Multiplication.multiply(a, b));
+        }
+
+        @Override
+        int[] square(int[] a){
+            return this.redc(Multiplication.square(a));
+        }
+
+        private int[] redc(int[] t){
+            /**
+             * Montgomery reduction: t * R^-1 mod m, for t < m * R
+             * For every limb from the bottom, add the multiple of m that clears it,
+             * then the lowest n limbs are all 0 and dropping them divides by R exactly.
+             * The result is below 2m, so one conditional subtraction is enough.
+             */
+            int n = this.n;
+            int[] m = this.m;
+            int negativeInverse = this.negativeInverse;
+            int[] x = Arrays.copyOf(t, 2 * n + 1);
+            for(int i = 0; i < n; i++){
+                long u = (x[i] * negativeInverse) & LONG_MASK;
+                long carry = 0;
+                for(int j = 0; j < n; j++){
+                    long sum = u * (m[j] & LONG_MASK) + (x[i+j] & LONG_MASK) + carry;
+                    x[i+j] = (int)sum;
+                    carry = sum >>> 32;
+                }
+                for(int k = i + n; carry != 0; k++){
+                    long sum = (x[k] & LONG_MASK) + carry;
+                    x[k] = (int)sum;
+                    carry = sum >>> 32;
+                }
+            }
+            int[] result = BigInt.normalize(Arrays.copyOfRange(x, n, 2 * n + 1));
+            if(BigInt.compareMagnitude(result, this.m) >= 0){
+                result = BigInt.subtractMagnitude(result, this.m);
+            }
+            return result;
+        }
+    }
+
+    private static final class BarrettReduction extends Reduction{
+        private final int[] m;
+        private final int n;
+        // floor(2^(64n) / m)
+        private final int[] mu;
+
+        BarrettReduction(int[] m){
+            this.m = m;
+            this.n = m.length;
+            int[] b2n = BigInt.shiftLeftMagnitude(new int[]{1}, 64 * this.n);
+            this.mu = Division.divideAndRemainder(b2n, m)[0];
+        }
+
+        @Override
+        int[] toDomain(int[] x){
+            // Barrett works on plain residues
+            return x;
+        }
+
+        @Override
+        int[] fromDomain(int[] x){
+            return x;
+        }
+
+        @Override
+        int[] multiply(int[] a, int[] b){
+            return this.reduce(Multiplication.multiply(a, b));
+        }
+
+        @Override
+        int[] square(int[] a){
+            return this.reduce(Multiplication.square(a));
+        }
+
+        private int[] reduce(int[] x){
+            /**
+             * x mod m for x < 2^(64n)
+             * q = floor(floor(x / 2^(32(n-1))) * mu / 2^(32(n+1))) underestimates x / m by at most 2,
+             * so x - q * m needs at most two more subtractions of m.
+             */
+            if(BigInt.compareMagnitude(x, this.m) < 0){
+                return x;
+            }
+            int low = 32 * (this.n - 1);
+            int[] q1 = BigInt.extractBits(x, low, BigInt.bitLengthMagnitude(x) - low);
+            int[] q2 = Multiplication.multiply(q1, this.mu);
+            int high = 32 * (this.n + 1);
+            int[] q3 = BigInt.extractBits(q2, high, BigInt.bitLengthMagnitude(q2) - high);
+            int[] r = BigInt.subtractMagnitude(x, Multiplication.multiply(q3, this.m));
+            while(BigInt.compareMagnitude(r, this.m) >= 0){
+                r = BigInt.subtractMagnitude(r, this.m);
+            }
+            return r;
+        }
+    }
+}
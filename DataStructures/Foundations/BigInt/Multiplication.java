@@ -0,0 +1,432 @@
+package DataStructures.Foundations.BigInt;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import static DataStructures.Foundations.BigInt.BigInt.LONG_MASK;
+
+final class Multiplication {
+    /**
+     * Limb-level multiplication engine behind BigInt.multiply
+     * All methods work on normalized little-endian magnitudes (see BigInt.arr)
+     * and return a normalized magnitude.
+     *
+     * The algorithm is picked by the size of the shorter operand:
+     * (1) shorter than KARATSUBA_THRESHOLD limbs: schoolbook, O(n*m)
+     * (2) shorter than TOOM_COOK_THRESHOLD limbs: Karatsuba, O(n^1.585)
+     * (3) shorter than NTT_THRESHOLD limbs: Toom-Cook 3, O(n^1.465)
+     * (4) otherwise: number-theoretic transform, O(n log n), see NumberTheoreticTransform
+     *
+     * The thresholds can be tuned with the system properties
+     * BigInt.karatsubaThreshold, BigInt.toomCookThreshold and BigInt.nttThreshold.
+     * The defaults were measured on a JDK 17 HotSpot x86_64 build by timing
+     * each pair of neighbouring algorithms on random balanced operands:
+     * Karatsuba starts winning at around 80 limbs (~770 digits),
+     * Toom-Cook 3 breaks even with Karatsuba from around 240 limbs (~2300 digits),
+     * the NTT overtakes Toom-Cook 3 between 8k and 12k limbs (~77k-115k digits).
+     *
+     * parallelMultiply and parallelSquare run the same algorithms inside a ForkJoinPool:
+     * the independent sub-products of unbalanced, Karatsuba and Toom-Cook 3 are forked as separate tasks
+     * as long as the shorter operand has at least PARALLEL_THRESHOLD limbs (BigInt.parallelThreshold),
+     * and the NTT runs both residue convolutions and the blocks of every transform in parallel.
+     * Every path computes the exact product, so the result is the same as the sequential one.
+     */
+    static final int KARATSUBA_THRESHOLD = Integer.getInteger("BigInt.karatsubaThreshold", 80);
+    static final int TOOM_COOK_THRESHOLD = Integer.getInteger("BigInt.toomCookThreshold", 240);
+    static final int NTT_THRESHOLD = Integer.getInteger("BigInt.nttThreshold", 10_000);
+    static final int PARALLEL_THRESHOLD = Integer.getInteger("BigInt.parallelThreshold", 2_000);
+
+    private static final int[] ZERO = new int[0];
+
+    private Multiplication(){}
+
+    static int[] multiply(int[] a, int[] b){
+        return Multiplication.multiply(a, b, false);
+    }
+
+    static int[] square(int[] a){
+        return Multiplication.square(a, false);
+    }
+
+    static int[] parallelMultiply(int[] a, int[] b, ForkJoinPool pool){
+        // Runs the whole product as a task of pool, so every sub-product is forked into the same pool
+        return pool.invoke(new Product(a, b));
+    }
+
+    static int[] parallelSquare(int[] a, ForkJoinPool pool){
+        return pool.invoke(new Product(a, a));
+    }
+
+    private static int[] multiply(int[] a, int[] b, boolean parallel){
+        // x * x only needs half of the cross products
+        if(a == b){
+            return Multiplication.square(a, parallel);
+        }
+        // Make sure a is the longer one
+        if(a.length < b.length){
+            int[] swap = a;
+            a = b;
+            b = swap;
+        }
+        if(b.length == 0){
+            return ZERO;
+        }
+        // Below the threshold, forking costs more than it saves
+        parallel = parallel && b.length >= PARALLEL_THRESHOLD;
+        if(b.length < KARATSUBA_THRESHOLD){
+            // Schoolbook is already O(n*m), no matter how unbalanced
+            return Multiplication.schoolbook(a, b);
+        }
+        // The NTT does not care about balance, only about the total size
+        if(b.length >= NTT_THRESHOLD && a.length + b.length <= NumberTheoreticTransform.MAX_LIMBS){
+            return NumberTheoreticTransform.multiply(a, b, parallel);
+        }
+        // Karatsuba and Toom-Cook split both operands at the same point,
+        // so a much longer operand is cut into chunks as long as the shorter one
+        if(a.length >= 2 * b.length){
+            return Multiplication.unbalanced(a, b, parallel);
+        }
+        if(b.length < TOOM_COOK_THRESHOLD){
+            return Multiplication.karatsuba(a, b, parallel);
+        }
+        return Multiplication.toomCook3(a, b, parallel);
+    }
+
+    private static int[] square(int[] a, boolean parallel){
+        // Same tiers and thresholds as multiply, each with its own squaring variant
+        if(a.length == 0){
+            return ZERO;
+        }
+        parallel = parallel && a.length >= PARALLEL_THRESHOLD;
+        if(a.length < KARATSUBA_THRESHOLD){
+            return Multiplication.schoolbookSquare(a);
+        }
+        if(a.length >= NTT_THRESHOLD && 2 * a.length <= NumberTheoreticTransform.MAX_LIMBS){
+            return NumberTheoreticTransform.square(a, parallel);
+        }
+        if(a.length < TOOM_COOK_THRESHOLD){
+            return Multiplication.karatsubaSquare(a, parallel);
+        }
+        return Multiplication.toomCook3Square(a, parallel);
+    }
+
+    private static int[][] products(boolean parallel, int[]... operands){
+        /**
+         * The products operands[0] * operands[1], operands[2] * operands[3], ...
+         * In parallel mode every product is a task of its own,
+         * and the current thread computes the first one while the others are stolen.
+         * Passing the same array twice squares it.
+         */
+        int count = operands.length / 2;
+        int[][] results = new int[count][];
+        if(!parallel){
+            for(int i = 0; i < count; i++){
+                results[i] = Multiplication.multiply(operands[2*i], operands[2*i+1], false);
+            }
+            return results;
+        }
+        Product[] tasks = new Product[count];
+        for(int i = 0; i < count; i++){
+            tasks[i] = new Product(operands[2*i], operands[2*i+1]);
+        }
+        ForkJoinTask.invokeAll(tasks);
+        for(int i = 0; i < count; i++){
+            results[i] = tasks[i].join();
+        }
+        return results;
+    }
+
+    private static BigInt[] products(boolean parallel, BigInt... operands){
+        // Same as above on signed values, the same BigInt twice squares it
+        int[][] magnitudes = new int[operands.length][];
+        for(int i = 0; i < operands.length; i++){
+            magnitudes[i] = operands[i].arr;
+        }
+        int[][] results = Multiplication.products(parallel, magnitudes);
+        BigInt[] products = new BigInt[results.length];
+        for(int i = 0; i < results.length; i++){
+            boolean sameSign = operands[2*i].sign == operands[2*i+1].sign;
+            products[i] = new BigInt(results[i], sameSign? BigInt.Sign.NON_NEGATIVE : BigInt.Sign.NEGATIVE);
+        }
+        return products;
+    }
+
+    private static final class Product extends RecursiveTask<int[]>{
+        // One sub-product of a parallel multiplication, which may fork further
+        private static final long serialVersionUID = 1L;
+        private final int[] a;
+        private final int[] b;
+
+        Product(int[] a, int[] b){
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        protected int[] compute(){
+            return Multiplication.multiply(this.a, this.b, true);
+        }
+    }
+
+    static int[] schoolbook(int[] a, int[] b){
+        /**
+         * Limb a[i] * b[j] lands at limb position (i+j) of the result,
+         * the upper 32 bits are carried into position (i+j+1).
+         *
+         * Because every limb is < 2^32,
+         * a[i] * b[j] + result[i+j] + carry <= (2^32-1)^2 + 2(2^32-1) == 2^64-1
+         * Thus, every step fits in a long read as unsigned.
+         */
+        int[] result = new int[a.length + b.length];
+        for(int i = 0; i < a.length; i++){
+            long m = a[i] & LONG_MASK;
+            long carry = 0;
+            for(int j = 0; j < b.length; j++){
+                long product = m * (b[j] & LONG_MASK) + (result[i+j] & LONG_MASK) + carry;
+                result[i+j] = (int)product;
+                carry = product >>> 32;
+            }
+            result[i+b.length] = (int)carry;
+        }
+        return BigInt.normalize(result);
+    }
+
+    private static int[] schoolbookSquare(int[] a){
+        /**
+         * a * a == sum of a[i]^2 at position 2i + 2 * (sum of a[i] * a[j] at position i+j, for i < j)
+         * So every cross product is computed once, the whole sum is doubled with a one-bit shift,
+         * and the diagonal squares are added last.
+         */
+        int n = a.length;
+        int[] result = new int[2 * n];
+        for(int i = 0; i < n; i++){
+            long m = a[i] & LONG_MASK;
+            long carry = 0;
+            for(int j = i+1; j < n; j++){
+                long product = m * (a[j] & LONG_MASK) + (result[i+j] & LONG_MASK) + carry;
+                result[i+j] = (int)product;
+                carry = product >>> 32;
+            }
+            result[i+n] = (int)carry;
+        }
+        // Double the cross products, the top bit can't be set since the sum is < a^2 / 2
+        for(int i = 2*n - 1; i > 0; i--){
+            result[i] = (result[i] << 1) | (result[i-1] >>> 31);
+        }
+        result[0] <<= 1;
+        // Add the diagonal a[i]^2, which covers positions 2i and 2i+1
+        long carry = 0;
+        for(int i = 0; i < n; i++){
+            long m = a[i] & LONG_MASK;
+            long square = m * m;
+            long low = (result[2*i] & LONG_MASK) + (square & LONG_MASK) + carry;
+            result[2*i] = (int)low;
+            long high = (result[2*i+1] & LONG_MASK) + (square >>> 32) + (low >>> 32);
+            result[2*i+1] = (int)high;
+            carry = high >>> 32;
+        }
+        return BigInt.normalize(result);
+    }
+
+    private static int[] unbalanced(int[] a, int[] b, boolean parallel){
+        // a is at least twice as long as b
+        // Multiply b by every b.length-sized chunk of a, and add each product at the chunk offset
+        int[] result = new int[a.length + b.length];
+        if(!parallel){
+            // One chunk at a time, so only one chunk product is alive
+            for(int offset = 0; offset < a.length; offset += b.length){
+                int[] chunk = Multiplication.slice(a, offset, Math.min(offset + b.length, a.length));
+                Multiplication.addInto(result, Multiplication.multiply(chunk, b, false), offset);
+            }
+            return BigInt.normalize(result);
+        }
+        int chunks = (a.length + b.length - 1) / b.length;
+        int[][] operands = new int[2 * chunks][];
+        for(int i = 0; i < chunks; i++){
+            operands[2*i] = Multiplication.slice(a, i * b.length, (i + 1) * b.length);
+            operands[2*i+1] = b;
+        }
+        int[][] products = Multiplication.products(true, operands);
+        for(int i = 0; i < chunks; i++){
+            Multiplication.addInto(result, products[i], i * b.length);
+        }
+        return BigInt.normalize(result);
+    }
+
+    private static int[] karatsuba(int[] a, int[] b, boolean parallel){
+        /**
+         * Split both operands at half limbs:
+         * a = a1 * B + a0, b = b1 * B + b0, where B = 2^(32*half)
+         * a * b = z2 * B^2 + z1 * B + z0, where
+         * z2 = a1 * b1
+         * z0 = a0 * b0
+         * z1 = (a0 + a1)(b0 + b1) - z2 - z0
+         * So only three half-sized products are needed instead of four.
+         */
+        int half = (a.length + 1) / 2;
+        int[] a0 = Multiplication.slice(a, 0, half);
+        int[] a1 = Multiplication.slice(a, half, a.length);
+        int[] b0 = Multiplication.slice(b, 0, half);
+        int[] b1 = Multiplication.slice(b, half, b.length);
+
+        int[][] z = Multiplication.products(parallel, a0, b0, a1, b1,
+                BigInt.addMagnitude(a0, a1), BigInt.addMagnitude(b0, b1));
+        int[] z0 = z[0];
+        int[] z2 = z[1];
+        int[] z1 = z[2];
+        // (a0 + a1)(b0 + b1) >= z0 + z2, so both subtractions stay non-negative
+        z1 = Multiplication.subtract(Multiplication.subtract(z1, z0), z2);
+
+        // z0 has at most 2*half limbs, so z0 and z2 never overlap
+        int[] result = new int[a.length + b.length];
+        System.arraycopy(z0, 0, result, 0, z0.length);
+        System.arraycopy(z2, 0, result, 2 * half, z2.length);
+        Multiplication.addInto(result, z1, half);
+        return BigInt.normalize(result);
+    }
+
+    private static int[] karatsubaSquare(int[] a, boolean parallel){
+        // Same split as karatsuba, where z1 = (a0 + a1)^2 - z2 - z0
+        int half = (a.length + 1) / 2;
+        int[] a0 = Multiplication.slice(a, 0, half);
+        int[] a1 = Multiplication.slice(a, half, a.length);
+
+        int[] sum = BigInt.addMagnitude(a0, a1);
+        int[][] z = Multiplication.products(parallel, a0, a0, a1, a1, sum, sum);
+        int[] z0 = z[0];
+        int[] z2 = z[1];
+        int[] z1 = z[2];
+        z1 = Multiplication.subtract(Multiplication.subtract(z1, z0), z2);
+
+        int[] result = new int[2 * a.length];
+        System.arraycopy(z0, 0, result, 0, z0.length);
+        System.arraycopy(z2, 0, result, 2 * half, z2.length);
+        Multiplication.addInto(result, z1, half);
+        return BigInt.normalize(result);
+    }
+
+    private static int[] toomCook3(int[] a, int[] b, boolean parallel){
+        /**
+         * Split both operands into three parts of k limbs:
+         * a(x) = a2 * x^2 + a1 * x + a0, b(x) likewise, and x = 2^(32*k)
+         * Evaluate a(x) * b(x) at 0, 1, -1, -2 and infinity,
+         * which takes five third-sized products instead of nine,
+         * and interpolate the five coefficients of the product polynomial.
+         *
+         * The interpolation follows the sequence given by Marco Bodrato in
+         * "Towards Optimal Toom-Cook Multiplication for Univariate and Multivariate Polynomials in Characteristic 2 and 0",
+         * the same one java.math.BigInteger uses.
+         * The evaluation points make some intermediates negative,
+         * so the evaluations are signed BigInts, and the interpolation runs on signed
+         * MutableBigInt accumulators, with one exact division by 3 and two by 2.
+         */
+        int k = (a.length + 2) / 3;
+        BigInt a0 = Multiplication.part(a, 0, k);
+        BigInt a1 = Multiplication.part(a, k, 2 * k);
+        BigInt a2 = Multiplication.part(a, 2 * k, a.length);
+        BigInt b0 = Multiplication.part(b, 0, k);
+        BigInt b1 = Multiplication.part(b, k, 2 * k);
+        BigInt b2 = Multiplication.part(b, 2 * k, b.length);
+
+        // The evaluations at 0, -1, 1, 2 and infinity
+        BigInt da1 = a2.add(a0);
+        BigInt db1 = b2.add(b0);
+        BigInt am1 = da1.minus(a1);
+        BigInt bm1 = db1.minus(b1);
+        da1 = da1.add(a1);
+        db1 = db1.add(b1);
+        BigInt da2 = Multiplication.twice(da1.add(a2)).minus(a0);
+        BigInt db2 = Multiplication.twice(db1.add(b2)).minus(b0);
+        BigInt[] v = Multiplication.products(parallel, a0, b0, am1, bm1, da1, db1, da2, db2, a2, b2);
+
+        return Multiplication.toomCook3Interpolate(v[0], v[2], v[1], v[3], v[4], k, a.length + b.length);
+    }
+
+    private static int[] toomCook3Square(int[] a, boolean parallel){
+        // Same evaluation points as toomCook3, with both polynomials being a(x)
+        int k = (a.length + 2) / 3;
+        BigInt a0 = Multiplication.part(a, 0, k);
+        BigInt a1 = Multiplication.part(a, k, 2 * k);
+        BigInt a2 = Multiplication.part(a, 2 * k, a.length);
+
+        BigInt da1 = a2.add(a0);
+        BigInt am1 = da1.minus(a1);
+        da1 = da1.add(a1);
+        BigInt da2 = Multiplication.twice(da1.add(a2)).minus(a0);
+        BigInt[] v = Multiplication.products(parallel, a0, a0, am1, am1, da1, da1, da2, da2, a2, a2);
+
+        return Multiplication.toomCook3Interpolate(v[0], v[2], v[1], v[3], v[4], k, 2 * a.length);
+    }
+
+    private static int[] toomCook3Interpolate(BigInt v0, BigInt v1, BigInt vm1, BigInt v2, BigInt vinf, int k, int length){
+        // The coefficients are updated in place, so the interpolation only allocates three accumulators
+        MutableBigInt t2 = new MutableBigInt(v2).subtractInPlace(vm1);
+        t2.exactDivideBy3InPlace();
+        MutableBigInt tm1 = new MutableBigInt(v1).subtractInPlace(vm1).shiftInPlace(-1);
+        MutableBigInt t1 = new MutableBigInt(v1).subtractInPlace(v0);
+        t2.subtractInPlace(t1).shiftInPlace(-1);
+        t1.subtractInPlace(tm1).subtractInPlace(vinf);
+        t2.subtractInPlace(vinf).subtractInPlace(vinf);
+        tm1.subtractInPlace(t2);
+
+        // result = vinf * x^4 + t2 * x^3 + t1 * x^2 + tm1 * x + v0
+        // Every coefficient is non-negative at this point
+        int[] result = new int[length];
+        System.arraycopy(v0.arr, 0, result, 0, v0.arr.length);
+        Multiplication.addInto(result, tm1.value, tm1.length, k);
+        Multiplication.addInto(result, t1.value, t1.length, 2 * k);
+        Multiplication.addInto(result, t2.value, t2.length, 3 * k);
+        Multiplication.addInto(result, vinf.arr, vinf.arr.length, 4 * k);
+        return BigInt.normalize(result);
+    }
+
+    static int[] slice(int[] x, int from, int to){
+        // Limbs [from, to) of x as a normalized magnitude
+        to = Math.min(to, x.length);
+        while(to > from && x[to-1] == 0){
+            to -= 1;
+        }
+        if(to <= from){
+            return ZERO;
+        }
+        return Arrays.copyOfRange(x, from, to);
+    }
+
+    private static BigInt part(int[] x, int from, int to){
+        return new BigInt(Multiplication.slice(x, from, to), BigInt.Sign.NON_NEGATIVE);
+    }
+
+    private static int[] subtract(int[] a, int[] b){
+        // Like BigInt.subtractMagnitude, but also allows a == b
+        if(BigInt.compareMagnitude(a, b) == 0){
+            return ZERO;
+        }
+        return BigInt.subtractMagnitude(a, b);
+    }
+
+    static void addInto(int[] result, int[] x, int offset){
+        Multiplication.addInto(result, x, x.length, offset);
+    }
+
+    static void addInto(int[] result, int[] x, int xLength, int offset){
+        // result += (lowest xLength limbs of x) * 2^(32*offset)
+        // The caller guarantees that the sum fits into result
+        long sum = 0;
+        int i = 0;
+        for(; i < xLength; i++){
+            sum = (result[offset+i] & LONG_MASK) + (x[i] & LONG_MASK) + (sum >>> 32);
+            result[offset+i] = (int)sum;
+        }
+        // Propagate the last carry
+        for(int j = offset + i; (sum >>> 32) != 0 && j < result.length; j++){
+            sum = (result[j] & LONG_MASK) + 1;
+            result[j] = (int)sum;
+        }
+    }
+
+    private static BigInt twice(BigInt x){
+        return x.add(x);
+    }
+}
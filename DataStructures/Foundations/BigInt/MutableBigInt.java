@@ -0,0 +1,369 @@
+package DataStructures.Foundations.BigInt;
+
+import java.util.Arrays;
+
+import static DataStructures.Foundations.BigInt.BigInt.LONG_MASK;
+
+public class MutableBigInt {
+    /**
+     * A growable accumulator with the same limb layout as BigInt,
+     * where every operation updates the value in place.
+     * Once the capacity is large enough, none of the *InPlace methods allocate,
+     * so long chains of additions don't create an intermediate BigInt per step.
+     *
+     * MutableBigInt is not thread-safe.
+     * Use toBigInt() to take an immutable snapshot of the current value.
+     */
+
+    // Same layout as BigInt.arr, but only the lowest length limbs are in use
+    // Every limb at or above length is always 0
+    int[] value;
+    int length;
+    boolean negative;
+
+    // Holds the magnitude of a long operand, so the long overloads don't allocate
+    private final int[] longScratch = new int[2];
+
+    public MutableBigInt(){
+        this(new int[4]);
+    }
+
+    private MutableBigInt(int[] value){
+        // Zero, with value as its limb buffer
+        this.value = value;
+    }
+
+    public static MutableBigInt withCapacity(int capacity){
+        // Zero, with room for capacity limbs
+        // A factory rather than a constructor, so new MutableBigInt(5) is five, as new BigInt(5) is
+        if(capacity < 0){
+            throw new IllegalArgumentException("Negative capacity");
+        }
+        return new MutableBigInt(new int[capacity]);
+    }
+
+    public MutableBigInt(BigInt bi){
+        this.value = bi.arr.clone();
+        this.length = bi.arr.length;
+        this.negative = bi.sign == BigInt.Sign.NEGATIVE;
+    }
+
+    public MutableBigInt(long l){
+        this(new int[4]);
+        this.addInPlace(l);
+    }
+
+    public int capacity(){
+        return this.value.length;
+    }
+
+    public boolean isZero(){
+        return this.length == 0;
+    }
+
+    public int signum(){
+        if(this.length == 0){
+            return 0;
+        }
+        return this.negative? -1: 1;
+    }
+
+    public MutableBigInt setZero(){
+        // Keeps the capacity for reuse
+        Arrays.fill(this.value, 0, this.length, 0);
+        this.length = 0;
+        this.negative = false;
+        return this;
+    }
+
+    public MutableBigInt setValue(BigInt bi){
+        this.setZero();
+        this.ensureCapacity(bi.arr.length);
+        System.arraycopy(bi.arr, 0, this.value, 0, bi.arr.length);
+        this.length = bi.arr.length;
+        this.negative = bi.sign == BigInt.Sign.NEGATIVE;
+        return this;
+    }
+
+    public BigInt toBigInt(){
+        // Copies only the used limbs, so the snapshot is unaffected by later updates
+        BigInt.Sign sign = this.negative? BigInt.Sign.NEGATIVE : BigInt.Sign.NON_NEGATIVE;
+        return new BigInt(Arrays.copyOf(this.value, this.length), sign);
+    }
+
+    @Override
+    public String toString(){
+        return this.toBigInt().toString();
+    }
+
+    public MutableBigInt addInPlace(BigInt bi){
+        this.addSigned(bi.arr, bi.arr.length, bi.sign == BigInt.Sign.NEGATIVE);
+        return this;
+    }
+
+    public MutableBigInt addInPlace(MutableBigInt other){
+        this.addSigned(other.value, other.length, other.negative);
+        return this;
+    }
+
+    public MutableBigInt addInPlace(long l){
+        int scratchLength = this.loadLong(l);
+        this.addSigned(this.longScratch, scratchLength, l < 0);
+        return this;
+    }
+
+    public MutableBigInt subtractInPlace(BigInt bi){
+        this.addSigned(bi.arr, bi.arr.length, bi.sign != BigInt.Sign.NEGATIVE);
+        return this;
+    }
+
+    public MutableBigInt subtractInPlace(MutableBigInt other){
+        this.addSigned(other.value, other.length, !other.negative);
+        return this;
+    }
+
+    public MutableBigInt subtractInPlace(long l){
+        int scratchLength = this.loadLong(l);
+        this.addSigned(this.longScratch, scratchLength, l >= 0);
+        return this;
+    }
+
+    public MutableBigInt multiplyByLongInPlace(long l){
+        if(l == 0 || this.length == 0){
+            return this.setZero();
+        }
+        if(l < 0){
+            this.negative = !this.negative;
+        }
+        // Long.MIN_VALUE stays the same after negation, but read as unsigned it is exactly 2^63
+        long m = l < 0? -l: l;
+        long low = m & LONG_MASK;
+        long high = m >>> 32;
+
+        /**
+         * value * (high * 2^32 + low), from the lowest limb upwards
+         * Limb i of the result is low * value[i] + high * value[i-1] + carry,
+         * so the old value[i-1] is kept in previous before it is overwritten.
+         * Two products don't fit into one long, so they are added in two partial sums,
+         * and the carry collects the upper halves of both.
+         */
+        this.ensureCapacity(this.length + 2);
+        long carry = 0;
+        long previous = 0;
+        int newLength = this.length + (high == 0? 1: 2);
+        for(int i = 0; i < newLength; i++){
+            long current = this.value[i] & LONG_MASK;
+            long lowSum = low * current + (carry & LONG_MASK);
+            long highSum = high * previous + (lowSum & LONG_MASK);
+            this.value[i] = (int)highSum;
+            carry = (lowSum >>> 32) + (highSum >>> 32) + (carry >>> 32);
+            previous = current;
+        }
+        this.length = newLength;
+        this.normalize();
+        return this;
+    }
+
+    public MutableBigInt shiftInPlace(int bits){
+        /**
+         * Multiplies by 2^bits, where a negative bits shifts to the right instead
+         * Like >> on primitives, shifting right rounds towards negative infinity,
+         * e.g. -5 shifted by -1 is -3
+         */
+        if(bits > 0){
+            this.shiftLeft(bits);
+        } else if(bits < 0){
+            this.shiftRight(-bits);
+        }
+        return this;
+    }
+
+    private void shiftLeft(int bits){
+        if(this.length == 0){
+            return;
+        }
+        int limbs = bits >>> 5;
+        int offset = bits & 31;
+        int newLength = this.length + limbs + 1;
+        this.ensureCapacity(newLength);
+        // From the top down, so every source limb is read before it is overwritten
+        for(int i = newLength-1; i >= limbs; i--){
+            int j = i - limbs;
+            int upper = j < this.length? this.value[j] << offset: 0;
+            int lower = offset != 0 && j > 0? this.value[j-1] >>> (32 - offset): 0;
+            this.value[i] = upper | lower;
+        }
+        Arrays.fill(this.value, 0, limbs, 0);
+        this.length = newLength;
+        this.normalize();
+    }
+
+    private void shiftRight(int bits){
+        if(this.length == 0){
+            return;
+        }
+        int limbs = bits >>> 5;
+        int offset = bits & 31;
+        // Rounding towards negative infinity only matters if a set bit is shifted out
+        boolean lostBits = false;
+        if(this.negative){
+            for(int i = 0; i < limbs && i < this.length && !lostBits; i++){
+                lostBits = this.value[i] != 0;
+            }
+            if(!lostBits && offset != 0 && limbs < this.length){
+                lostBits = (this.value[limbs] << (32 - offset)) != 0;
+            }
+        }
+        int oldLength = this.length;
+        int newLength = Math.max(oldLength - limbs, 0);
+        // From the bottom up, so every source limb is read before it is overwritten
+        for(int i = 0; i < newLength; i++){
+            int j = i + limbs;
+            int lower = this.value[j] >>> offset;
+            int upper = offset != 0 && j+1 < oldLength? this.value[j+1] << (32 - offset): 0;
+            this.value[i] = lower | upper;
+        }
+        Arrays.fill(this.value, newLength, oldLength, 0);
+        this.length = newLength;
+        this.normalize();
+        if(lostBits){
+            // -5 >> 1: the magnitude 5 >> 1 == 2 becomes 3
+            this.longScratch[0] = 1;
+            this.addMagnitude(this.longScratch, 1);
+            this.negative = true;
+        }
+    }
+
+    void exactDivideBy3InPlace(){
+        /**
+         * Exact division by 3, the caller guarantees that the value is a multiple of 3
+         * Since 3 * 0xAAAAAAAB == 1 (mod 2^32), each quotient limb is
+         * the current limb times 0xAAAAAAAB, from the lowest limb upwards.
+         * The borrow into the next limb is how many times 2^32 was "wrapped"
+         * by q * 3, which is 0, 1 or 2.
+         */
+        long borrow = 0;
+        for(int i = 0; i < this.length; i++){
+            long w = (this.value[i] & LONG_MASK) - borrow;
+            // A borrow that wraps below 0 needs one more unit from the next limb
+            borrow = w < 0? 1: 0;
+            long q = (w * 0xAAAA_AAABL) & LONG_MASK;
+            this.value[i] = (int)q;
+            if(q >= 0x5555_5556L){
+                borrow += 1;
+                if(q >= 0xAAAA_AAABL){
+                    borrow += 1;
+                }
+            }
+        }
+        this.normalize();
+    }
+
+    private int loadLong(long l){
+        // Writes the magnitude of l into longScratch and returns its length in limbs
+        long m = l < 0? -l: l;
+        this.longScratch[0] = (int)m;
+        this.longScratch[1] = (int)(m >>> 32);
+        if(this.longScratch[1] != 0){
+            return 2;
+        }
+        return this.longScratch[0] != 0? 1: 0;
+    }
+
+    private void addSigned(int[] y, int yLength, boolean yNegative){
+        if(yLength == 0){
+            return;
+        }
+        if(this.length == 0){
+            this.negative = yNegative;
+        }
+        // Same sign: add absolute values and keep the sign
+        if(this.negative == yNegative){
+            this.addMagnitude(y, yLength);
+            return;
+        }
+        // Different signs: the result takes the sign of the one with larger absolute value
+        int comparison = MutableBigInt.compareMagnitude(this.value, this.length, y, yLength);
+        if(comparison >= 0){
+            this.subtractMagnitude(y, yLength);
+        } else {
+            this.reverseSubtractMagnitude(y, yLength);
+            this.negative = yNegative;
+        }
+        if(this.length == 0){
+            this.negative = false;
+        }
+    }
+
+    private void addMagnitude(int[] y, int yLength){
+        // |this| += |y|
+        int maxLength = Math.max(this.length, yLength);
+        this.ensureCapacity(maxLength + 1);
+        long sum = 0;
+        int i = 0;
+        for(; i < yLength; i++){
+            sum = (this.value[i] & LONG_MASK) + (y[i] & LONG_MASK) + (sum >>> 32);
+            this.value[i] = (int)sum;
+        }
+        // Propagate the carry through the rest of this
+        for(; (sum >>> 32) != 0; i++){
+            sum = (this.value[i] & LONG_MASK) + 1;
+            this.value[i] = (int)sum;
+        }
+        this.length = Math.max(maxLength, i);
+    }
+
+    private void subtractMagnitude(int[] y, int yLength){
+        // |this| -= |y|, where |this| >= |y|
+        long difference = 0;
+        int i = 0;
+        for(; i < yLength; i++){
+            difference = (this.value[i] & LONG_MASK) - (y[i] & LONG_MASK) + (difference >> 32);
+            this.value[i] = (int)difference;
+        }
+        // Propagate the borrow through the rest of this
+        for(; (difference >> 32) != 0; i++){
+            difference = (this.value[i] & LONG_MASK) - 1;
+            this.value[i] = (int)difference;
+        }
+        this.normalize();
+    }
+
+    private void reverseSubtractMagnitude(int[] y, int yLength){
+        // |this| = |y| - |this|, where |y| > |this|
+        // Limbs at or above length are 0, so reading up to yLength is safe once the capacity fits
+        this.ensureCapacity(yLength);
+        long difference = 0;
+        for(int i = 0; i < yLength; i++){
+            difference = (y[i] & LONG_MASK) - (this.value[i] & LONG_MASK) + (difference >> 32);
+            this.value[i] = (int)difference;
+        }
+        this.length = yLength;
+        this.normalize();
+    }
+
+    private static int compareMagnitude(int[] x, int xLength, int[] y, int yLength){
+        if(xLength != yLength){
+            return xLength > yLength? 1: -1;
+        }
+        for(int i = xLength-1; i >= 0; i--){
+            if(x[i] != y[i]){
+                return Integer.compareUnsigned(x[i], y[i]) > 0? 1: -1;
+            }
+        }
+        return 0;
+    }
+
+    private void normalize(){
+        while(this.length > 0 && this.value[this.length-1] == 0){
+            this.length -= 1;
+        }
+    }
+
+    private void ensureCapacity(int capacity){
+        // Grow geometrically, so a long chain of growing updates only reallocates O(log n) times
+        if(this.value.length < capacity){
+            this.value = Arrays.copyOf(this.value, Math.max(capacity, 2 * this.value.length));
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package DataStructures.Foundations.BigInt;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import static DataStructures.Foundations.BigInt.BigInt.LONG_MASK;
+
+final class NumberTheoreticTransform {
+    /**
+     * Top tier of the multiplication engine: convolution with a number-theoretic transform
+     *
+     * Both magnitudes are cut into 16-bit pieces, and the piece sequences are convolved
+     * modulo two NTT-friendly primes, p1 = 7 * 2^26 + 1 and p2 = 5 * 2^25 + 1.
+     * Every coefficient of the exact convolution is a sum of at most 2^24 products of
+     * two 16-bit pieces, so it stays below 2^56 < p1 * p2.
+     * Thus, combining both residues with the Chinese remainder theorem gives the exact coefficient,
+     * without any floating-point rounding risk.
+     *
+     * The transform length must divide p2 - 1, so at most 2^25 pieces (2^24 limbs)
+     * of product fit into a single transform. Larger products are split by Toom-Cook first.
+     *
+     * All modular products use Montgomery reduction with R = 2^32,
+     * which replaces the long division of (a * b) % p by two multiplications.
+     *
+     * In parallel mode, which must run inside a ForkJoinPool, the two convolutions are separate tasks,
+     * and every transform splits into independent halves after its first level of butterflies,
+     * down to blocks of PARALLEL_BLOCK pieces. Only the final carry pass stays sequential.
+     */
+    private static final int P1 = 469_762_049;
+    private static final int P2 = 167_772_161;
+    // 3 is a primitive root of both primes
+    private static final int GENERATOR = 3;
+
+    static final int MAX_LOG_LENGTH = 25;
+    // The product of two magnitudes with this many limbs in total still fits into one transform
+    static final int MAX_LIMBS = 1 << (MAX_LOG_LENGTH - 1);
+    // Pieces per parallel task, large enough to outweigh the cost of forking it
+    private static final int PARALLEL_BLOCK = 1 << 15;
+
+    private NumberTheoreticTransform(){}
+
+    static int[] square(int[] a, boolean parallel){
+        // Passing the same array twice makes convolve transform it only once
+        return NumberTheoreticTransform.multiply(a, a, parallel);
+    }
+
+    static int[] multiply(int[] a, int[] b, boolean parallel){
+        // Both are 16-bit pieces per limb
+        int resultPieces = 2 * (a.length + b.length);
+        int logLength = 32 - Integer.numberOfLeadingZeros(resultPieces - 1);
+        int length = 1 << logLength;
+
+        int[] residue1;
+        int[] residue2;
+        if(parallel){
+            Convolution first = new Convolution(a, b, length, P1);
+            Convolution second = new Convolution(a, b, length, P2);
+            ForkJoinTask.invokeAll(first, second);
+            residue1 = first.join();
+            residue2 = second.join();
+        } else {
+            residue1 = NumberTheoreticTransform.convolve(a, b, length, new Modulus(P1), false);
+            residue2 = NumberTheoreticTransform.convolve(a, b, length, new Modulus(P2), false);
+        }
+
+        // Garner's formula: x = r1 + p1 * ((r2 - r1) * p1^-1 mod p2)
+        // Then every coefficient is carried into the 16-bit pieces of the result
+        Modulus m2 = new Modulus(P2);
+        int p1InverseMont = m2.toMontgomery(NumberTheoreticTransform.power(P1 % P2, P2 - 2, P2));
+        int[] result = new int[a.length + b.length];
+        long carry = 0;
+        for(int i = 0; i < resultPieces; i++){
+            long r1 = residue1[i];
+            long difference = residue2[i] - r1 % P2;
+            if(difference < 0){
+                difference += P2;
+            }
+            long coefficient = r1 + (long)P1 * m2.multiply((int)difference, p1InverseMont);
+            carry += coefficient;
+            int piece = (int)(carry & 0xFFFF);
+            carry >>>= 16;
+            result[i >> 1] |= piece << ((i & 1) << 4);
+        }
+        return BigInt.normalize(result);
+    }
+
+    private static int[] convolve(int[] a, int[] b, int length, Modulus m, boolean parallel){
+        int[] x = NumberTheoreticTransform.toPieces(a, length);
+        int[] roots = m.roots(length, false);
+        // Squaring saves one of the three transforms
+        int[] y = a == b? x: NumberTheoreticTransform.toPieces(b, length);
+        if(!parallel){
+            NumberTheoreticTransform.forward(x, roots, m, 0, length);
+            if(y != x){
+                NumberTheoreticTransform.forward(y, roots, m, 0, length);
+            }
+        } else if(y != x){
+            ForkJoinTask.invokeAll(new Forward(x, roots, m, 0, length), new Forward(y, roots, m, 0, length));
+        } else {
+            new Forward(x, roots, m, 0, length).invoke();
+        }
+        // x and y are in normal form, so their Montgomery product carries an extra R^-1
+        // which is cancelled together with 1/length by scaling with length^-1 * R^2
+        int scale = m.toMontgomery(m.toMontgomery(NumberTheoreticTransform.power(length, m.p - 2, m.p)));
+        NumberTheoreticTransform.forEach(length, parallel, (from, to) -> {
+            for(int i = from; i < to; i++){
+                x[i] = m.multiply(x[i], y[i]);
+            }
+        });
+        int[] inverseRoots = m.roots(length, true);
+        if(parallel){
+            new Inverse(x, inverseRoots, m, 0, length).invoke();
+        } else {
+            NumberTheoreticTransform.inverse(x, inverseRoots, m, 0, length);
+        }
+        NumberTheoreticTransform.forEach(length, parallel, (from, to) -> {
+            for(int i = from; i < to; i++){
+                x[i] = m.multiply(x[i], scale);
+            }
+        });
+        return x;
+    }
+
+    private static int[] toPieces(int[] x, int length){
+        int[] pieces = new int[length];
+        for(int i = 0; i < x.length; i++){
+            pieces[2*i] = x[i] & 0xFFFF;
+            pieces[2*i+1] = x[i] >>> 16;
+        }
+        return pieces;
+    }
+
+    private static void forward(int[] x, int[] roots, Modulus m, int offset, int length){
+        /**
+         * Decimation in frequency (Gentleman-Sande) on the block x[offset, offset+length):
+         * the input is in natural order, and the output ends up in bit-reversed order.
+         * The pointwise product does not care about the order,
+         * and the inverse transform takes bit-reversed input, so no permutation is needed.
+         * After the first level, both halves of a block are transformed independently,
+         * which is what the parallel Forward task relies on.
+         */
+        int p = m.p;
+        for(int half = length >> 1; half >= 1; half >>= 1){
+            for(int start = offset; start < offset + length; start += 2 * half){
+                for(int j = 0; j < half; j++){
+                    int u = x[start+j];
+                    int v = x[start+j+half];
+                    int sum = u + v;
+                    x[start+j] = sum >= p? sum - p: sum;
+                    int difference = u - v;
+                    x[start+j+half] = m.multiply(difference < 0? difference + p: difference, roots[half+j]);
+                }
+            }
+        }
+    }
+
+    private static void forwardButterflies(int[] x, int[] roots, Modulus m, int start, int half, int from, int to){
+        // The butterflies j in [from, to) of the first level of the block at start, for the parallel Forward task
+        int p = m.p;
+        for(int j = from; j < to; j++){
+            int u = x[start+j];
+            int v = x[start+j+half];
+            int sum = u + v;
+            x[start+j] = sum >= p? sum - p: sum;
+            int difference = u - v;
+            x[start+j+half] = m.multiply(difference < 0? difference + p: difference, roots[half+j]);
+        }
+    }
+
+    private static void inverse(int[] x, int[] roots, Modulus m, int offset, int length){
+        // Decimation in time (Cooley-Tukey) with inverse roots, from bit-reversed to natural order
+        // The mirror image of forward: both halves first, the level across the whole block last
+        int p = m.p;
+        for(int half = 1; half < length; half <<= 1){
+            for(int start = offset; start < offset + length; start += 2 * half){
+                for(int j = 0; j < half; j++){
+                    int u = x[start+j];
+                    int v = m.multiply(x[start+j+half], roots[half+j]);
+                    int sum = u + v;
+                    x[start+j] = sum >= p? sum - p: sum;
+                    int difference = u - v;
+                    x[start+j+half] = difference < 0? difference + p: difference;
+                }
+            }
+        }
+    }
+
+    private static void inverseButterflies(int[] x, int[] roots, Modulus m, int start, int half, int from, int to){
+        // The butterflies of the last level, for the parallel Inverse task
+        int p = m.p;
+        for(int j = from; j < to; j++){
+            int u = x[start+j];
+            int v = m.multiply(x[start+j+half], roots[half+j]);
+            int sum = u + v;
+            x[start+j] = sum >= p? sum - p: sum;
+            int difference = u - v;
+            x[start+j+half] = difference < 0? difference + p: difference;
+        }
+    }
+
+    private interface Range{
+        void run(int from, int to);
+    }
+
+    private static void forEach(int length, boolean parallel, Range body){
+        // body over [0, length), in PARALLEL_BLOCK-sized tasks in parallel mode
+        if(!parallel || length <= PARALLEL_BLOCK){
+            body.run(0, length);
+            return;
+        }
+        new RangeTask(body, 0, length).invoke();
+    }
+
+    private static final class RangeTask extends RecursiveAction{
+        private static final long serialVersionUID = 1L;
+        private final Range body;
+        private final int from;
+        private final int to;
+
+        RangeTask(Range body, int from, int to){
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute(){
+            if(this.to - this.from <= PARALLEL_BLOCK){
+                this.body.run(this.from, this.to);
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            ForkJoinTask.invokeAll(new RangeTask(this.body, this.from, middle), new RangeTask(this.body, middle, this.to));
+        }
+    }
+
+    private static final class Forward extends RecursiveAction{
+        // The forward transform of one block: the first level of butterflies, then both halves in parallel
+        private static final long serialVersionUID = 1L;
+        private final int[] x;
+        private final int[] roots;
+        private final Modulus m;
+        private final int offset;
+        private final int length;
+
+        Forward(int[] x, int[] roots, Modulus m, int offset, int length){
+            this.x = x;
+            this.roots = roots;
+            this.m = m;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute(){
+            if(this.length <= PARALLEL_BLOCK){
+                NumberTheoreticTransform.forward(this.x, this.roots, this.m, this.offset, this.length);
+                return;
+            }
+            int half = this.length >> 1;
+            NumberTheoreticTransform.forEach(half, true, (from, to) ->
+                    NumberTheoreticTransform.forwardButterflies(this.x, this.roots, this.m, this.offset, half, from, to));
+            ForkJoinTask.invokeAll(new Forward(this.x, this.roots, this.m, this.offset, half),
+                    new Forward(this.x, this.roots, this.m, this.offset + half, half));
+        }
+    }
+
+    private static final class Inverse extends RecursiveAction{
+        // The inverse transform of one block: both halves in parallel, then the last level of butterflies
+        private static final long serialVersionUID = 1L;
+        private final int[] x;
+        private final int[] roots;
+        private final Modulus m;
+        private final int offset;
+        private final int length;
+
+        Inverse(int[] x, int[] roots, Modulus m, int offset, int length){
+            this.x = x;
+            this.roots = roots;
+            this.m = m;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute(){
+            if(this.length <= PARALLEL_BLOCK){
+                NumberTheoreticTransform.inverse(this.x, this.roots, this.m, this.offset, this.length);
+                return;
+            }
+            int half = this.length >> 1;
+            ForkJoinTask.invokeAll(new Inverse(this.x, this.roots, this.m, this.offset, half),
+                    new Inverse(this.x, this.roots, this.m, this.offset + half, half));
+            NumberTheoreticTransform.forEach(half, true, (from, to) ->
+                    NumberTheoreticTransform.inverseButterflies(this.x, this.roots, this.m, this.offset, half, from, to));
+        }
+    }
+
+    private static final class Convolution extends RecursiveTask<int[]>{
+        // One of the two residue convolutions of a parallel multiplication
+        private static final long serialVersionUID = 1L;
+        private final int[] a;
+        private final int[] b;
+        private final int length;
+        private final int p;
+
+        Convolution(int[] a, int[] b, int length, int p){
+            this.a = a;
+            this.b = b;
+            this.length = length;
+            this.p = p;
+        }
+
+        @Override
+        protected int[] compute(){
+            return NumberTheoreticTransform.convolve(this.a, this.b, this.length, new Modulus(this.p), true);
+        }
+    }
+
+    private static int power(long base, long exponent, int p){
+        // Plain square-and-multiply, only used for a handful of setup constants
+        long result = 1;
+        base %= p;
+        while(exponent > 0){
+            if((exponent & 1) == 1){
+                result = result * base % p;
+            }
+            base = base * base % p;
+            exponent >>= 1;
+        }
+        return (int)result;
+    }
+
+    private static final class Modulus{
+        // Montgomery arithmetic modulo a prime p < 2^30, with R = 2^32
+        final int p;
+        // -p^-1 mod 2^32
+        private final int negativeInverse;
+        // R^2 mod p, for converting into Montgomery form
+        private final int rSquared;
+
+        Modulus(int p){
+            this.p = p;
+            // Newton iteration for p^-1 mod 2^32, every step doubles the correct bits
+            int inverse = p;
+            for(int i = 0; i < 5; i++){
+                inverse *= 2 - p * inverse;
+            }
+            this.negativeInverse = -inverse;
+            long r = (1L << 32) % p;
+            this.rSquared = (int)(r * r % p);
+        }
+
+        int multiply(int a, int b){
+            // a * b * R^-1 mod p
+            // t < 2^60 and m * p < 2^62, so t + m * p never overflows
+            long t = (long)a * b;
+            long m = ((int)t * this.negativeInverse) & LONG_MASK;
+            int u = (int)((t + m * this.p) >>> 32);
+            return u >= this.p? u - this.p: u;
+        }
+
+        int toMontgomery(int a){
+            return this.multiply(a, this.rSquared);
+        }
+
+        int[] roots(int length, boolean inverse){
+            // roots[half + j] = w^j for a primitive (2 * half)-th root of unity w,
+            // for every power of two half < length, in Montgomery form
+            int[] roots = new int[length];
+            for(int half = 1; half < length; half <<= 1){
+                int w = NumberTheoreticTransform.power(GENERATOR, (this.p - 1) / (2 * half), this.p);
+                if(inverse){
+                    w = NumberTheoreticTransform.power(w, this.p - 2, this.p);
+                }
+                int wMont = this.toMontgomery(w);
+                int current = this.toMontgomery(1);
+                for(int j = 0; j < half; j++){
+                    roots[half+j] = current;
+                    current = this.multiply(current, wMont);
+                }
+            }
+            return roots;
+        }
+    }
+}
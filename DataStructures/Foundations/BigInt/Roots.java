@@ -0,0 +1,137 @@
+package DataStructures.Foundations.BigInt;
+
+final class Roots {
+    /**
+     * Limb-level root engine behind BigInt.sqrt, BigInt.sqrtAndRemainder and BigInt.nthRoot
+     * All methods work on normalized little-endian magnitudes (see BigInt.arr) and return floor roots.
+     *
+     * Both roots are Newton iterations that double the precision at each step:
+     * The root of the top half of the bits of x is computed recursively, which gives the top half of the bits
+     * of the root of x, and a single Newton step from just above it makes the root correct to within 1.
+     * So the work is one division and one power at every level, on operands that halve from level to level,
+     * about twice the cost of the top level, and the divisions get the fast tiers of Division.
+     * The recursion ends once the root fits into a double's 53-bit mantissa with room to spare,
+     * where Math.sqrt or Math.pow give it to within 1 or 2.
+     *
+     * Integer Newton from above, r' = floor(((k - 1) r + floor(x / r^(k - 1))) / k) for the k-th root r of x,
+     * never drops below the floor root, so the correction after the step only ever decrements.
+     */
+    // Below this many bits of the root, it is estimated from a double
+    private static final int ESTIMATE_BITS = 40;
+
+    private Roots(){}
+
+    static int[][] sqrtAndRemainder(int[] x){
+        // Returns {s, x - s^2} for s = floor(sqrt(x))
+        if(x.length == 0){
+            return new int[][]{x, x};
+        }
+        BigInt value = Roots.positive(x);
+        BigInt[] rootAndSquare = Roots.sqrt(value);
+        return new int[][]{rootAndSquare[0].arr, value.minus(rootAndSquare[1]).arr};
+    }
+
+    static int[] nthRoot(int[] x, int k){
+        // floor(x^(1/k)) for k >= 1
+        if(x.length == 0 || k == 1){
+            return x;
+        }
+        if(k == 2){
+            return Roots.sqrt(Roots.positive(x))[0].arr;
+        }
+        // From 2^(k-1) <= x < 2^k on, the root is 1
+        if(BigInt.bitLengthMagnitude(x) <= k){
+            return BigInt.ONE.arr;
+        }
+        return Roots.nthRoot(Roots.positive(x), k).arr;
+    }
+
+    private static BigInt[] sqrt(BigInt x){
+        // Returns {s, s^2} for s = floor(sqrt(x)), x > 0
+        int bits = BigInt.bitLengthMagnitude(x.arr);
+        if(bits <= 62){
+            long value = x.longValueExact();
+            long root = (long)Math.sqrt((double)value);
+            while(root * root > value){
+                root -= 1;
+            }
+            while((root + 1) * (root + 1) <= value){
+                root += 1;
+            }
+            return new BigInt[]{BigInt.valueOf(root), BigInt.valueOf(root * root)};
+        }
+        /**
+         * With s = floor(sqrt(x >> 2h)), the start (s + 1) << h is above sqrt(x) by at most 2^h,
+         * and one Newton step squares that error over 2 sqrt(x) >= 2^((bits + 1) / 2).
+         * So for h <= (bits - 1) / 4, the step lands less than 1 above sqrt(x),
+         * at floor(sqrt(x)) or one above it.
+         */
+        int h = (bits - 1) / 4;
+        BigInt s = Roots.sqrt(Roots.shiftRight(x, 2 * h))[0];
+        BigInt root = Roots.shiftLeft(s.add(1), h);
+        root = Roots.shiftRight(root.add(x.divide(root)), 1);
+        BigInt square = root.square();
+        if(square.compareTo(x) > 0){
+            // (root - 1)^2 = root^2 - 2 root + 1
+            square = square.minus(Roots.shiftLeft(root, 1)).add(1);
+            root = root.minus(1);
+        }
+        return new BigInt[]{root, square};
+    }
+
+    private static BigInt nthRoot(BigInt x, int k){
+        // floor(x^(1/k)) for k >= 3 and x >= 2^k, so the root is at least 2
+        int bits = BigInt.bitLengthMagnitude(x.arr);
+        // The root is at least 2^rootBits
+        int rootBits = (bits - 1) / k;
+        if(rootBits < ESTIMATE_BITS){
+            return Roots.correct(BigInt.valueOf(Roots.estimate(x, k)), x, k);
+        }
+        /**
+         * As for sqrt, with s = floor((x >> kh)^(1/k)), the start (s + 1) << h is above the root r by at most 2^h,
+         * and one Newton step leaves an error of at most (k - 1) 2^(2h) / (2r).
+         * That is at most 1/2 for 2h <= rootBits - log2(k).
+         */
+        int h = (rootBits - (32 - Integer.numberOfLeadingZeros(k - 1))) / 2;
+        BigInt s = Roots.nthRoot(Roots.shiftRight(x, k * h), k);
+        BigInt root = Roots.shiftLeft(s.add(1), h);
+        BigInt quotient = x.divide(root.pow(k - 1));
+        root = root.multiply(k - 1).add(quotient).divide(k);
+        while(root.pow(k).compareTo(x) > 0){
+            root = root.minus(1);
+        }
+        return root;
+    }
+
+    private static long estimate(BigInt x, int k){
+        // x^(1/k) from log2(x), taken from the top 62 bits of x, for a root below 2^ESTIMATE_BITS
+        int bits = BigInt.bitLengthMagnitude(x.arr);
+        int dropped = Math.max(bits - 62, 0);
+        long top = Roots.shiftRight(x, dropped).longValueExact();
+        double log2 = dropped + Math.log(top) / Math.log(2);
+        return Math.max((long)Math.pow(2, log2 / k), 1);
+    }
+
+    private static BigInt correct(BigInt root, BigInt x, int k){
+        // Moves an estimate to floor(x^(1/k)), which it is expected to be within a few of
+        while(root.pow(k).compareTo(x) > 0){
+            root = root.minus(1);
+        }
+        while(root.add(1).pow(k).compareTo(x) <= 0){
+            root = root.add(1);
+        }
+        return root;
+    }
+
+    private static BigInt positive(int[] mag){
+        return new BigInt(mag, BigInt.Sign.NON_NEGATIVE);
+    }
+
+    private static BigInt shiftLeft(BigInt x, int bits){
+        return Roots.positive(BigInt.shiftLeftMagnitude(x.arr, bits));
+    }
+
+    private static BigInt shiftRight(BigInt x, int bits){
+        return Roots.positive(BigInt.extractBits(x.arr, bits, BigInt.bitLengthMagnitude(x.arr) - bits));
+    }
+}
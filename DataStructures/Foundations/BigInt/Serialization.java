@@ -0,0 +1,186 @@
+package DataStructures.Foundations.BigInt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+final class Serialization {
+    /**
+     * Binary format engine behind BigInt.toByteArray, BigInt.fromByteArray,
+     * BigInt.writeTo(ByteBuffer), BigInt.readFrom(ByteBuffer), BigInt.writeBinary, BigInt.readBinary
+     * and the binary files of BigIntFiles
+     *
+     * A value is written as
+     * (1) a header, (limb count << 1) | sign bit, as an unsigned LEB128 varint:
+     *     7 bits per byte from the least significant end, with the top bit set on every byte but the last
+     * (2) the limbs of the magnitude, least significant first, each one as 4 little-endian bytes
+     * So 0 is the single byte 0, a value below 2^32 takes 5 bytes, and the header takes at most 5 bytes.
+     * The sign bit is 1 for negative values, and the most significant limb is never 0,
+     * so every value has exactly one encoding, and anything else is rejected when reading.
+     *
+     * Little-endian limbs are the layout of BigInt.arr itself,
+     * so the limbs go through one bulk copy between a ByteBuffer and the limb array,
+     * with no intermediate array for heap and direct buffers alike.
+     */
+    // The most limbs an int[] can hold on common JVMs
+    private static final int MAX_LIMBS = Integer.MAX_VALUE - 8;
+    // The header of the longest array fits into 5 varint bytes
+    static final int MAX_HEADER_BYTES = 5;
+    // Limbs per bulk copy through the byte[] buffer of the DataInput and DataOutput path
+    private static final int CHUNK_LIMBS = 2048;
+
+    static long size(int[] mag){
+        // Number of bytes written for a magnitude with mag.length limbs
+        return Serialization.headerSize(Serialization.header(mag, false)) + 4L * mag.length;
+    }
+
+    private static long header(int[] mag, boolean negative){
+        return (long)mag.length << 1 | (negative? 1: 0);
+    }
+
+    private static int headerSize(long header){
+        // 7 bits per byte, and at least one byte for 0
+        int bits = 64 - Long.numberOfLeadingZeros(header | 1);
+        return (bits + 6) / 7;
+    }
+
+    static void write(int[] mag, boolean negative, ByteBuffer out){
+        // Writes at the position of out and advances it, like ByteBuffer.put
+        // Throws a BufferOverflowException, without writing anything, if out is too short
+        if(out.remaining() < Serialization.size(mag)){
+            throw new BufferOverflowException();
+        }
+        Serialization.writeHeader(mag, negative, out);
+        int bytes = 4 * mag.length;
+        out.slice(out.position(), bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(mag);
+        out.position(out.position() + bytes);
+    }
+
+    static void writeHeader(int[] mag, boolean negative, ByteBuffer out){
+        long header = Serialization.header(mag, negative);
+        while(header >= 0x80){
+            out.put((byte)(header | 0x80));
+            header >>>= 7;
+        }
+        out.put((byte)header);
+    }
+
+    static long readHeader(ByteBuffer in){
+        // Reads the varint header at the position of in, and rejects overlong and padded ones
+        long header = 0;
+        for(int shift = 0; ; shift += 7){
+            if(shift == 7 * MAX_HEADER_BYTES){
+                throw new IllegalArgumentException("Malformed BigInt: header longer than " + MAX_HEADER_BYTES + " bytes");
+            }
+            byte b = in.get();
+            header |= (long)(b & 0x7F) << shift;
+            if(b >= 0){
+                if(b == 0 && shift > 0){
+                    throw new IllegalArgumentException("Malformed BigInt: header with a trailing 0 byte");
+                }
+                return header;
+            }
+        }
+    }
+
+    static BigInt read(ByteBuffer in){
+        // Reads at the position of in and advances it past the value
+        // Throws a BufferUnderflowException if in ends within the value,
+        // and an IllegalArgumentException if the bytes are not a valid encoding
+        long header = Serialization.readHeader(in);
+        int length = Serialization.checkHeader(header);
+        if(in.remaining() < 4L * length){
+            // Checked before allocating, so a corrupt header can't allocate a huge array
+            throw new BufferUnderflowException();
+        }
+        int bytes = 4 * length;
+        int[] mag = new int[length];
+        in.slice(in.position(), bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(mag);
+        in.position(in.position() + bytes);
+        return Serialization.toBigInt(mag, header);
+    }
+
+    static void write(int[] mag, boolean negative, DataOutput out) throws IOException{
+        // The header and the limbs go out in byte[] chunks, instead of one call per byte or limb
+        byte[] buffer = new byte[4 * Math.min(mag.length, CHUNK_LIMBS) + MAX_HEADER_BYTES];
+        ByteBuffer chunk = ByteBuffer.wrap(buffer);
+        Serialization.writeHeader(mag, negative, chunk);
+        for(int from = 0; from < mag.length; from += CHUNK_LIMBS){
+            int limbs = Math.min(CHUNK_LIMBS, mag.length - from);
+            chunk.slice(chunk.position(), 4 * limbs).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(mag, from, limbs);
+            out.write(buffer, 0, chunk.position() + 4 * limbs);
+            chunk.clear();
+        }
+        if(mag.length == 0){
+            out.write(buffer, 0, chunk.position());
+        }
+    }
+
+    static BigInt read(DataInput in) throws IOException{
+        // Throws an EOFException if in ends within the value,
+        // and an IOException if the bytes are not a valid encoding
+        long header = 0;
+        for(int shift = 0; ; shift += 7){
+            if(shift == 7 * MAX_HEADER_BYTES){
+                throw new IOException("Malformed BigInt: header longer than " + MAX_HEADER_BYTES + " bytes");
+            }
+            byte b = in.readByte();
+            header |= (long)(b & 0x7F) << shift;
+            if(b >= 0){
+                if(b == 0 && shift > 0){
+                    throw new IOException("Malformed BigInt: header with a trailing 0 byte");
+                }
+                break;
+            }
+        }
+        int length;
+        try{
+            length = Serialization.checkHeader(header);
+        } catch(IllegalArgumentException e){
+            throw new IOException(e.getMessage());
+        }
+        // The limb array grows with the limbs actually read,
+        // so a corrupt header can't allocate a huge array up front
+        int[] mag = new int[Math.min(length, CHUNK_LIMBS)];
+        byte[] buffer = new byte[4 * Math.min(length, CHUNK_LIMBS)];
+        ByteBuffer chunk = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+        for(int from = 0; from < length; from += CHUNK_LIMBS){
+            int limbs = Math.min(CHUNK_LIMBS, length - from);
+            if(from + limbs > mag.length){
+                mag = Arrays.copyOf(mag, (int)Math.min(length, Math.max(2L * mag.length, from + limbs)));
+            }
+            in.readFully(buffer, 0, 4 * limbs);
+            chunk.clear();
+            chunk.asIntBuffer().get(mag, from, limbs);
+        }
+        try{
+            return Serialization.toBigInt(mag, header);
+        } catch(IllegalArgumentException e){
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    static int checkHeader(long header){
+        // Returns the limb count, after ruling out headers no valid value has
+        long length = header >>> 1;
+        if(length > MAX_LIMBS){
+            throw new IllegalArgumentException("Malformed BigInt: " + length + " limbs");
+        }
+        if(header == 1){
+            throw new IllegalArgumentException("Malformed BigInt: negative zero");
+        }
+        return (int)length;
+    }
+
+    static BigInt toBigInt(int[] mag, long header){
+        if(mag.length > 0 && mag[mag.length - 1] == 0){
+            throw new IllegalArgumentException("Malformed BigInt: most significant limb is 0");
+        }
+        return new BigInt(mag, (header & 1) == 1? BigInt.Sign.NEGATIVE: BigInt.Sign.NON_NEGATIVE);
+    }
+}
@@ -0,0 +1,104 @@
+package DataStructures.Foundations.BigInt;
+
+import java.util.Arrays;
+
+import static DataStructures.Foundations.BigInt.BigInt.LONG_MASK;
+
+final class SumAccumulator {
+    /**
+     * Carry-save accumulator behind BigInt.sum and BigInt.summing()
+     *
+     * The value is the sum of slots[i] * 2^(32i), where every slot is a signed long.
+     * Adding a BigInt adds or subtracts each of its limbs in the slot of the same position,
+     * without propagating any carry, so every addition is one independent long add per limb,
+     * with no carry chain, no comparison of magnitudes and no allocation once the slots are large enough.
+     *
+     * Every addition changes a slot by less than 2^32, so a slot can take about 2^31 additions before it could overflow.
+     * The carries are propagated every NORMALIZE_INTERVAL additions, and once more at the end.
+     * After that, all slots but the top one are in [0, 2^32), and the top one holds the sign.
+     *
+     * SumAccumulator is not thread-safe, a parallel stream gives every thread its own one and combines them.
+     */
+    private static final int NORMALIZE_INTERVAL = 1 << 30;
+    private static final long TOP_LIMIT = 1L << 31;
+
+    private long[] slots = new long[4];
+    // Additions since the last normalization
+    private int pending;
+
+    void add(BigInt x){
+        int[] arr = x.arr;
+        if(arr.length >= this.slots.length){
+            // One slot above the longest value, to take its carries
+            this.grow(arr.length + 1);
+        }
+        if(this.pending == NORMALIZE_INTERVAL){
+            this.normalize();
+        }
+        long[] slots = this.slots;
+        if(x.sign == BigInt.Sign.NEGATIVE){
+            for(int i = 0; i < arr.length; i++){
+                slots[i] -= arr[i] & LONG_MASK;
+            }
+        } else {
+            for(int i = 0; i < arr.length; i++){
+                slots[i] += arr[i] & LONG_MASK;
+            }
+        }
+        this.pending += 1;
+    }
+
+    SumAccumulator combine(SumAccumulator other){
+        // Adds other into this, slot by slot, and returns this
+        if(other.slots.length > this.slots.length){
+            this.grow(other.slots.length);
+        }
+        // Both bounds add up, so normalize first if together they could overflow
+        // In long, since two pending counts near NORMALIZE_INTERVAL would overflow an int sum
+        if((long)this.pending + other.pending >= NORMALIZE_INTERVAL){
+            this.normalize();
+            other.normalize();
+        }
+        for(int i = 0; i < other.slots.length; i++){
+            this.slots[i] += other.slots[i];
+        }
+        this.pending += other.pending + 1;
+        return this;
+    }
+
+    BigInt toBigInt(){
+        this.normalize();
+        int top = this.slots.length - 1;
+        int[] low = new int[top];
+        for(int i = 0; i < top; i++){
+            low[i] = (int)this.slots[i];
+        }
+        BigInt lowPart = new BigInt(BigInt.normalize(low), BigInt.Sign.NON_NEGATIVE);
+        // The top slot is below 2^31 in absolute value, so it fits into a single limb
+        return BigInt.valueOf(this.slots[top]).leftShift(top).add(lowPart);
+    }
+
+    private void normalize(){
+        // Propagate the carries up to the top slot, which keeps the sign
+        long[] slots = this.slots;
+        int top = slots.length - 1;
+        long carry = 0;
+        for(int i = 0; i < top; i++){
+            long value = slots[i] + carry;
+            slots[i] = value & LONG_MASK;
+            carry = value >> 32;
+        }
+        slots[top] += carry;
+        this.pending = 0;
+        // Keep the top slot small, so the bound on every slot holds after the next additions
+        if(slots[top] >= TOP_LIMIT || slots[top] < -TOP_LIMIT){
+            this.grow(slots.length + 1);
+            this.normalize();
+        }
+    }
+
+    private void grow(int length){
+        // The new slots are 0, so the value stays the same
+        this.slots = Arrays.copyOf(this.slots, Math.max(length, 2 * this.slots.length));
+    }
+}
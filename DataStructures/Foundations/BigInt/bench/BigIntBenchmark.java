@@ -0,0 +1,346 @@
+package DataStructures.Foundations.BigInt.bench;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import DataStructures.Foundations.BigInt.BigInt;
+
+public class BigIntBenchmark {
+    /**
+     * Throughput and allocation benchmark for the core BigInt operations,
+     * with java.math.BigInteger run on the same operands as a reference baseline.
+     *
+     * Every case is one combination of
+     * (1) operation: add, minus, multiply, compareTo, hashCode, toString, parse, construction,
+     *     and the long overloads addLong, minusLong, multiplyLong, compareLong and valueOf
+     * (2) operand size in decimal digits, from a single limb up to 1M digits
+     * (3) sign mix: both operands positive, both negative, or one of each
+     * (4) value distribution: uniform random limbs, dense limbs (all bits set, so every
+     *     addition carries through the whole number), or sparse limbs (only the lowest and
+     *     the highest limb are set)
+     *
+     * Each case is warmed up first, then timed over several iterations of a fixed batch size,
+     * and reports the mean throughput, its relative spread, and the bytes allocated per operation.
+     * Allocation is read from the per-thread allocation counter of the HotSpot ThreadMXBean,
+     * which is what a GC allocation profiler would report, without needing a profiler agent.
+     * Timings are only meaningful relative to each other on the same machine,
+     * so track them per release by comparing the --csv output of two runs.
+     *
+     * Usage: java -cp <classes> DataStructures.Foundations.BigInt.bench.BigIntBenchmark [options]
+     *   --ops add,multiply,...        operations to run (default: all)
+     *   --digits 9,100,...            operand sizes in decimal digits
+     *   --signs positive,mixed,...    sign mixes (default: all)
+     *   --distributions uniform,...   value distributions (default: all)
+     *   --warmup <ms> --iteration <ms> --iterations <n>
+     *   --csv                         machine-readable output
+     */
+    private static final int[] DEFAULT_DIGITS = {9, 100, 1_000, 10_000, 100_000, 1_000_000};
+    private static final String[] SIGNS = {"positive", "negative", "mixed"};
+    private static final String[] DISTRIBUTIONS = {"uniform", "dense", "sparse"};
+    // 32 bits per limb is about 9.63 decimal digits
+    private static final double DIGITS_PER_LIMB = 32 * Math.log10(2);
+
+    // Every result is written here, so the JIT can't drop the operation as dead code
+    private static volatile Object sink;
+    private static volatile int intSink;
+
+    private interface Body{
+        void run();
+    }
+
+    private static final class Operation{
+        final String name;
+        // Operations whose cost doesn't depend on the operands only run once per size
+        final boolean operandSensitive;
+        final boolean sized;
+
+        Operation(String name, boolean operandSensitive, boolean sized){
+            this.name = name;
+            this.operandSensitive = operandSensitive;
+            this.sized = sized;
+        }
+    }
+
+    private static final Operation[] OPERATIONS = {
+        new Operation("add", true, true),
+        new Operation("minus", true, true),
+        new Operation("multiply", true, true),
+        new Operation("compareTo", true, true),
+        new Operation("hashCode", false, true),
+        new Operation("toString", false, true),
+        new Operation("parse", false, true),
+        new Operation("construction", false, false),
+        new Operation("addLong", true, true),
+        new Operation("minusLong", true, true),
+        new Operation("multiplyLong", true, true),
+        new Operation("compareLong", true, true),
+        new Operation("valueOf", false, false),
+    };
+
+    public static void main(String[] args){
+        List<String> ops = new ArrayList<>();
+        for(Operation operation: OPERATIONS){
+            ops.add(operation.name);
+        }
+        int[] digits = DEFAULT_DIGITS;
+        List<String> signs = Arrays.asList(SIGNS);
+        List<String> distributions = Arrays.asList(DISTRIBUTIONS);
+        long warmupMillis = 300;
+        long iterationMillis = 200;
+        int iterations = 5;
+        boolean csv = false;
+        for(int i = 0; i < args.length; i++){
+            switch(args[i]){
+                case "--ops": ops = Arrays.asList(args[++i].split(",")); break;
+                case "--digits": digits = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray(); break;
+                case "--signs": signs = Arrays.asList(args[++i].split(",")); break;
+                case "--distributions": distributions = Arrays.asList(args[++i].split(",")); break;
+                case "--warmup": warmupMillis = Long.parseLong(args[++i]); break;
+                case "--iteration": iterationMillis = Long.parseLong(args[++i]); break;
+                case "--iterations": iterations = Integer.parseInt(args[++i]); break;
+                case "--csv": csv = true; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        Timer timer = new Timer(warmupMillis * 1_000_000L, iterationMillis * 1_000_000L, iterations);
+        if(csv){
+            System.out.println("operation,implementation,digits,signs,distribution,opsPerSecond,errorPercent,bytesPerOp");
+        } else {
+            System.out.printf("%-12s %-10s %9s %-9s %-8s %15s %7s %12s%n",
+                    "operation", "impl", "digits", "signs", "dist", "ops/s", "err%", "B/op");
+        }
+        Random random = new Random(2024);
+        for(Operation operation: OPERATIONS){
+            if(!ops.contains(operation.name)){
+                continue;
+            }
+            for(int size: operation.sized? digits: new int[]{0}){
+                for(String sign: operation.operandSensitive? signs: List.of(SIGNS[0])){
+                    for(String distribution: operation.operandSensitive? distributions: List.of(DISTRIBUTIONS[0])){
+                        int limbs = Math.max(1, (int)Math.ceil(size / DIGITS_PER_LIMB));
+                        Operands operands = new Operands(limbs, sign, distribution, random);
+                        String digitsLabel = operation.sized? String.valueOf(size): "-";
+                        String signLabel = operation.operandSensitive? sign: "-";
+                        String distributionLabel = operation.operandSensitive? distribution: "-";
+                        for(String implementation: new String[]{"BigInt", "BigInteger"}){
+                            Body body = BigIntBenchmark.body(operation.name, implementation, operands, random);
+                            Timer.Result result = timer.measure(body);
+                            if(csv){
+                                System.out.printf("%s,%s,%s,%s,%s,%.1f,%.1f,%.1f%n", operation.name, implementation,
+                                        digitsLabel, signLabel, distributionLabel,
+                                        result.opsPerSecond, result.errorPercent, result.bytesPerOp);
+                            } else {
+                                System.out.printf("%-12s %-10s %9s %-9s %-8s %15.1f %7.1f %12.1f%n", operation.name, implementation,
+                                        digitsLabel, signLabel, distributionLabel,
+                                        result.opsPerSecond, result.errorPercent, result.bytesPerOp);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Body body(String operation, String implementation, Operands o, Random random){
+        boolean bigInt = implementation.equals("BigInt");
+        switch(operation){
+            case "add":
+                return bigInt? () -> sink = o.a.add(o.b): () -> sink = o.x.add(o.y);
+            case "minus":
+                return bigInt? () -> sink = o.a.minus(o.b): () -> sink = o.x.subtract(o.y);
+            case "multiply":
+                return bigInt? () -> sink = o.a.multiply(o.b): () -> sink = o.x.multiply(o.y);
+            case "compareTo":
+                // Against an equal value with its own array, so the whole magnitude is scanned
+                return bigInt? () -> intSink = o.a.compareTo(o.aCopy): () -> intSink = o.x.compareTo(o.xCopy);
+            case "hashCode":
+                return bigInt? () -> intSink = o.a.hashCode(): () -> intSink = o.x.hashCode();
+            case "toString":
+                return bigInt? () -> sink = o.a.toString(): () -> sink = o.x.toString();
+            case "parse":
+                String text = o.x.toString();
+                return bigInt? () -> sink = new BigInt(text): () -> sink = new BigInteger(text);
+            case "construction":
+                long value = random.nextLong();
+                return bigInt? () -> sink = new BigInt(value): () -> sink = BigInteger.valueOf(value);
+            case "addLong":
+                // BigInteger has no long overloads, so its baseline includes the valueOf call
+                return bigInt? () -> sink = o.a.add(o.l): () -> sink = o.x.add(BigInteger.valueOf(o.l));
+            case "minusLong":
+                return bigInt? () -> sink = o.a.minus(o.l): () -> sink = o.x.subtract(BigInteger.valueOf(o.l));
+            case "multiplyLong":
+                return bigInt? () -> sink = o.a.multiply(o.l): () -> sink = o.x.multiply(BigInteger.valueOf(o.l));
+            case "compareLong":
+                return bigInt? () -> intSink = BigInt.compare(o.a, o.l): () -> intSink = o.x.compareTo(BigInteger.valueOf(o.l));
+            case "valueOf":
+                // Small values, which both implementations serve from a cache
+                long small = random.nextInt(16);
+                return bigInt? () -> sink = BigInt.valueOf(small): () -> sink = BigInteger.valueOf(small);
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private static final class Operands{
+        // a, b and aCopy as BigInt; x, y and xCopy as BigInteger with the same values
+        // l is a long operand with the sign of b
+        final BigInt a;
+        final BigInt b;
+        final BigInt aCopy;
+        final BigInteger x;
+        final BigInteger y;
+        final BigInteger xCopy;
+        final long l;
+
+        Operands(int limbs, String sign, String distribution, Random random){
+            int[] first = Operands.limbs(limbs, distribution, random);
+            int[] second = Operands.limbs(limbs, distribution, random);
+            boolean firstNegative = sign.equals("negative");
+            boolean secondNegative = !sign.equals("positive");
+            this.a = Operands.toBigInt(first, firstNegative);
+            this.b = Operands.toBigInt(second, secondNegative);
+            this.aCopy = Operands.toBigInt(first, firstNegative);
+            this.x = Operands.toBigInteger(first, firstNegative);
+            this.y = Operands.toBigInteger(second, secondNegative);
+            this.xCopy = Operands.toBigInteger(first, firstNegative);
+            long magnitude = random.nextLong() >>> 1;
+            this.l = secondNegative? -magnitude: magnitude;
+        }
+
+        private static int[] limbs(int limbs, String distribution, Random random){
+            // Little-endian limbs, the highest one is never 0
+            int[] result = new int[limbs];
+            switch(distribution){
+                case "uniform":
+                    for(int i = 0; i < limbs; i++){
+                        result[i] = random.nextInt();
+                    }
+                    result[limbs-1] |= 1 << 31;
+                    break;
+                case "dense":
+                    Arrays.fill(result, -1);
+                    break;
+                case "sparse":
+                    result[0] = 1;
+                    result[limbs-1] |= 1 << 31;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution " + distribution);
+            }
+            return result;
+        }
+
+        private static BigInt toBigInt(int[] limbs, boolean negative){
+            // Built only from the public API
+            BigInt result = Operands.combine(limbs, 0, limbs.length, new ArrayList<>());
+            return negative? result.inverse(): result;
+        }
+
+        private static BigInt combine(int[] limbs, int from, int to, List<BigInt> powers){
+            // high * 2^(32 * half) + low, where half is a power of two, so each shift is computed once
+            if(to - from == 1){
+                return new BigInt(limbs[from] & 0xFFFF_FFFFL);
+            }
+            int half = Integer.highestOneBit(to - from - 1);
+            int level = Integer.numberOfTrailingZeros(half);
+            while(powers.size() <= level){
+                powers.add(powers.isEmpty()? new BigInt(1L << 32): powers.get(powers.size()-1).square());
+            }
+            BigInt low = Operands.combine(limbs, from, from + half, powers);
+            BigInt high = Operands.combine(limbs, from + half, to, powers);
+            return high.multiply(powers.get(level)).add(low);
+        }
+
+        private static BigInteger toBigInteger(int[] limbs, boolean negative){
+            byte[] bytes = new byte[4 * limbs.length];
+            for(int i = 0; i < limbs.length; i++){
+                int position = bytes.length - 4 * (i + 1);
+                bytes[position] = (byte)(limbs[i] >>> 24);
+                bytes[position+1] = (byte)(limbs[i] >>> 16);
+                bytes[position+2] = (byte)(limbs[i] >>> 8);
+                bytes[position+3] = (byte)limbs[i];
+            }
+            return new BigInteger(negative? -1: 1, bytes);
+        }
+    }
+
+    private static final class Timer{
+        private final long warmupNanos;
+        private final long iterationNanos;
+        private final int iterations;
+        private final com.sun.management.ThreadMXBean threads;
+
+        static final class Result{
+            final double opsPerSecond;
+            final double errorPercent;
+            final double bytesPerOp;
+
+            Result(double opsPerSecond, double errorPercent, double bytesPerOp){
+                this.opsPerSecond = opsPerSecond;
+                this.errorPercent = errorPercent;
+                this.bytesPerOp = bytesPerOp;
+            }
+        }
+
+        Timer(long warmupNanos, long iterationNanos, int iterations){
+            this.warmupNanos = warmupNanos;
+            this.iterationNanos = iterationNanos;
+            this.iterations = iterations;
+            this.threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        }
+
+        Result measure(Body body){
+            /**
+             * Reading the clock after every call would dominate the cheap operations,
+             * so the body runs in batches: during warmup the batch doubles
+             * until one batch takes at least 1ms, and stays fixed afterwards.
+             */
+            long batch = 1;
+            long warmupEnd = System.nanoTime() + this.warmupNanos;
+            while(true){
+                long start = System.nanoTime();
+                Timer.run(body, batch);
+                long elapsed = System.nanoTime() - start;
+                if(System.nanoTime() >= warmupEnd && elapsed >= 1_000_000L){
+                    break;
+                }
+                if(elapsed < 1_000_000L){
+                    batch *= 2;
+                }
+            }
+
+            double[] rates = new double[this.iterations];
+            long operations = 0;
+            long threadId = Thread.currentThread().getId();
+            long allocatedBefore = this.threads.getThreadAllocatedBytes(threadId);
+            for(int i = 0; i < this.iterations; i++){
+                long count = 0;
+                long start = System.nanoTime();
+                long elapsed;
+                do{
+                    Timer.run(body, batch);
+                    count += batch;
+                    elapsed = System.nanoTime() - start;
+                } while(elapsed < this.iterationNanos);
+                rates[i] = count * 1e9 / elapsed;
+                operations += count;
+            }
+            long allocated = this.threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            double mean = Arrays.stream(rates).average().orElse(0);
+            double variance = Arrays.stream(rates).map(rate -> (rate - mean) * (rate - mean)).sum() / Math.max(1, this.iterations - 1);
+            return new Result(mean, 100 * Math.sqrt(variance) / mean, (double)allocated / operations);
+        }
+
+        private static void run(Body body, long times){
+            for(long i = 0; i < times; i++){
+                body.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package DataStructures.Foundations.BigInt.bench;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import DataStructures.Foundations.BigInt.BigInt;
+
+public class BitwiseBenchmark {
+    /**
+     * Times the bitwise operations of BigInt on random operands of doubling size,
+     * one positive and one negative so the two's complement paths are included,
+     * and prints the nanoseconds per limb, which stay flat if the operations are linear,
+     * next to java.math.BigInteger doing the same.
+     *
+     * Usage: java -cp <classes> DataStructures.Foundations.BigInt.bench.BitwiseBenchmark [limbs...]
+     */
+    private static final int[] DEFAULT_SIZES = {1_000, 4_000, 16_000, 64_000, 256_000, 1_024_000};
+    private static final String[] OPERATIONS = {"and", "or", "xor", "andNot", "shiftLeft", "shiftRight", "bitCount"};
+    // Roughly this many limbs are processed per timed run, whatever the size
+    private static final long WORK = 50_000_000L;
+
+    public static void main(String[] args){
+        int[] sizes = DEFAULT_SIZES;
+        if(args.length > 0){
+            sizes = new int[args.length];
+            for(int i = 0; i < args.length; i++){
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("%10s %10s %14s %14s%n", "operation", "limbs", "BigInt", "BigInteger");
+        Random random = new Random(25);
+        for(String operation: OPERATIONS){
+            for(int limbs: sizes){
+                BigInteger x = new BigInteger(32 * limbs, random);
+                BigInteger y = new BigInteger(32 * limbs, random).negate();
+                BigInt a = BigInt.parse(x.toString(16), 16);
+                BigInt b = BigInt.parse(y.toString(16), 16);
+                int shift = 32 * limbs / 3 + 7;
+                double ours = BitwiseBenchmark.time(limbs, a, b, BitwiseBenchmark.bigIntOperation(operation, shift));
+                double theirs = BitwiseBenchmark.time(limbs, x, y, BitwiseBenchmark.bigIntegerOperation(operation, shift));
+                System.out.printf("%10s %10d %10.3fns/l %10.3fns/l%n", operation, limbs, ours, theirs);
+            }
+        }
+    }
+
+    private static BinaryOperator<BigInt> bigIntOperation(String operation, int shift){
+        switch(operation){
+            case "and":
+                return (a, b) -> a.and(b);
+            case "or":
+                return (a, b) -> a.or(b);
+            case "xor":
+                return (a, b) -> a.xor(b);
+            case "andNot":
+                return (a, b) -> a.andNot(b);
+            case "shiftLeft":
+                return (a, b) -> b.shiftLeft(shift);
+            case "shiftRight":
+                return (a, b) -> b.shiftRight(shift);
+            default:
+                return (a, b) -> BigInt.valueOf(b.bitCount());
+        }
+    }
+
+    private static BinaryOperator<BigInteger> bigIntegerOperation(String operation, int shift){
+        switch(operation){
+            case "and":
+                return BigInteger::and;
+            case "or":
+                return BigInteger::or;
+            case "xor":
+                return BigInteger::xor;
+            case "andNot":
+                return BigInteger::andNot;
+            case "shiftLeft":
+                return (a, b) -> b.shiftLeft(shift);
+            case "shiftRight":
+                return (a, b) -> b.shiftRight(shift);
+            default:
+                return (a, b) -> BigInteger.valueOf(b.bitCount());
+        }
+    }
+
+    private static <T> double time(int limbs, T a, T b, BinaryOperator<T> operation){
+        // Nanoseconds per limb, the best of five runs after one warm-up run
+        // The results only feed identityHashCode, since a real hashCode would be another pass over the limbs
+        int repetitions = (int)Math.max(1, WORK / limbs);
+        int sink = 0;
+        double best = Double.MAX_VALUE;
+        for(int run = 0; run < 6; run++){
+            long start = System.nanoTime();
+            for(int i = 0; i < repetitions; i++){
+                sink += System.identityHashCode(operation.apply(a, b));
+            }
+            long elapsed = System.nanoTime() - start;
+            if(run > 0){
+                best = Math.min(best, elapsed / (double)repetitions / limbs);
+            }
+        }
+        if(sink == 42){
+            System.out.print("");
+        }
+        return best;
+    }
+}
@@ -0,0 +1,98 @@
+package DataStructures.Foundations.BigInt.bench;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import DataStructures.Foundations.BigInt.BigExpr;
+import DataStructures.Foundations.BigInt.BigInt;
+
+public class ExpressionBenchmark {
+    /**
+     * Times formulas built and evaluated as a BigExpr, against the same formulas as direct chains of BigInt calls,
+     * and prints both timings per formula and the speedup of BigExpr, where below 1 means BigExpr is slower.
+     *
+     * The formulas are
+     * (1) formula: a * b + c * d - e, a small formula as a formula service builds them,
+     *     where BigExpr is computed directly, and only pays for building its nodes
+     * (2) sum: the sum of 8 products, which BigExpr accumulates into one buffer above the direct sizes
+     * (3) repeated: (a * b) * c + (a * b) * d - (a * b), with a * b built three times from the same constants,
+     *     as in a formula parsed from text, which BigExpr computes once, and the direct chain three times
+     * Both timings include building the formula from its constants, since a service builds every formula once.
+     *
+     * Usage: java -cp <classes> DataStructures.Foundations.BigInt.bench.ExpressionBenchmark [limbs...]
+     */
+    private static final int[] DEFAULT_LIMBS = {1, 4, 20, 60, 400, 3000};
+    // Roughly this many limb products are computed per timed run, whatever the size
+    private static final long WORK = 20_000_000L;
+
+    // Every result is written here, so the JIT can't drop the formula as dead code
+    private static volatile Object sink;
+
+    public static void main(String[] args){
+        int[] sizes = DEFAULT_LIMBS;
+        if(args.length > 0){
+            sizes = new int[args.length];
+            for(int i = 0; i < args.length; i++){
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("%10s %8s %14s %14s %8s%n", "formula", "limbs", "direct", "BigExpr", "speedup");
+        Random random = new Random(24);
+        for(int limbs: sizes){
+            BigInt[] v = new BigInt[16];
+            for(int i = 0; i < v.length; i++){
+                v[i] = BigInt.parse(new BigInteger(32 * limbs, random).toString(16), 16);
+            }
+            int repetitions = (int)Math.max(1, WORK / ((long)limbs * limbs));
+            ExpressionBenchmark.run("formula", limbs, repetitions,
+                    () -> v[0].multiply(v[1]).add(v[2].multiply(v[3])).minus(v[4]),
+                    () -> BigExpr.of(v[0]).multiply(v[1]).add(BigExpr.of(v[2]).multiply(v[3])).minus(v[4]).evaluate());
+            ExpressionBenchmark.run("sum", limbs, Math.max(1, repetitions / 8),
+                    () -> {
+                        BigInt sum = v[0].multiply(v[1]);
+                        for(int i = 2; i < 16; i += 2){
+                            sum = sum.add(v[i].multiply(v[i+1]));
+                        }
+                        return sum;
+                    },
+                    () -> {
+                        BigExpr sum = BigExpr.of(v[0]).multiply(v[1]);
+                        for(int i = 2; i < 16; i += 2){
+                            sum = sum.add(BigExpr.of(v[i]).multiply(v[i+1]));
+                        }
+                        return sum.evaluate();
+                    });
+            ExpressionBenchmark.run("repeated", limbs, Math.max(1, repetitions / 8),
+                    () -> v[0].multiply(v[1]).multiply(v[2]).add(v[0].multiply(v[1]).multiply(v[3])).minus(v[0].multiply(v[1])),
+                    () -> BigExpr.of(v[0]).multiply(v[1]).multiply(v[2])
+                            .add(BigExpr.of(v[0]).multiply(v[1]).multiply(v[3]))
+                            .minus(BigExpr.of(v[0]).multiply(v[1])).evaluate());
+        }
+    }
+
+    private static void run(String name, int limbs, int repetitions, Supplier<BigInt> direct, Supplier<BigInt> expression){
+        if(!direct.get().equals(expression.get())){
+            throw new AssertionError("Direct and BigExpr results differ for " + name);
+        }
+        double directNanos = ExpressionBenchmark.time(repetitions, direct);
+        double expressionNanos = ExpressionBenchmark.time(repetitions, expression);
+        System.out.printf("%10s %8d %12.0fns %12.0fns %8.2f%n", name, limbs, directNanos, expressionNanos, directNanos / expressionNanos);
+    }
+
+    private static double time(int repetitions, Supplier<BigInt> formula){
+        // Nanoseconds per formula, the best of five runs after one warm-up run
+        double best = Double.MAX_VALUE;
+        for(int run = 0; run < 6; run++){
+            long start = System.nanoTime();
+            for(int i = 0; i < repetitions; i++){
+                ExpressionBenchmark.sink = formula.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            if(run > 0){
+                best = Math.min(best, elapsed / (double)repetitions);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,164 @@
+package DataStructures.Foundations.BigInt.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import DataStructures.Foundations.BigInt.BigInt;
+
+public class MultiplyBenchmark {
+    /**
+     * Times BigInt.multiply on random balanced operands of growing size, once per algorithm tier,
+     * and prints the timings side by side so the crossover points can be read off.
+     *
+     * Every tier runs in its own forked JVM, pinned to one algorithm by the threshold
+     * system properties of the multiplication engine, so JIT profiles don't leak between tiers.
+     *
+     * Usage: java -cp <classes> DataStructures.Foundations.BigInt.bench.MultiplyBenchmark [limbs...]
+     */
+    private static final int[] DEFAULT_SIZES = {1_000, 2_000, 4_000, 8_000, 16_000, 32_000, 64_000, 128_000, 256_000};
+    // Schoolbook is quadratic, so it is only timed up to this size
+    private static final int SCHOOLBOOK_LIMIT = 16_000;
+    private static final String NEVER = String.valueOf(Integer.MAX_VALUE);
+
+    private static final String[] TIERS = {"schoolbook", "toom-cook", "ntt", "selected"};
+    private static final String[][] TIER_PROPERTIES = {
+        {"-DBigInt.karatsubaThreshold=" + NEVER},
+        {"-DBigInt.nttThreshold=" + NEVER},
+        {"-DBigInt.nttThreshold=1"},
+        {},
+    };
+
+    public static void main(String[] args) throws IOException, InterruptedException{
+        if(args.length > 0 && args[0].equals("--worker")){
+            MultiplyBenchmark.worker(args);
+            return;
+        }
+        int[] sizes = DEFAULT_SIZES;
+        if(args.length > 0){
+            sizes = new int[args.length];
+            for(int i = 0; i < args.length; i++){
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        double[][] millis = new double[TIERS.length][];
+        for(int t = 0; t < TIERS.length; t++){
+            millis[t] = MultiplyBenchmark.fork(TIER_PROPERTIES[t], sizes, t == 0);
+        }
+
+        System.out.printf("%10s %10s", "limbs", "digits");
+        for(String tier: TIERS){
+            System.out.printf(" %12s", tier);
+        }
+        System.out.println();
+        for(int i = 0; i < sizes.length; i++){
+            // 32 bits per limb is about 9.63 decimal digits
+            System.out.printf("%10d %10d", sizes[i], (long)(sizes[i] * 9.633));
+            for(int t = 0; t < TIERS.length; t++){
+                if(Double.isNaN(millis[t][i])){
+                    System.out.printf(" %12s", "-");
+                } else {
+                    System.out.printf(" %10.2fms", millis[t][i]);
+                }
+            }
+            System.out.println();
+        }
+    }
+
+    private static double[] fork(String[] properties, int[] sizes, boolean isSchoolbook) throws IOException, InterruptedException{
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + "/bin/java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for(String property: properties){
+            command.add(property);
+        }
+        command.add(MultiplyBenchmark.class.getName());
+        command.add("--worker");
+        for(int size: sizes){
+            if(!isSchoolbook || size <= SCHOOLBOOK_LIMIT){
+                command.add(String.valueOf(size));
+            }
+        }
+
+        double[] result = new double[sizes.length];
+        Arrays.fill(result, Double.NaN);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))){
+            String line;
+            while((line = reader.readLine()) != null){
+                // Every worker line is "<limbs> <milliseconds>"
+                String[] fields = line.trim().split(" ");
+                int limbs = Integer.parseInt(fields[0]);
+                for(int i = 0; i < sizes.length; i++){
+                    if(sizes[i] == limbs){
+                        result[i] = Double.parseDouble(fields[1]);
+                    }
+                }
+            }
+        }
+        process.waitFor();
+        return result;
+    }
+
+    private static void worker(String[] args){
+        Random random = new Random(2024);
+        for(int i = 1; i < args.length; i++){
+            int limbs = Integer.parseInt(args[i]);
+            BigInt a = MultiplyBenchmark.random(limbs, random);
+            BigInt b = MultiplyBenchmark.random(limbs, random);
+            System.out.println(limbs + " " + MultiplyBenchmark.time(a, b));
+        }
+    }
+
+    private static double time(BigInt a, BigInt b){
+        // Warm up, then report the best of several runs of at least 200ms each
+        long deadline = System.nanoTime() + 500_000_000L;
+        while(System.nanoTime() < deadline){
+            a.multiply(b);
+        }
+        double best = Double.MAX_VALUE;
+        for(int run = 0; run < 5; run++){
+            int count = 0;
+            long start = System.nanoTime();
+            long elapsed;
+            do{
+                a.multiply(b);
+                count += 1;
+                elapsed = System.nanoTime() - start;
+            } while(elapsed < 200_000_000L);
+            best = Math.min(best, elapsed / 1e6 / count);
+        }
+        return best;
+    }
+
+    static BigInt random(int limbs, Random random){
+        // Built only from the public API: join random halves with a power of 2^32
+        if(limbs == 1){
+            // Keep the top bit set so the operand has exactly the requested size
+            return new BigInt((random.nextInt() & 0xFFFF_FFFFL) | (1L << 31));
+        }
+        int low = limbs / 2;
+        BigInt shift = MultiplyBenchmark.powerOfTwo32(low);
+        BigInt lowPart = MultiplyBenchmark.random(low, random);
+        return MultiplyBenchmark.random(limbs - low, random).multiply(shift).add(lowPart);
+    }
+
+    private static BigInt powerOfTwo32(int limbs){
+        // (2^32)^limbs by square-and-multiply
+        BigInt result = BigInt.ONE;
+        BigInt base = new BigInt(1L << 32);
+        for(int e = limbs; e > 0; e >>= 1){
+            if((e & 1) == 1){
+                result = result.multiply(base);
+            }
+            base = base.multiply(base);
+        }
+        return result;
+    }
+}
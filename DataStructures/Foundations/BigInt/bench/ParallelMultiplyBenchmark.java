@@ -0,0 +1,74 @@
+package DataStructures.Foundations.BigInt.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import DataStructures.Foundations.BigInt.BigInt;
+
+public class ParallelMultiplyBenchmark {
+    /**
+     * Times BigInt.parallelMultiply on random balanced operands against the sequential BigInt.multiply,
+     * with ForkJoinPools of 1, 2, 4, ... threads up to the number of available processors,
+     * and prints the wall-clock time and the speedup over the sequential product per pool size.
+     *
+     * Usage: java -cp <classes> DataStructures.Foundations.BigInt.bench.ParallelMultiplyBenchmark [digits...]
+     */
+    private static final int[] DEFAULT_DIGITS = {100_000, 1_000_000, 10_000_000};
+    // 32 bits per limb is about 9.63 decimal digits
+    private static final double DIGITS_PER_LIMB = 32 * Math.log10(2);
+
+    public static void main(String[] args){
+        int[] digits = DEFAULT_DIGITS;
+        if(args.length > 0){
+            digits = new int[args.length];
+            for(int i = 0; i < args.length; i++){
+                digits[i] = Integer.parseInt(args[i]);
+            }
+        }
+        List<Integer> parallelisms = new ArrayList<>();
+        int processors = Runtime.getRuntime().availableProcessors();
+        for(int p = 1; p < processors; p *= 2){
+            parallelisms.add(p);
+        }
+        parallelisms.add(processors);
+
+        Random random = new Random(2024);
+        System.out.printf("%10s %8s %12s %8s%n", "digits", "threads", "time", "speedup");
+        for(int size: digits){
+            int limbs = Math.max(1, (int)Math.ceil(size / DIGITS_PER_LIMB));
+            BigInt a = MultiplyBenchmark.random(limbs, random);
+            BigInt b = MultiplyBenchmark.random(limbs, random);
+            double sequential = ParallelMultiplyBenchmark.time(() -> a.multiply(b));
+            System.out.printf("%10d %8s %10.2fms %8s%n", size, "-", sequential, "1.00");
+            for(int parallelism: parallelisms){
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                double parallel = ParallelMultiplyBenchmark.time(() -> a.parallelMultiply(b, pool));
+                pool.shutdown();
+                System.out.printf("%10d %8d %10.2fms %8.2f%n", size, parallelism, parallel, sequential / parallel);
+            }
+        }
+    }
+
+    private static double time(Runnable body){
+        // Warm up, then report the best of several runs of at least 200ms each
+        long deadline = System.nanoTime() + 500_000_000L;
+        while(System.nanoTime() < deadline){
+            body.run();
+        }
+        double best = Double.MAX_VALUE;
+        for(int run = 0; run < 5; run++){
+            int count = 0;
+            long start = System.nanoTime();
+            long elapsed;
+            do{
+                body.run();
+                count += 1;
+                elapsed = System.nanoTime() - start;
+            } while(elapsed < 200_000_000L);
+            best = Math.min(best, elapsed / 1e6 / count);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,165 @@
+package DataStructures.Foundations.BigInt.test;
+
+import DataStructures.Foundations.BigInt.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+import org.junit.Test;
+
+public class BigExprTest {
+
+    private static BigInt random(Random random, int limbs){
+        // Mixed signs, with zeros, and values of 0xFFFFFFFF limbs for the carries
+        int kind = random.nextInt(5);
+        BigInt value;
+        if(kind == 0){
+            value = BigInt.ZERO;
+        } else if(kind == 1){
+            value = new BigInt(2).pow(32 * (1 + random.nextInt(limbs))).minus(1);
+        } else {
+            value = new BigInt(random.nextLong() | 1).pow(1 + random.nextInt(limbs));
+        }
+        return random.nextBoolean()? value: value.inverse();
+    }
+
+    private static BigExpr[] randomExpression(Random random, int limbs, int operations){
+        // {expression, its value as a constant}, built with BigInt alongside
+        BigExpr expression = BigExpr.of(random(random, limbs));
+        BigInt value = expression.evaluate();
+        for(int i = 0; i < operations; i++){
+            BigInt operand = random(random, limbs);
+            switch(random.nextInt(5)){
+                case 0:
+                    expression = expression.add(operand);
+                    value = value.add(operand);
+                    break;
+                case 1:
+                    expression = expression.minus(operand);
+                    value = value.minus(operand);
+                    break;
+                case 2:
+                    expression = expression.multiply(operand);
+                    value = value.multiply(operand);
+                    break;
+                case 3:
+                    // A sum of products, which is the fused case
+                    BigInt other = random(random, limbs);
+                    expression = expression.add(BigExpr.of(operand).multiply(other));
+                    value = value.add(operand.multiply(other));
+                    break;
+                default:
+                    // A nested expression on either side, whose value was built with BigInt too
+                    BigExpr[] nested = randomExpression(random, limbs, 3);
+                    BigInt nestedValue = nested[1].evaluate();
+                    if(random.nextBoolean()){
+                        expression = expression.minus(nested[0]);
+                        value = value.minus(nestedValue);
+                    } else {
+                        expression = nested[0].minus(expression);
+                        value = nestedValue.minus(value);
+                    }
+            }
+        }
+        return new BigExpr[]{expression, BigExpr.of(value)};
+    }
+
+    @Test
+    public void testAgainstBigInt(){
+        Random random = new Random(24);
+        for(int i = 0; i < 500; i++){
+            // Small expressions are computed directly, larger ones through a plan
+            BigExpr[] expression = randomExpression(random, 1 + random.nextInt(4), random.nextInt(40));
+            assertEquals(expression[1].evaluate(), expression[0].evaluate());
+        }
+        BigInt a = random(random, 3);
+        BigInt b = random(random, 3);
+        BigInt c = random(random, 3);
+        BigInt d = random(random, 3);
+        BigInt e = random(random, 3);
+        BigExpr expression = BigExpr.of(a).multiply(b).add(BigExpr.of(c).multiply(d)).minus(e);
+        assertEquals(a.multiply(b).add(c.multiply(d)).minus(e), expression.evaluate());
+        assertEquals(BigInt.valueOf(2).pow(100), BigExpr.of(2).pow(100).evaluate());
+        assertEquals(BigInt.ONE, BigExpr.of(a).pow(0).evaluate());
+        assertEquals(BigInt.ZERO, BigExpr.of(a).minus(a).evaluate());
+        assertEquals("(((3 * 4) + 5) - (2 ^ 3))", BigExpr.of(3).multiply(4).add(5).minus(BigExpr.of(2).pow(3)).toString());
+        assertThrows(ArithmeticException.class, () -> BigExpr.of(2).pow(-1));
+    }
+
+    @Test
+    public void testLargeSumsOfProducts(){
+        // Operands below and above the Karatsuba threshold, with shared and repeated subexpressions
+        Random random = new Random(25);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for(int limbs: new int[]{20, 150, 1500}){
+            BigInt[] values = new BigInt[6];
+            for(int i = 0; i < values.length; i++){
+                values[i] = random(random, limbs);
+            }
+            BigExpr shared = BigExpr.of(values[0]).multiply(values[1]);
+            BigExpr expression = shared;
+            BigInt expected = values[0].multiply(values[1]);
+            for(int i = 2; i + 1 < values.length; i++){
+                // Alternately b * a, which is the same as a * b, and a new product
+                BigExpr term = BigExpr.of(values[i]).multiply(values[i+1]).add(BigExpr.of(values[1]).multiply(values[0]));
+                expression = i % 2 == 0? expression.add(term): expression.minus(term);
+                BigInt value = values[i].multiply(values[i+1]).add(values[1].multiply(values[0]));
+                expected = i % 2 == 0? expected.add(value): expected.minus(value);
+            }
+            expression = expression.multiply(shared.minus(values[5])).add(BigExpr.of(values[2]).pow(3));
+            expected = expected.multiply(values[0].multiply(values[1]).minus(values[5])).add(values[2].pow(3));
+            assertEquals(expected, expression.evaluate());
+            assertEquals(expected, expression.parallelEvaluate(pool));
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSharedSubexpressions(){
+        // x + x, 200 times over, has 2^200 paths but only 201 distinct nodes
+        BigExpr x = BigExpr.of(3);
+        BigExpr y = BigExpr.of(3);
+        for(int i = 0; i < 200; i++){
+            x = x.add(x);
+            // The same value, built from separate but equal nodes
+            y = y.multiply(2);
+        }
+        BigInt expected = BigInt.valueOf(3).multiply(BigInt.valueOf(2).pow(200));
+        assertEquals(expected, x.evaluate());
+        assertEquals(expected, x.parallelEvaluate());
+        assertEquals(BigInt.ZERO, x.minus(y).evaluate());
+        assertEquals(expected.multiply(expected), x.multiply(y).evaluate());
+    }
+
+    @Test
+    public void testDeepChain(){
+        // Deeper than the call stack allows for recursion
+        BigExpr expression = BigExpr.of(0);
+        long expected = 0;
+        for(int i = 1; i <= 200_000; i++){
+            expression = i % 3 == 0? expression.minus(BigExpr.of(i).multiply(i)): expression.add(i);
+            expected += i % 3 == 0? -(long)i * i: i;
+        }
+        assertEquals(BigInt.valueOf(expected), expression.evaluate());
+        assertEquals(BigInt.valueOf(expected), expression.parallelEvaluate());
+    }
+
+    @Test
+    public void testDeepChainOfLargeNodes(){
+        // Nodes above the parallel threshold that are not fused, each one depending on the one before
+        BigInt base = BigInt.ONE.shiftLeft(32 * 2100).minus(7);
+        BigExpr product = BigExpr.of(base);
+        BigExpr doubled = BigExpr.of(base);
+        for(int i = 0; i < 3000; i++){
+            product = product.multiply(BigExpr.of(1));
+            doubled = doubled.add(doubled);
+        }
+        assertEquals(base, product.evaluate());
+        assertEquals(base, product.parallelEvaluate());
+        BigInt expected = base.shiftLeft(3000);
+        assertEquals(expected, doubled.evaluate());
+        assertEquals(expected, doubled.parallelEvaluate());
+    }
+}
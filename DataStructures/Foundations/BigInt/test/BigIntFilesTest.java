@@ -0,0 +1,69 @@
+package DataStructures.Foundations.BigInt.test;
+
+import DataStructures.Foundations.BigInt.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+import org.junit.Test;
+
+public class BigIntFilesTest {
+
+    private static BigInt[] values(){
+        return new BigInt[]{BigInt.ZERO, new BigInt(-1), new BigInt(Long.MIN_VALUE),
+                new BigInt(3).pow(100_000), BigInt.ZERO.minus(new BigInt(7).pow(54_321).add(1))};
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException{
+        Path path = Files.createTempFile("bigint", ".bin");
+        try{
+            for(BigInt value: values()){
+                BigIntFiles.write(value, path);
+                // The same bytes as toByteArray, also after replacing a longer file
+                assertArrayEquals(value.toByteArray(), Files.readAllBytes(path));
+                assertEquals(value, BigIntFiles.read(path));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testMalformedBinaryFile() throws IOException{
+        Path path = Files.createTempFile("bigint", ".bin");
+        try{
+            // Empty, truncated, longer than the value, and negative zero
+            byte[][] contents = {{}, {2, 1, 0, 0}, {2, 1, 0, 0, 0, 0}, {1}};
+            for(byte[] content: contents){
+                Files.write(path, content);
+                assertThrows(IOException.class, () -> BigIntFiles.read(path));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testDecimalRoundTrip() throws IOException{
+        Path path = Files.createTempFile("bigint", ".txt");
+        try{
+            for(BigInt value: values()){
+                BigIntFiles.writeDecimal(value, path);
+                assertEquals(value.toString(), new String(Files.readAllBytes(path), StandardCharsets.US_ASCII));
+                assertEquals(value, BigIntFiles.readDecimal(path));
+            }
+            Files.write(path, "-123456789012345678901234567890\r\n".getBytes(StandardCharsets.US_ASCII));
+            assertEquals(new BigInt("-123456789012345678901234567890"), BigIntFiles.readDecimal(path));
+            Files.write(path, "12 34".getBytes(StandardCharsets.US_ASCII));
+            assertThrows(NumberFormatException.class, () -> BigIntFiles.readDecimal(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
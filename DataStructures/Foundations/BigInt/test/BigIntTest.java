@@ -3,6 +3,25 @@ package DataStructures.Foundations.BigInt.test;
 
 
 import DataStructures.Foundations.BigInt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -52,6 +71,12 @@ public class BigIntTest {
         assertFalse(a == b);
     }
 
+    @Test
+    public void testConstructorMinLong(){
+        BigInt bi = new BigInt(Long.MIN_VALUE);
+        assertEquals(String.valueOf(Long.MIN_VALUE), bi.toString());
+    }
+
     @Test
     public void testToStringLong(){
         BigInt a = new BigInt(10_000_000_000L);
@@ -134,6 +159,69 @@ public class BigIntTest {
         assertEquals(1, BigInt.compare(bi, i));
     }
 
+    @Test
+    public void testStaticComparisonWithLongLimits(){
+        BigInt twoTo63 = new BigInt(2).pow(63);
+        assertEquals(1, BigInt.compare(twoTo63, Long.MAX_VALUE));
+        assertEquals(0, BigInt.compare(twoTo63.inverse(), Long.MIN_VALUE));
+        assertEquals(-1, BigInt.compare(twoTo63.inverse().minus(1), Long.MIN_VALUE));
+        assertEquals(1, BigInt.compare(BigInt.ZERO, -1));
+        assertTrue(BigInt.isEqual(BigInt.ZERO, 0));
+        assertFalse(BigInt.isEqual(new BigInt(2).pow(64), 0));
+    }
+
+    @Test
+    public void testValueOfCache(){
+        assertTrue(BigInt.valueOf(0) == BigInt.ZERO);
+        assertTrue(BigInt.valueOf(1) == BigInt.ONE);
+        assertTrue(BigInt.valueOf(-16) == BigInt.valueOf(-16));
+        assertTrue(BigInt.valueOf(256) == BigInt.valueOf(256));
+        assertEquals(new BigInt(Long.MIN_VALUE), BigInt.valueOf(Long.MIN_VALUE));
+        assertEquals("-17", BigInt.valueOf(-17).toString());
+    }
+
+    @Test
+    public void testSignumAndIsZero(){
+        assertTrue(new BigInt().isZero());
+        assertFalse(new BigInt(-1).isZero());
+        assertEquals(0, BigInt.ZERO.signum());
+        assertEquals(1, new BigInt(Long.MAX_VALUE).signum());
+        assertEquals(-1, new BigInt(Long.MIN_VALUE).signum());
+    }
+
+    @Test
+    public void testBitLengthAndLongValueExact(){
+        assertEquals(0, BigInt.ZERO.bitLength());
+        // Two's complement bits without the sign, as in BigInteger
+        assertEquals(63, new BigInt(Long.MIN_VALUE).bitLength());
+        assertEquals(64, new BigInt(Long.MIN_VALUE).abs().bitLength());
+        assertEquals(63, new BigInt(-Long.MAX_VALUE).bitLength());
+        assertEquals(101, new BigInt(2).pow(100).bitLength());
+        long[] values = {0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 1L << 32, -(1L << 32) - 5};
+        for(long value: values){
+            assertEquals(value, new BigInt(value).longValueExact());
+        }
+        assertThrows(ArithmeticException.class, () -> new BigInt(Long.MAX_VALUE).add(1).longValueExact());
+        assertThrows(ArithmeticException.class, () -> new BigInt(Long.MIN_VALUE).minus(1).longValueExact());
+        assertThrows(ArithmeticException.class, () -> new BigInt(2).pow(64).longValueExact());
+    }
+
+    @Test
+    public void testLongOverloads(){
+        BigInt twoTo64 = new BigInt(2).pow(64);
+        // Carries into a third limb, and borrows back out of it
+        assertEquals(twoTo64, new BigInt(Long.MAX_VALUE).add(Long.MAX_VALUE).add(2));
+        assertEquals("18446744073709551615", twoTo64.minus(1).toString());
+        assertEquals("-1", BigInt.minus(Long.MAX_VALUE, new BigInt(2).pow(63)).toString());
+        assertEquals("9223372036854775808", BigInt.minus(0, new BigInt(Long.MIN_VALUE)).toString());
+        assertEquals("9223372036854775808", BigInt.ZERO.minus(Long.MIN_VALUE).toString());
+        assertEquals("0", new BigInt(Long.MIN_VALUE).add(new BigInt(2).pow(63)).toString());
+        assertEquals("-170141183460469231731687303715884105728", twoTo64.multiply(Long.MIN_VALUE).toString());
+        assertEquals("-18446744073709551616", twoTo64.multiply(-1).toString());
+        assertEquals("85070591730234615847396907784232501249", BigInt.multiply(Long.MAX_VALUE, new BigInt(Long.MAX_VALUE)).toString());
+        assertEquals("0", BigInt.multiply(0, twoTo64).toString());
+    }
+
     @Test
     public void testHashConsistency(){
         BigInt bi = new BigInt(12345);
@@ -149,6 +237,47 @@ public class BigIntTest {
         assertTrue(a.hashCode() == b.hashCode());
     }
 
+    @Test
+    public void testComparisonLongEqualPrefix(){
+        // Equal leading limbs, so the comparison has to find the highest differing limb below them
+        BigInt a = powerOfTen(5000);
+        BigInt b = a.add(1);
+        BigInt c = a.add(new BigInt(2).pow(32 * 300));
+        assertEquals(-1, a.compareTo(b));
+        assertEquals(1, c.compareTo(b));
+        assertEquals(-1, c.inverse().compareTo(b.inverse()));
+        assertEquals(0, a.compareTo(powerOfTen(5000)));
+    }
+
+    @Test
+    public void testHashAsMapKey(){
+        // Equal values built in different ways, hashed before and after the copy
+        BigInt a = powerOfTen(5000).add(7);
+        BigInt b = powerOfTen(5000).add(3).add(4);
+        int hash = a.hashCode();
+        assertEquals(hash, b.hashCode());
+        assertEquals(hash, new BigInt(a).hashCode());
+        assertTrue(a.equals(b));
+        assertFalse(a.equals(b.add(1)));
+        assertFalse(a.equals(a.inverse()));
+        Map<BigInt, String> map = new HashMap<>();
+        map.put(a, "a");
+        assertEquals("a", map.get(b));
+        assertEquals(null, map.get(b.minus(1)));
+    }
+
+    @Test
+    public void testAddCarryAndBorrowThroughTail(){
+        // The carry or borrow runs through every limb of the longer operand
+        BigInt power = new BigInt(2).pow(3200);
+        BigInt allOnes = power.minus(1);
+        assertEquals(power, allOnes.add(1));
+        assertEquals(power, BigInt.ONE.add(allOnes));
+        assertEquals(power.multiply(2).minus(2), allOnes.add(allOnes));
+        assertEquals(allOnes.minus(new BigInt(2).pow(1600)), power.minus(new BigInt(2).pow(1600).add(1)));
+        assertEquals(new BigInt(2).pow(64), new BigInt(2).pow(64).add(power).minus(power));
+    }
+
     @Test
     public void testAddZero(){
         BigInt bi = new BigInt(12345);
@@ -184,6 +313,14 @@ public class BigIntTest {
         assertTrue(a.add(b).equals(c));
     }
 
+    @Test
+    public void testAddBlockMaxValue(){
+        BigInt a = new BigInt(999_999_998);
+        BigInt b = new BigInt(999_999_999);
+        assertTrue(a.add(1).equals(b));
+        assertEquals("1000000000999999999", new BigInt(1_000_000_000_000_000_000L).add(b).toString());
+    }
+
     @Test
     public void testAddNegativeNumbers(){
         BigInt a = new BigInt(-1);
@@ -223,6 +360,14 @@ public class BigIntTest {
         assertTrue(a.minus(b).equals(c));
     }
     
+    @Test
+    public void testMinusNegativeMinusPositive(){
+        BigInt a = new BigInt(-5);
+        BigInt b = new BigInt(3);
+        BigInt c = new BigInt(-8);
+        assertTrue(a.minus(b).equals(c));
+    }
+
     @Test
     public void testMinusDifferentLength(){
         BigInt a = new BigInt(1_000_000_001);
@@ -279,5 +424,638 @@ public class BigIntTest {
 
 
     }
-    
+
+    private static BigInt powerOfTen(int n){
+        // 10^n built from the long constructor and multiply only
+        BigInt result = BigInt.ONE;
+        for(int i = 0; i < n; i++){
+            result = result.multiply(10);
+        }
+        return result;
+    }
+
+    @Test
+    public void testMultiplyKaratsubaSize(){
+        // (10^1000 - 1)^2 == 10^2000 - 2*10^1000 + 1, about 100 limbs per operand
+        BigInt a = powerOfTen(1000).minus(1);
+        assertEquals("9".repeat(999)+"8"+"0".repeat(999)+"1", a.multiply(a).toString());
+    }
+
+    @Test
+    public void testMultiplyToomCookSize(){
+        // About 320 limbs per operand
+        BigInt a = powerOfTen(3000).minus(1);
+        BigInt b = powerOfTen(3000).add(1);
+        assertEquals("9".repeat(2999)+"8"+"0".repeat(2999)+"1", a.multiply(a).toString());
+        assertEquals("1"+"0".repeat(5999)+"1", b.multiply(b).minus(powerOfTen(3000).multiply(2)).toString());
+        assertTrue(a.multiply(b).equals(powerOfTen(6000).minus(1)));
+    }
+
+    @Test
+    public void testMultiplyUnbalanced(){
+        BigInt a = powerOfTen(6000).minus(1);
+        BigInt b = powerOfTen(1000).minus(1);
+        // (10^6000 - 1)(10^1000 - 1) == 10^7000 - 10^6000 - 10^1000 + 1
+        assertEquals("9".repeat(999)+"8"+"9".repeat(5000)+"0".repeat(999)+"1", a.multiply(b).toString());
+        assertTrue(a.multiply(b.inverse()).equals(b.multiply(a).inverse()));
+    }
+
+    @Test
+    public void testMultiplyNumberTheoreticTransformSize(){
+        // About 10400 limbs per operand
+        BigInt tenToTenThousand = powerOfTen(10_000);
+        BigInt a = BigInt.ONE;
+        for(int i = 0; i < 10; i++){
+            a = a.multiply(tenToTenThousand);
+        }
+        a = a.minus(1);
+        assertEquals("9".repeat(99_999)+"8"+"0".repeat(99_999)+"1", a.multiply(a).toString());
+    }
+
+    @Test
+    public void testSquareMatchesMultiply(){
+        // Squaring must agree with multiplying two distinct copies at every tier
+        int[] digits = {5, 30, 1000, 3000, 100_000};
+        for(int n: digits){
+            BigInt a = powerOfTen(n).minus(7);
+            BigInt b = new BigInt(a);
+            assertTrue(a.square().equals(BigInt.multiply(a, b)));
+            assertTrue(BigInt.square(a.inverse()).equals(BigInt.multiply(a, b)));
+        }
+    }
+
+    @Test
+    public void testSquareZeroAndOne(){
+        assertTrue(BigInt.ZERO.square().equals(BigInt.ZERO));
+        assertTrue(new BigInt(-1).square().equals(BigInt.ONE));
+    }
+
+    @Test
+    public void testPow(){
+        assertEquals("1", new BigInt(12345).pow(0).toString());
+        assertEquals("12345", new BigInt(12345).pow(1).toString());
+        assertEquals("1"+"0".repeat(100), new BigInt(10).pow(100).toString());
+        assertTrue(new BigInt(3).pow(1000).equals(powerOfThree(1000)));
+    }
+
+    @Test
+    public void testPowNegativeBase(){
+        assertEquals("-1"+"0".repeat(99), new BigInt(-10).pow(99).toString());
+        assertEquals("1"+"0".repeat(100), new BigInt(-10).pow(100).toString());
+    }
+
+    @Test
+    public void testPowNegativeExponent(){
+        assertThrows(ArithmeticException.class, () -> new BigInt(2).pow(-1));
+    }
+
+    @Test
+    public void testParallelMultiply(){
+        // Toom-Cook 3 (3k limbs), NTT (12k limbs) and unbalanced operands, against the sequential product
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            BigInt[][] cases = {
+                {new BigInt(3).pow(60_000), new BigInt(7).pow(34_000).minus(1)},
+                {new BigInt(3).pow(250_000).inverse(), new BigInt(5).pow(170_000).add(12345)},
+                {new BigInt(7).pow(200_000), new BigInt(3).pow(20_000).inverse()},
+            };
+            for(BigInt[] c: cases){
+                assertEquals(c[0].multiply(c[1]), c[0].parallelMultiply(c[1], pool));
+                assertEquals(c[0].square(), c[0].parallelSquare(pool));
+            }
+            assertEquals("0", BigInt.parallelMultiply(BigInt.ZERO, cases[0][0]).toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelPow(){
+        BigInt a = new BigInt(-3).pow(9_999);
+        assertEquals(a.pow(5), a.parallelPow(5));
+        assertEquals("1", a.parallelPow(0).toString());
+    }
+
+    private static BigInt powerOfThree(int n){
+        BigInt result = BigInt.ONE;
+        for(int i = 0; i < n; i++){
+            result = result.multiply(3);
+        }
+        return result;
+    }
+
+    @Test
+    public void testDivideSigns(){
+        // Same semantics as / and % on long
+        long[][] cases = {{7, 2}, {-7, 2}, {7, -2}, {-7, -2}, {6, 3}, {1, 5}};
+        for(long[] c: cases){
+            BigInt[] qr = BigInt.divideAndRemainder(new BigInt(c[0]), new BigInt(c[1]));
+            assertTrue(BigInt.isEqual(qr[0], c[0] / c[1]));
+            assertTrue(BigInt.isEqual(qr[1], c[0] % c[1]));
+        }
+    }
+
+    @Test
+    public void testDivideWithPrimitives(){
+        BigInt a = new BigInt(10_000_000_000L);
+        assertEquals("3333333333", a.divide(3).toString());
+        assertEquals("3333333333", BigInt.divide(a, 3).toString());
+        assertEquals("0", BigInt.divide(3, a).toString());
+        assertEquals("1", a.divideAndRemainder(3)[1].toString());
+    }
+
+    @Test
+    public void testDivideByZero(){
+        BigInt a = new BigInt(12345);
+        assertThrows(ArithmeticException.class, () -> a.divide(0));
+        assertThrows(ArithmeticException.class, () -> a.mod(BigInt.ZERO));
+    }
+
+    @Test
+    public void testMod(){
+        assertEquals("2", BigInt.mod(-7, new BigInt(3)).toString());
+        assertEquals("1", new BigInt(7).mod(3).toString());
+        assertEquals("0", new BigInt(-6).mod(3).toString());
+        assertThrows(ArithmeticException.class, () -> new BigInt(7).mod(-3));
+    }
+
+    @Test
+    public void testDivideMultiLimb(){
+        // Knuth's Algorithm D
+        BigInt a = powerOfTen(300).minus(1);
+        BigInt b = powerOfTen(100).minus(1);
+        assertTrue(a.divide(b).equals(powerOfTen(200).add(powerOfTen(100)).add(1)));
+        assertEquals("0", a.mod(b).toString());
+        BigInt[] qr = a.add(b).minus(1).divideAndRemainder(b);
+        assertTrue(qr[0].equals(powerOfTen(200).add(powerOfTen(100)).add(1)));
+        assertTrue(qr[1].equals(b.minus(1)));
+    }
+
+    @Test
+    public void testDivideRecursive(){
+        // Burnikel-Ziegler, about 3100 limbs by 1550 limbs
+        BigInt b = powerOfTen(15_000).minus(1);
+        BigInt q = powerOfTen(15_000).add(1);
+        BigInt r = powerOfTen(14_000).multiply(7);
+        BigInt[] qr = q.multiply(b).add(r).divideAndRemainder(b);
+        assertTrue(qr[0].equals(q));
+        assertTrue(qr[1].equals(r));
+    }
+
+    @Test
+    public void testDivideNewton(){
+        // Newton reciprocal, about 34000 limbs by 33200 limbs, with a remainder just below the divisor
+        BigInt b = powerOfTen(320_000).minus(1);
+        BigInt q = powerOfTen(330_000).add(12345);
+        BigInt r = b.minus(1);
+        BigInt[] qr = q.multiply(b).add(r).divideAndRemainder(b);
+        assertTrue(qr[0].equals(q));
+        assertTrue(qr[1].equals(r));
+        assertTrue(q.multiply(b).inverse().divide(b).equals(q.inverse()));
+    }
+
+    @Test
+    public void testSqrt(){
+        assertEquals("0", BigInt.ZERO.sqrt().toString());
+        assertEquals("3037000499", new BigInt(Long.MAX_VALUE).sqrt().toString());
+        BigInt s = powerOfTen(5000).add(12345);
+        // Around a perfect square, where a root that is one too large would show up
+        BigInt[] below = s.square().minus(1).sqrtAndRemainder();
+        assertTrue(below[0].equals(s.minus(1)));
+        assertTrue(below[1].equals(s.multiply(2).minus(2)));
+        BigInt[] exact = s.square().sqrtAndRemainder();
+        assertTrue(exact[0].equals(s));
+        assertTrue(exact[1].isZero());
+        Random random = new Random(22);
+        for(int i = 0; i < 200; i++){
+            BigInt x = new BigInt(random.nextLong()).abs().multiply(powerOfTen(random.nextInt(2000))).add(random.nextInt(1000));
+            BigInt[] sr = BigInt.sqrtAndRemainder(x);
+            assertTrue(sr[0].square().add(sr[1]).equals(x));
+            assertTrue(sr[1].signum() >= 0 && sr[1].compareTo(sr[0].multiply(2)) <= 0);
+        }
+        assertThrows(ArithmeticException.class, () -> new BigInt(-4).sqrt());
+    }
+
+    @Test
+    public void testNthRoot(){
+        assertEquals("2", new BigInt(8).nthRoot(3).toString());
+        assertEquals("1", new BigInt(7).nthRoot(3).toString());
+        assertEquals("-2", BigInt.nthRoot(new BigInt(-9), 3).toString());
+        assertEquals("12345", new BigInt(12345).nthRoot(1).toString());
+        assertEquals("1", new BigInt(2).pow(100).minus(1).nthRoot(100).toString());
+        Random random = new Random(23);
+        for(int i = 0; i < 100; i++){
+            int k = 3 + random.nextInt(20);
+            BigInt r = new BigInt(random.nextLong()).abs().multiply(powerOfTen(random.nextInt(200))).add(2);
+            // Exact powers and one below them
+            assertTrue(r.pow(k).nthRoot(k).equals(r));
+            assertTrue(r.pow(k).minus(1).nthRoot(k).equals(r.minus(1)));
+        }
+        assertThrows(ArithmeticException.class, () -> new BigInt(-16).nthRoot(4));
+        assertThrows(ArithmeticException.class, () -> new BigInt(16).nthRoot(0));
+    }
+
+    @Test
+    public void testParseDecimal(){
+        assertEquals("123456789012345678901234567890", new BigInt("123456789012345678901234567890").toString());
+        assertEquals("-42", new BigInt("-0042").toString());
+        assertEquals("7", BigInt.parse("+7").toString());
+        assertEquals("0", new BigInt("-000").toString());
+        assertTrue(new BigInt("-9223372036854775808").equals(new BigInt(Long.MIN_VALUE)));
+    }
+
+    @Test
+    public void testParseRadix(){
+        assertTrue(BigInt.parse("ffffffffffffffff", 16).equals(new BigInt(1L << 32).square().minus(1)));
+        assertTrue(BigInt.parse("-Zz", 36).equals(new BigInt(-1295)));
+        assertTrue(BigInt.parse("1" + "0".repeat(100), 2).equals(new BigInt(2).pow(100)));
+    }
+
+    @Test
+    public void testParseInvalid(){
+        assertThrows(NumberFormatException.class, () -> new BigInt(""));
+        assertThrows(NumberFormatException.class, () -> new BigInt("-"));
+        assertThrows(NumberFormatException.class, () -> new BigInt("12 3"));
+        assertThrows(NumberFormatException.class, () -> new BigInt("1-2"));
+        assertThrows(NumberFormatException.class, () -> BigInt.parse("12", 2));
+        assertThrows(NumberFormatException.class, () -> BigInt.parse("12", 37));
+    }
+
+    @Test
+    public void testParseOnlyAsciiDigits(){
+        // Arabic-Indic and fullwidth digits are digits for Character.digit, but not for parse, in any radix
+        for(int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++){
+            int r = radix;
+            assertThrows(NumberFormatException.class, () -> BigInt.parse("\u0661", r));
+            assertThrows(NumberFormatException.class, () -> BigInt.parse("1\uFF10", r));
+            assertThrows(NumberFormatException.class, () -> BigInt.parse("-\uFF41", r));
+        }
+        // Also inside a text long enough for the divide-and-conquer path
+        assertThrows(NumberFormatException.class, () -> BigInt.parse("1".repeat(5000) + "\u0661" + "1".repeat(5000)));
+        assertThrows(NumberFormatException.class, () -> BigInt.parse("f".repeat(5000) + "\uFF46" + "f".repeat(5000), 16));
+        assertTrue(BigInt.parse("aBcDeF", 16).equals(new BigInt(0xABCDEF)));
+        assertTrue(BigInt.parse("-zZ", 36).equals(BigInt.parse("-ZZ", 36)));
+    }
+
+    @Test
+    public void testParseLong(){
+        // Long enough for the divide-and-conquer path
+        String nines = "9".repeat(20_000);
+        assertTrue(new BigInt(nines).equals(powerOfTen(20_000).minus(1)));
+        assertEquals(nines, new BigInt(nines).toString());
+    }
+
+    @Test
+    public void testDivideByLargeLimb(){
+        // A single-limb divisor with the top bit set
+        BigInt a = BigInt.parse("123456789abcdef0123456789abcdef", 16);
+        BigInt[] qr = a.divideAndRemainder(0xFFFF_FFFBL);
+        assertEquals("12345678f5c28f4cdf0122f", qr[0].toString(16));
+        assertEquals("8f5c28da", qr[1].toString(16));
+    }
+
+    @Test
+    public void testToStringRadix(){
+        assertEquals("-ff", new BigInt(-255).toString(16));
+        assertEquals("zz", new BigInt(1295).toString(36));
+        assertEquals("1" + "0".repeat(100), new BigInt(2).pow(100).toString(2));
+        assertEquals("0", BigInt.ZERO.toString(7));
+        // An invalid radix falls back to 10, like Integer.toString
+        assertEquals("255", new BigInt(255).toString(99));
+    }
+
+    @Test
+    public void testToStringDivideAndConquer(){
+        // Long enough for the divide-and-conquer path, with runs of zeros inside the remainders
+        BigInt a = powerOfTen(5_000).add(1);
+        assertEquals("1" + "0".repeat(4_999) + "1", a.toString());
+        String hex = "f" + "0".repeat(3_000) + "abc";
+        assertEquals(hex, BigInt.parse(hex, 16).toString(16));
+    }
+
+    @Test
+    public void testWriteTo() throws IOException{
+        BigInt a = powerOfTen(3_000).inverse().minus(7);
+        StringWriter writer = new StringWriter();
+        a.writeTo(writer);
+        assertEquals(a.toString(), writer.toString());
+        StringBuilder builder = new StringBuilder();
+        a.writeTo(builder, 36);
+        assertEquals(a.toString(36), builder.toString());
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        a.writeTo(stream);
+        assertEquals(a.toString(), stream.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testModPow(){
+        assertEquals("445", new BigInt(4).modPow(new BigInt(13), new BigInt(497)).toString());
+        // A negative base is reduced first, an even modulus uses Barrett reduction
+        assertEquals("16", new BigInt(-4).modPow(new BigInt(3), new BigInt(40)).toString());
+        assertEquals("1", new BigInt(5).modPow(BigInt.ZERO, new BigInt(7)).toString());
+        assertEquals("0", new BigInt(5).modPow(new BigInt(3), BigInt.ONE).toString());
+        // 3^-1 mod 7 == 5, so 3^-2 == 25 mod 7 == 4
+        assertEquals("4", new BigInt(3).modPow(new BigInt(-2), new BigInt(7)).toString());
+        assertThrows(ArithmeticException.class, () -> new BigInt(3).modPow(BigInt.ONE, new BigInt(-7)));
+    }
+
+    @Test
+    public void testModPowFermat(){
+        // 2^521 - 1 is prime, so a^(p-1) == 1 (mod p) for every a not divisible by p
+        BigInt p = new BigInt(2).pow(521).minus(1);
+        BigInt a = powerOfTen(150).add(7);
+        assertEquals("1", a.modPow(p.minus(1), p).toString());
+        assertTrue(a.modPow(p, p).equals(a));
+    }
+
+    @Test
+    public void testModInverse(){
+        assertEquals("5", new BigInt(3).modInverse(new BigInt(7)).toString());
+        assertEquals("2", new BigInt(-3).modInverse(new BigInt(7)).toString());
+        BigInt p = new BigInt(2).pow(127).minus(1);
+        BigInt a = powerOfTen(30).add(3);
+        assertEquals("1", a.multiply(a.modInverse(p)).mod(p).toString());
+        assertThrows(ArithmeticException.class, () -> new BigInt(4).modInverse(new BigInt(10)));
+        assertThrows(ArithmeticException.class, () -> new BigInt(4).modInverse(BigInt.ZERO));
+    }
+
+    @Test
+    public void testGcd(){
+        assertEquals("6", new BigInt(-12).gcd(18).toString());
+        assertEquals("7", BigInt.gcd(BigInt.ZERO, new BigInt(-7)).toString());
+        assertEquals("0", BigInt.gcd(BigInt.ZERO, BigInt.ZERO).toString());
+        assertEquals("1", BigInt.gcd(Long.MAX_VALUE, new BigInt(Long.MIN_VALUE)).toString());
+        // A large common factor times coprime cofactors, through both the binary GCD and Lehmer
+        BigInt g = powerOfThree(500);
+        BigInt a = g.multiply(powerOfTen(40).add(1));
+        BigInt b = g.multiply(new BigInt(2).pow(3000));
+        assertEquals(g, a.gcd(b));
+        assertEquals(powerOfThree(20), powerOfThree(20).multiply(2).gcd(powerOfThree(25)));
+    }
+
+    @Test
+    public void testGcdFibonacci(){
+        // Consecutive Fibonacci numbers are coprime, and every quotient of their remainder sequence is 1
+        BigInt previous = BigInt.ZERO;
+        BigInt current = BigInt.ONE;
+        for(int i = 0; i < 5000; i++){
+            BigInt next = previous.add(current);
+            previous = current;
+            current = next;
+        }
+        assertEquals("1", current.gcd(previous).toString());
+        // gcd(F(m), F(n)) == F(gcd(m, n)), here F(10000) and F(5000)
+        BigInt f5000 = previous;
+        for(int i = 0; i < 5000; i++){
+            BigInt next = previous.add(current);
+            previous = current;
+            current = next;
+        }
+        assertEquals(f5000, previous.gcd(f5000));
+    }
+
+    @Test
+    public void testLcm(){
+        assertEquals("36", new BigInt(-12).lcm(18).toString());
+        assertEquals("0", BigInt.lcm(BigInt.ZERO, new BigInt(5)).toString());
+        BigInt a = powerOfTen(50);
+        BigInt b = powerOfThree(50).multiply(4);
+        assertEquals(powerOfTen(50).multiply(powerOfThree(50)), a.lcm(b));
+    }
+
+    @Test
+    public void testExtendedGcd(){
+        long[][] cases = {{240, 46}, {-240, 46}, {240, -46}, {-240, -46}, {0, -5}, {7, 0}, {1, 1}, {46, 240}};
+        for(long[] c: cases){
+            BigInt a = new BigInt(c[0]);
+            BigInt b = new BigInt(c[1]);
+            BigInt[] gxy = a.extendedGcd(b);
+            assertEquals(a.gcd(b), gxy[0]);
+            assertEquals(gxy[0], a.multiply(gxy[1]).add(b.multiply(gxy[2])));
+        }
+        BigInt a = powerOfThree(2000).add(2);
+        BigInt b = powerOfTen(900).minus(7);
+        BigInt[] gxy = BigInt.extendedGcd(a, b);
+        assertEquals(a.gcd(b), gxy[0]);
+        assertEquals(gxy[0], a.multiply(gxy[1]).add(b.multiply(gxy[2])));
+        assertTrue(gxy[1].abs().compareTo(b) < 0);
+    }
+
+    @Test
+    public void testSum(){
+        assertEquals(BigInt.ZERO, BigInt.sum());
+        assertEquals("-5", BigInt.sum(new BigInt(3), new BigInt(-8)).toString());
+        // Carries out of the top limb, and totals that cross zero in both directions
+        BigInt max = new BigInt(-1L).minus(Long.MIN_VALUE).multiply(new BigInt(-1L).minus(Long.MIN_VALUE));
+        List<BigInt> values = new ArrayList<>();
+        BigInt expected = BigInt.ZERO;
+        Random random = new Random(17);
+        for(int i = 0; i < 2000; i++){
+            BigInt value = max.multiply(random.nextInt()).add(random.nextLong());
+            if(i % 500 == 0){
+                value = BigInt.ZERO.minus(powerOfTen(200 + i / 10));
+            }
+            values.add(value);
+            expected = expected.add(value);
+            assertEquals(expected, BigInt.sum(values));
+        }
+        assertEquals(BigInt.ZERO, BigInt.sum(max, BigInt.ZERO.minus(max)));
+        assertEquals(BigInt.ZERO.minus(powerOfTen(100)), BigInt.sum(BigInt.ONE, BigInt.ZERO.minus(powerOfTen(100)), new BigInt(-1)));
+    }
+
+    @Test
+    public void testProduct(){
+        assertEquals(BigInt.ONE, BigInt.product());
+        assertEquals(BigInt.ZERO, BigInt.product(new BigInt(5), BigInt.ZERO, powerOfTen(50)));
+        assertEquals("-30", BigInt.product(new BigInt(2), new BigInt(-3), new BigInt(5)).toString());
+        List<BigInt> factors = new ArrayList<>();
+        BigInt factorial = BigInt.ONE;
+        for(int i = 1; i <= 1000; i++){
+            factors.add(new BigInt(i));
+            factorial = factorial.multiply(i);
+        }
+        assertEquals(factorial, BigInt.product(factors));
+    }
+
+    @Test
+    public void testSummingAndMultiplyingCollectors(){
+        BigInt sum = IntStream.rangeClosed(1, 100_000).parallel()
+                .mapToObj(i -> powerOfTen(i % 40).multiply(i % 3 == 0? -i: i))
+                .collect(BigInt.summing());
+        BigInt expected = BigInt.ZERO;
+        for(int i = 1; i <= 100_000; i++){
+            expected = expected.add(powerOfTen(i % 40).multiply(i % 3 == 0? -i: i));
+        }
+        assertEquals(expected, sum);
+        BigInt factorial = IntStream.rangeClosed(1, 3000).parallel().mapToObj(BigInt::new).collect(BigInt.multiplying());
+        assertEquals(BigInt.product(IntStream.rangeClosed(1, 3000).mapToObj(BigInt::new).toList()), factorial);
+        assertEquals(BigInt.ZERO, IntStream.range(0, 0).mapToObj(BigInt::new).collect(BigInt.summing()));
+    }
+
+    @Test
+    public void testByteArrayFormat(){
+        assertArrayEquals(new byte[]{0}, BigInt.ZERO.toByteArray());
+        assertArrayEquals(new byte[]{2, 1, 0, 0, 0}, BigInt.ONE.toByteArray());
+        assertArrayEquals(new byte[]{3, 0x78, 0x56, 0x34, 0x12}, new BigInt(-0x12345678).toByteArray());
+        // 64 limbs need a two-byte header, 128 = 0x80 0x01
+        byte[] bytes = new BigInt(2).pow(63 * 32).toByteArray();
+        assertEquals(2 + 4 * 64, bytes.length);
+        assertEquals((byte)0x80, bytes[0]);
+        assertEquals(1, bytes[1]);
+        for(BigInt value: serializationValues()){
+            assertEquals(value.serializedSize(), value.toByteArray().length);
+            assertEquals(value, BigInt.fromByteArray(value.toByteArray()));
+        }
+    }
+
+    @Test
+    public void testByteBufferRoundTrip(){
+        List<BigInt> values = serializationValues();
+        int size = 0;
+        for(BigInt value: values){
+            size += value.serializedSize();
+        }
+        // The byte order of the buffer doesn't matter, and values are read back to back
+        for(ByteBuffer buffer: new ByteBuffer[]{ByteBuffer.allocate(size + 3), ByteBuffer.allocateDirect(size + 3)}){
+            buffer.position(3);
+            for(BigInt value: values){
+                value.writeTo(buffer);
+            }
+            assertFalse(buffer.hasRemaining());
+            buffer.position(3);
+            for(BigInt value: values){
+                assertEquals(value, BigInt.readFrom(buffer));
+            }
+            assertFalse(buffer.hasRemaining());
+        }
+        assertArrayEquals(powerOfTen(100).toByteArray(), bytesOf(powerOfTen(100), ByteBuffer.allocateDirect(100)));
+    }
+
+    private static byte[] bytesOf(BigInt value, ByteBuffer buffer){
+        value.writeTo(buffer);
+        byte[] bytes = new byte[buffer.flip().remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testDataStreamRoundTrip() throws IOException{
+        List<BigInt> values = serializationValues();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for(BigInt value: values){
+            value.writeBinary(out);
+        }
+        out.flush();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for(BigInt value: values){
+            assertEquals(value, BigInt.readBinary(in));
+        }
+        assertThrows(EOFException.class, () -> BigInt.readBinary(in));
+        // The same bytes as toByteArray, back to back
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for(BigInt value: values){
+            expected.write(value.toByteArray());
+        }
+        assertArrayEquals(expected.toByteArray(), bytes.toByteArray());
+    }
+
+    @Test
+    public void testMalformedBytes(){
+        // Truncated limbs, negative zero, a top limb of 0, a padded header, and trailing bytes
+        assertThrows(BufferUnderflowException.class, () -> BigInt.fromByteArray(new byte[]{2, 1, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> BigInt.fromByteArray(new byte[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> BigInt.fromByteArray(new byte[]{2, 0, 0, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> BigInt.fromByteArray(new byte[]{(byte)0x82, 0, 1, 0, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> BigInt.fromByteArray(new byte[]{0, 0}));
+        // A huge limb count fails before allocating
+        assertThrows(BufferUnderflowException.class, () -> BigInt.fromByteArray(new byte[]{(byte)0xFE, (byte)0xFF, (byte)0xFF, (byte)0xFF, 7}));
+        assertThrows(IOException.class, () -> BigInt.readBinary(new DataInputStream(new ByteArrayInputStream(new byte[]{1}))));
+        assertThrows(EOFException.class, () -> BigInt.readBinary(new DataInputStream(new ByteArrayInputStream(new byte[]{(byte)0xFE, (byte)0xFF, (byte)0xFF, (byte)0xFF, 7}))));
+    }
+
+    private static List<BigInt> serializationValues(){
+        List<BigInt> values = new ArrayList<>(List.of(BigInt.ZERO, BigInt.ONE, new BigInt(-1), new BigInt(Long.MIN_VALUE),
+                new BigInt(Long.MAX_VALUE), powerOfTen(100), BigInt.ZERO.minus(powerOfThree(5000))));
+        // Longer than one chunk of the DataOutput path
+        values.add(powerOfThree(100_000).add(1));
+        return values;
+    }
+
+    private static List<BigInteger> bitwiseValues(){
+        // Mixed signs, powers of two and their neighbours, whose two's complements end in long runs of zeros or ones
+        Random random = new Random(25);
+        List<BigInteger> values = new ArrayList<>(List.of(BigInteger.ZERO, BigInteger.ONE, BigInteger.ONE.negate(),
+                BigInteger.valueOf(Long.MIN_VALUE), BigInteger.valueOf(Long.MAX_VALUE)));
+        for(int i = 0; i < 60; i++){
+            BigInteger value = new BigInteger(1 + random.nextInt(300), random);
+            if(i % 3 == 0){
+                value = BigInteger.ONE.shiftLeft(random.nextInt(200)).add(BigInteger.valueOf(random.nextInt(3) - 1));
+            }
+            values.add(random.nextBoolean()? value: value.negate());
+        }
+        return values;
+    }
+
+    @Test
+    public void testBitwiseOperations(){
+        // and, or, xor, andNot and not against BigInteger, on every pair of values
+        List<BigInteger> values = bitwiseValues();
+        for(BigInteger x: values){
+            BigInt a = new BigInt(x.toString());
+            assertEquals(x.not().toString(), a.not().toString());
+            assertEquals(x.bitCount(), a.bitCount());
+            assertEquals(x.getLowestSetBit(), a.getLowestSetBit());
+            assertEquals(x.bitLength(), a.bitLength());
+            for(BigInteger y: values){
+                BigInt b = new BigInt(y.toString());
+                assertEquals(x.and(y).toString(), a.and(b).toString());
+                assertEquals(x.or(y).toString(), a.or(b).toString());
+                assertEquals(x.xor(y).toString(), BigInt.xor(a, b).toString());
+                assertEquals(x.andNot(y).toString(), a.andNot(b).toString());
+            }
+        }
+        // Negative powers of two need one bit less than their magnitude
+        assertEquals(3, BigInt.valueOf(-8).bitLength());
+        assertEquals(4, BigInt.valueOf(-9).bitLength());
+        assertEquals(0, BigInt.valueOf(-1).bitLength());
+        assertEquals(64, BigInt.ONE.shiftLeft(64).inverse().bitLength());
+        assertEquals(65, BigInt.ONE.shiftLeft(64).add(1).inverse().bitLength());
+        assertEquals(BigInt.valueOf(-8 & 13), BigInt.and(-8, BigInt.valueOf(13)));
+        assertEquals(BigInt.valueOf(-8 | 13), BigInt.valueOf(13).or(-8));
+    }
+
+    @Test
+    public void testShifts(){
+        for(BigInteger x: bitwiseValues()){
+            BigInt a = new BigInt(x.toString());
+            for(int n: new int[]{0, 1, 5, 31, 32, 33, 64, 100, 250, 400}){
+                assertEquals(x.shiftLeft(n).toString(), a.shiftLeft(n).toString());
+                // Rounds towards negative infinity
+                assertEquals(x.shiftRight(n).toString(), a.shiftRight(n).toString());
+                assertEquals(x.shiftRight(n).toString(), BigInt.shiftLeft(a, -n).toString());
+                assertEquals(x.shiftLeft(n).toString(), a.shiftRight(-n).toString());
+            }
+        }
+        assertEquals(BigInt.valueOf(-1), BigInt.valueOf(-5).shiftLeft(Integer.MIN_VALUE));
+        assertEquals(BigInt.ZERO, BigInt.valueOf(5).shiftRight(Integer.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> BigInt.ONE.shiftLeft(Integer.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> BigInt.ONE.shiftRight(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testSingleBits(){
+        for(BigInteger x: bitwiseValues()){
+            BigInt a = new BigInt(x.toString());
+            for(int n: new int[]{0, 1, 31, 32, 63, 64, 65, 199, 200, 500}){
+                assertEquals(x.testBit(n), a.testBit(n));
+                assertEquals(x.setBit(n).toString(), a.setBit(n).toString());
+                assertEquals(x.clearBit(n).toString(), a.clearBit(n).toString());
+                assertEquals(x.flipBit(n).toString(), a.flipBit(n).toString());
+            }
+        }
+        assertEquals(-1, BigInt.ZERO.getLowestSetBit());
+        assertThrows(ArithmeticException.class, () -> BigInt.ONE.testBit(-1));
+        assertThrows(ArithmeticException.class, () -> BigInt.ONE.flipBit(-1));
+    }
 }
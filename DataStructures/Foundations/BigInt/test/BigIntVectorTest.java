@@ -0,0 +1,100 @@
+package DataStructures.Foundations.BigInt.test;
+
+import DataStructures.Foundations.BigInt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+import org.junit.Test;
+
+public class BigIntVectorTest {
+
+    private static List<BigInt> randomValues(int count, Random random){
+        // Mixed signs and lengths, with zeros, and values of 0xFFFFFFFF limbs for the carries
+        List<BigInt> values = new ArrayList<>();
+        for(int i = 0; i < count; i++){
+            int kind = random.nextInt(6);
+            BigInt value;
+            if(kind == 0){
+                value = BigInt.ZERO;
+            } else if(kind == 1){
+                value = new BigInt(2).pow(32 * random.nextInt(5)).minus(1);
+            } else {
+                value = new BigInt(random.nextLong()).multiply(new BigInt(random.nextLong()).pow(random.nextInt(4)));
+            }
+            values.add(random.nextBoolean()? value: BigInt.ZERO.minus(value));
+        }
+        return values;
+    }
+
+    @Test
+    public void testAppendAndGet(){
+        List<BigInt> values = randomValues(1000, new Random(19));
+        // Starts with no room, so both the offsets and the buffer have to grow
+        BigIntVector vector = new BigIntVector(0, 0);
+        for(BigInt value: values){
+            vector.append(value);
+        }
+        assertEquals(values.size(), vector.size());
+        for(int i = 0; i < values.size(); i++){
+            assertEquals(values.get(i), vector.get(i));
+            assertEquals(values.get(i).signum(), vector.signum(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(values.size()));
+    }
+
+    @Test
+    public void testAdd(){
+        Random random = new Random(20);
+        List<BigInt> a = randomValues(2000, random);
+        List<BigInt> b = randomValues(2000, random);
+        // Opposite values, which cancel out
+        a.set(0, new BigInt(Long.MIN_VALUE));
+        b.set(0, new BigInt(Long.MIN_VALUE).abs());
+        BigIntVector sum = BigIntVector.of(a).add(BigIntVector.of(b));
+        for(int i = 0; i < a.size(); i++){
+            assertEquals(a.get(i).add(b.get(i)), sum.get(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> BigIntVector.of(a).add(new BigIntVector()));
+    }
+
+    @Test
+    public void testMultiply(){
+        List<BigInt> values = randomValues(1000, new Random(21));
+        BigIntVector vector = BigIntVector.of(values);
+        BigInt[] scalars = {BigInt.ZERO, BigInt.ONE, new BigInt(-1), new BigInt(-0xFFFFFFFFL), new BigInt(3).pow(100)};
+        for(BigInt scalar: scalars){
+            BigIntVector product = vector.multiply(scalar);
+            for(int i = 0; i < values.size(); i++){
+                assertEquals(values.get(i).multiply(scalar), product.get(i));
+            }
+        }
+        assertEquals(values.get(7).multiply(Long.MIN_VALUE), vector.multiply(Long.MIN_VALUE).get(7));
+    }
+
+    @Test
+    public void testCompare(){
+        Random random = new Random(22);
+        List<BigInt> a = randomValues(2000, random);
+        List<BigInt> b = randomValues(2000, random);
+        // Equal values, and values that only differ in the lowest limb
+        a.set(0, new BigInt(3).pow(200));
+        b.set(0, new BigInt(3).pow(200));
+        a.set(1, BigInt.ZERO.minus(new BigInt(3).pow(200)));
+        b.set(1, BigInt.ZERO.minus(new BigInt(3).pow(200).add(1)));
+        int[] comparison = BigIntVector.of(a).compare(BigIntVector.of(b));
+        for(int i = 0; i < a.size(); i++){
+            assertEquals(Integer.signum(a.get(i).compareTo(b.get(i))), comparison[i]);
+        }
+        BigInt pivot = new BigInt(-123456789012345L);
+        int[] expected = new int[a.size()];
+        for(int i = 0; i < a.size(); i++){
+            expected[i] = Integer.signum(a.get(i).compareTo(pivot));
+        }
+        assertArrayEquals(expected, BigIntVector.of(a).compare(pivot));
+    }
+}
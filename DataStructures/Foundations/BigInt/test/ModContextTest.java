@@ -0,0 +1,57 @@
+package DataStructures.Foundations.BigInt.test;
+
+
+
+import DataStructures.Foundations.BigInt.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+import org.junit.Test;
+
+public class ModContextTest {
+
+    @Test
+    public void testInvalidModulus(){
+        assertThrows(ArithmeticException.class, () -> new ModContext(BigInt.ZERO));
+        assertThrows(ArithmeticException.class, () -> new ModContext(new BigInt(-5)));
+    }
+
+    @Test
+    public void testMultiply(){
+        ModContext odd = new ModContext(new BigInt(1_000_000_007));
+        assertEquals("49", odd.multiply(new BigInt(1_000_000_000), new BigInt(1_000_000_000)).toString());
+        ModContext even = new ModContext(new BigInt(1L << 40));
+        assertEquals("1099511627775", even.multiply(new BigInt(-1), BigInt.ONE).toString());
+    }
+
+    @Test
+    public void testReuse(){
+        // RSA with the Mersenne primes 2^89 - 1 and 2^107 - 1
+        BigInt p = new BigInt(2).pow(89).minus(1);
+        BigInt q = new BigInt(2).pow(107).minus(1);
+        BigInt n = p.multiply(q);
+        BigInt e = new BigInt(65537);
+        BigInt d = e.modInverse(p.minus(1).multiply(q.minus(1)));
+        ModContext context = new ModContext(n);
+        assertTrue(context.modulus().equals(n));
+        for(long message = 2; message < 2_000_000; message = message * 7 + 1){
+            BigInt m = new BigInt(message);
+            BigInt c = m.modPow(e, context);
+            assertTrue(c.modPow(d, context).equals(m));
+        }
+    }
+
+    @Test
+    public void testLargeEvenModulus(){
+        // Barrett and Montgomery must agree on (odd base)^e mod 2^k * odd
+        BigInt odd = new BigInt(10).pow(200).add(1);
+        BigInt even = odd.multiply(1L << 33);
+        BigInt a = new BigInt(3).pow(500);
+        BigInt e = new BigInt(10).pow(50);
+        BigInt r = a.modPow(e, new ModContext(even));
+        assertTrue(r.mod(odd).equals(a.modPow(e, new ModContext(odd))));
+        assertTrue(r.mod(1L << 33).equals(a.modPow(e, new BigInt(1L << 33))));
+    }
+}
@@ -0,0 +1,116 @@
+package DataStructures.Foundations.BigInt.test;
+
+
+
+import DataStructures.Foundations.BigInt.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+import org.junit.Test;
+
+public class MutableBigIntTest {
+
+    @Test
+    public void testDefaultConstructor(){
+        MutableBigInt mbi = new MutableBigInt();
+        assertTrue(mbi.isZero());
+        assertEquals(0, mbi.signum());
+        assertEquals("0", mbi.toString());
+    }
+
+    @Test
+    public void testLongConstructor(){
+        assertEquals("-9223372036854775808", new MutableBigInt(Long.MIN_VALUE).toString());
+        assertEquals("9223372036854775807", new MutableBigInt(Long.MAX_VALUE).toString());
+    }
+
+    @Test
+    public void testAddInPlace(){
+        MutableBigInt mbi = MutableBigInt.withCapacity(1);
+        for(int i = 0; i < 1000; i++){
+            mbi.addInPlace(Long.MAX_VALUE);
+        }
+        BigInt expected = BigInt.multiply(new BigInt(Long.MAX_VALUE), 1000);
+        assertEquals(expected, mbi.toBigInt());
+    }
+
+    @Test
+    public void testAddInPlaceChangesSign(){
+        MutableBigInt mbi = new MutableBigInt(5L);
+        mbi.addInPlace(new BigInt(-8));
+        assertEquals("-3", mbi.toString());
+        mbi.addInPlace(new MutableBigInt(3L));
+        assertEquals("0", mbi.toString());
+        assertEquals(0, mbi.signum());
+    }
+
+    @Test
+    public void testSubtractInPlace(){
+        MutableBigInt mbi = new MutableBigInt(new BigInt(Long.MAX_VALUE).multiply(Long.MAX_VALUE));
+        mbi.subtractInPlace(new BigInt(Long.MAX_VALUE).multiply(Long.MAX_VALUE)).subtractInPlace(1);
+        assertEquals("-1", mbi.toString());
+        mbi.subtractInPlace(Long.MIN_VALUE);
+        assertEquals("9223372036854775807", mbi.toString());
+    }
+
+    @Test
+    public void testMultiplyByLongInPlace(){
+        MutableBigInt mbi = new MutableBigInt(-3L);
+        mbi.multiplyByLongInPlace(Long.MIN_VALUE);
+        assertEquals("27670116110564327424", mbi.toString());
+        mbi.multiplyByLongInPlace(-1_000_000_007L);
+        assertEquals("-27670116304255140197950291968", mbi.toString());
+    }
+
+    @Test
+    public void testShiftInPlace(){
+        MutableBigInt mbi = new MutableBigInt(1L);
+        mbi.shiftInPlace(100);
+        assertEquals("1267650600228229401496703205376", mbi.toString());
+        mbi.shiftInPlace(-99);
+        assertEquals("2", mbi.toString());
+    }
+
+    @Test
+    public void testShiftRightNegativeRoundsDown(){
+        assertEquals("-3", new MutableBigInt(-5L).shiftInPlace(-1).toString());
+        assertEquals("-1", new MutableBigInt(-1L).shiftInPlace(-64).toString());
+        assertEquals("-2", new MutableBigInt(-4L).shiftInPlace(-1).toString());
+        assertEquals("0", new MutableBigInt(5L).shiftInPlace(-64).toString());
+    }
+
+    @Test
+    public void testCapacityGrows(){
+        MutableBigInt mbi = MutableBigInt.withCapacity(0);
+        mbi.addInPlace(1).shiftInPlace(32 * 100);
+        assertTrue(mbi.capacity() >= 101);
+        int capacity = mbi.capacity();
+        mbi.setZero().addInPlace(-7);
+        assertEquals(capacity, mbi.capacity());
+        assertEquals("-7", mbi.toString());
+        // An int argument is a value, as for BigInt, and only withCapacity takes a capacity
+        assertEquals("5", new MutableBigInt(5).toString());
+        assertEquals(7, MutableBigInt.withCapacity(7).capacity());
+        assertTrue(MutableBigInt.withCapacity(7).isZero());
+        assertThrows(IllegalArgumentException.class, () -> MutableBigInt.withCapacity(-1));
+    }
+
+    @Test
+    public void testSetValue(){
+        MutableBigInt mbi = new MutableBigInt(Long.MAX_VALUE);
+        mbi.setValue(new BigInt(-42));
+        assertEquals("-42", mbi.toString());
+        assertEquals(-1, mbi.signum());
+    }
+
+    @Test
+    public void testSnapshotIsIndependent(){
+        MutableBigInt mbi = new MutableBigInt(10L);
+        BigInt snapshot = mbi.toBigInt();
+        mbi.addInPlace(5);
+        assertEquals("10", snapshot.toString());
+        assertEquals("15", mbi.toString());
+    }
+}
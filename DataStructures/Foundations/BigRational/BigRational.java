@@ -0,0 +1,296 @@
+package DataStructures.Foundations.BigRational;
+
+import java.math.MathContext;
+
+import DataStructures.Foundations.BigDecimal.BigDecimal;
+import DataStructures.Foundations.BigInt.BigInt;
+
+public final class BigRational implements Comparable<BigRational>{
+    /**
+     * An immutable exact fraction numerator / denominator of two BigInts, with a positive denominator
+     *
+     * Reducing to lowest terms takes a GCD, which costs far more than the multiplications of an addition,
+     * so a BigRational is not necessarily in lowest terms:
+     * (1) add and minus just cross-multiply, e.g. 1/6 + 1/10 is kept as 16/60
+     * (2) the value is only reduced when something needs its lowest terms:
+     *     equals, hashCode, toString, numerator() and denominator()
+     *     The reduced form is then cached, and later arithmetic continues from it.
+     * (3) so that a long chain of additions doesn't grow without bound, a result is also reduced
+     *     once its numerator and denominator together have more than twice as many bits as its operands had
+     *     when they were last reduced, plus GROWTH_SLACK_BITS.
+     *     So the GCDs only happen each time the size doubles, and their cost is amortized over the additions.
+     *     Results whose numerator and denominator both fit into a long are still reduced right away,
+     *     since a GCD of two longs costs less than the growth it saves.
+     * compareTo doesn't need lowest terms at all, it compares the cross products.
+     *
+     * multiply and divide of two reduced operands use cross-cancellation (Knuth, TAOCP Vol. 2, 4.5.1):
+     * For a/b * c/d, with g1 = gcd(a, d) and g2 = gcd(c, b), the product is (a/g1)(c/g2) / (b/g2)(d/g1),
+     * which is again in lowest terms. The two GCDs are on the smaller operands instead of the products,
+     * and the products are built from already shrunk factors.
+     */
+    // Extra bits a result may grow by over twice its operands' reduced sizes before it is reduced
+    private static final int GROWTH_SLACK_BITS = 64;
+
+    public static final BigRational ZERO = new BigRational(BigInt.ZERO, BigInt.ONE, 1, true);
+    public static final BigRational ONE = new BigRational(BigInt.ONE, BigInt.ONE, 2, true);
+
+    private final BigInt numerator;
+    // Always positive
+    private final BigInt denominator;
+    // Bits of numerator and denominator together, the last time this value or its operands were in lowest terms
+    private final int reducedBits;
+    // This value in lowest terms, once known
+    // Racing threads compute equal values, and the reduced BigRational only has final fields
+    private BigRational reduced;
+
+    public BigRational(BigInt numerator, BigInt denominator){
+        if(denominator.isZero()){
+            throw new ArithmeticException("Zero denominator");
+        }
+        if(denominator.signum() < 0){
+            numerator = numerator.inverse();
+            denominator = denominator.inverse();
+        }
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.reducedBits = numerator.abs().bitLength() + denominator.bitLength();
+    }
+
+    public BigRational(long numerator, long denominator){
+        this(BigInt.valueOf(numerator), BigInt.valueOf(denominator));
+    }
+
+    private BigRational(BigInt numerator, BigInt denominator, int reducedBits, boolean isReduced){
+        // Only used internally with a positive denominator
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.reducedBits = reducedBits;
+        if(isReduced){
+            this.reduced = this;
+        }
+    }
+
+    public static BigRational valueOf(long value){
+        return BigRational.valueOf(BigInt.valueOf(value));
+    }
+
+    public static BigRational valueOf(BigInt value){
+        return new BigRational(value, BigInt.ONE, value.abs().bitLength() + 1, true);
+    }
+
+    public static BigRational parse(CharSequence s){
+        // "numerator/denominator" or just "numerator", each as in BigInt.parse
+        for(int i = 0; i < s.length(); i++){
+            if(s.charAt(i) == '/'){
+                return new BigRational(BigInt.parse(s.subSequence(0, i)), BigInt.parse(s.subSequence(i + 1, s.length())));
+            }
+        }
+        return BigRational.valueOf(BigInt.parse(s));
+    }
+
+    public BigRational normalize(){
+        // This value in lowest terms, computed once
+        BigRational result = this.reduced;
+        if(result != null){
+            return result;
+        }
+        BigInt g = BigInt.gcd(this.numerator, this.denominator);
+        BigInt numerator = this.numerator;
+        BigInt denominator = this.denominator;
+        if(g.bitLength() > 1){
+            numerator = numerator.divide(g);
+            denominator = denominator.divide(g);
+        }
+        result = new BigRational(numerator, denominator, numerator.abs().bitLength() + denominator.bitLength(), true);
+        this.reduced = result;
+        return result;
+    }
+
+    public BigInt numerator(){
+        // In lowest terms
+        return this.normalize().numerator;
+    }
+
+    public BigInt denominator(){
+        // In lowest terms, always positive
+        return this.normalize().denominator;
+    }
+
+    public int signum(){
+        return this.numerator.signum();
+    }
+
+    public boolean isZero(){
+        return this.numerator.isZero();
+    }
+
+    public BigRational negate(){
+        BigRational value = this.best();
+        return new BigRational(value.numerator.inverse(), value.denominator, value.reducedBits, value.isReduced());
+    }
+
+    public BigRational abs(){
+        return this.signum() < 0? this.negate(): this;
+    }
+
+    public BigRational reciprocal(){
+        BigRational value = this.best();
+        if(value.isZero()){
+            throw new ArithmeticException("Reciprocal of zero");
+        }
+        // The sign moves to the new numerator
+        if(value.signum() < 0){
+            return new BigRational(value.denominator.inverse(), value.numerator.inverse(), value.reducedBits, value.isReduced());
+        }
+        return new BigRational(value.denominator, value.numerator, value.reducedBits, value.isReduced());
+    }
+
+    public static BigRational add(BigRational a, BigRational b){
+        a = a.best();
+        b = b.best();
+        if(a.isZero()){
+            return b;
+        }
+        if(b.isZero()){
+            return a;
+        }
+        BigInt numerator;
+        BigInt denominator;
+        if(a.denominator.equals(b.denominator)){
+            // Includes the sum of two integers, which stays in lowest terms
+            numerator = a.numerator.add(b.numerator);
+            denominator = a.denominator;
+        } else {
+            numerator = a.numerator.multiply(b.denominator).add(b.numerator.multiply(a.denominator));
+            denominator = a.denominator.multiply(b.denominator);
+        }
+        return BigRational.lazy(numerator, denominator, Math.max(a.reducedBits, b.reducedBits));
+    }
+
+    public BigRational add(BigRational other){
+        return BigRational.add(this, other);
+    }
+
+    public static BigRational minus(BigRational a, BigRational b){
+        return BigRational.add(a, b.negate());
+    }
+
+    public BigRational minus(BigRational other){
+        return BigRational.minus(this, other);
+    }
+
+    public static BigRational multiply(BigRational a, BigRational b){
+        a = a.best();
+        b = b.best();
+        if(a.isZero() || b.isZero()){
+            return BigRational.ZERO;
+        }
+        if(a.isReduced() && b.isReduced()){
+            // Cross-cancellation, see above
+            BigInt g1 = BigInt.gcd(a.numerator, b.denominator);
+            BigInt g2 = BigInt.gcd(b.numerator, a.denominator);
+            BigInt numerator = BigRational.exactDivide(a.numerator, g1).multiply(BigRational.exactDivide(b.numerator, g2));
+            BigInt denominator = BigRational.exactDivide(a.denominator, g2).multiply(BigRational.exactDivide(b.denominator, g1));
+            return new BigRational(numerator, denominator, numerator.abs().bitLength() + denominator.bitLength(), true);
+        }
+        return BigRational.lazy(a.numerator.multiply(b.numerator), a.denominator.multiply(b.denominator),
+                Math.max(a.reducedBits, b.reducedBits));
+    }
+
+    public BigRational multiply(BigRational other){
+        return BigRational.multiply(this, other);
+    }
+
+    public static BigRational divide(BigRational a, BigRational b){
+        // Throws an ArithmeticException if b is zero
+        return BigRational.multiply(a, b.reciprocal());
+    }
+
+    public BigRational divide(BigRational other){
+        return BigRational.divide(this, other);
+    }
+
+    public BigDecimal toBigDecimal(MathContext mc){
+        // The value rounded to mc, see BigDecimal.divide(BigDecimal, MathContext)
+        return new BigDecimal(this.numerator, 0).divide(new BigDecimal(this.denominator, 0), mc);
+    }
+
+    @Override
+    public int compareTo(BigRational other){
+        // a/b against c/d is a*d against c*b, as both denominators are positive
+        BigRational a = this.best();
+        BigRational b = other.best();
+        int signum = a.signum();
+        if(signum != b.signum()){
+            return signum < b.signum()? -1: 1;
+        }
+        if(signum == 0){
+            return 0;
+        }
+        return a.numerator.multiply(b.denominator).compareTo(b.numerator.multiply(a.denominator));
+    }
+
+    @Override
+    public boolean equals(Object o){
+        // The same value, whether reduced or not
+        if(o == this){
+            return true;
+        }
+        if(!(o instanceof BigRational)){
+            return false;
+        }
+        BigRational a = this.normalize();
+        BigRational b = ((BigRational)o).normalize();
+        return a.numerator.equals(b.numerator) && a.denominator.equals(b.denominator);
+    }
+
+    @Override
+    public int hashCode(){
+        BigRational value = this.normalize();
+        return 31 * value.numerator.hashCode() + value.denominator.hashCode();
+    }
+
+    @Override
+    public String toString(){
+        // "numerator/denominator" in lowest terms, or just the numerator for an integer
+        BigRational value = this.normalize();
+        if(value.denominator.bitLength() == 1){
+            return value.numerator.toString();
+        }
+        return value.numerator + "/" + value.denominator;
+    }
+
+    private boolean isReduced(){
+        return this.reduced == this;
+    }
+
+    private BigRational best(){
+        // The reduced form if it is already known, since it's never larger
+        BigRational value = this.reduced;
+        return value != null? value: this;
+    }
+
+    private static BigRational lazy(BigInt numerator, BigInt denominator, int reducedBits){
+        // A new result, reduced only if it has outgrown its operands, see above
+        if(numerator.isZero()){
+            return BigRational.ZERO;
+        }
+        if(denominator.bitLength() == 1){
+            return BigRational.valueOf(numerator);
+        }
+        BigRational result = new BigRational(numerator, denominator, reducedBits, false);
+        // While both fit into a long, the GCD runs on two longs, and is cheaper than letting them grow
+        if(numerator.abs().bitLength() < 64 && denominator.bitLength() < 64){
+            return result.normalize();
+        }
+        if(numerator.abs().bitLength() + (long)denominator.bitLength() > 2L * reducedBits + GROWTH_SLACK_BITS){
+            return result.normalize();
+        }
+        return result;
+    }
+
+    private static BigInt exactDivide(BigInt a, BigInt g){
+        // a / g for a divisor g of a, skipping the division by 1
+        return g.bitLength() > 1? a.divide(g): a;
+    }
+}
@@ -0,0 +1,94 @@
+package DataStructures.Foundations.BigRational.bench;
+
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+import DataStructures.Foundations.BigRational.BigRational;
+
+public class RationalChainBenchmark {
+    /**
+     * Times long chains of BigRational additions with the lazy reduction of BigRational,
+     * against an eager baseline that reduces to lowest terms after every single addition,
+     * and prints both timings and the speedup per chain.
+     *
+     * The chains are
+     * (1) harmonic: 1/1 + 1/2 + ... + 1/n, where the reduced denominator keeps growing like lcm(1..n)
+     * (2) random: n fractions with numerators and denominators below 1000, where the reduced denominator
+     *     soon stops growing, since it divides lcm(1..999)
+     * (3) steps: n additions of small multiples of 1/997 and 1/1009, as in a fixed-step simulation,
+     *     where the reduced denominator stays tiny
+     * Both variants end in lowest terms, so the final value is checked to be the same.
+     *
+     * Usage: java -cp <classes> DataStructures.Foundations.BigRational.bench.RationalChainBenchmark [terms...]
+     */
+    private static final int[] DEFAULT_TERMS = {1_000, 4_000, 16_000};
+
+    public static void main(String[] args){
+        int[] terms = DEFAULT_TERMS;
+        if(args.length > 0){
+            terms = new int[args.length];
+            for(int i = 0; i < args.length; i++){
+                terms[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("%10s %8s %12s %12s %8s%n", "chain", "terms", "lazy", "eager", "speedup");
+        for(int n: terms){
+            RationalChainBenchmark.run("harmonic", RationalChainBenchmark.harmonic(n));
+            RationalChainBenchmark.run("random", RationalChainBenchmark.random(n, new Random(2024)));
+            RationalChainBenchmark.run("steps", RationalChainBenchmark.steps(n, new Random(2024)));
+        }
+    }
+
+    private static void run(String name, BigRational[] chain){
+        double lazy = RationalChainBenchmark.time(chain, UnaryOperator.identity());
+        double eager = RationalChainBenchmark.time(chain, BigRational::normalize);
+        if(!RationalChainBenchmark.sum(chain, UnaryOperator.identity()).equals(RationalChainBenchmark.sum(chain, BigRational::normalize))){
+            throw new AssertionError("Lazy and eager sums differ for " + name);
+        }
+        System.out.printf("%10s %8d %10.2fms %10.2fms %8.2f%n", name, chain.length, lazy, eager, eager / lazy);
+    }
+
+    private static BigRational sum(BigRational[] chain, UnaryOperator<BigRational> afterEachStep){
+        BigRational sum = BigRational.ZERO;
+        for(BigRational term: chain){
+            sum = afterEachStep.apply(sum.add(term));
+        }
+        return sum.normalize();
+    }
+
+    private static double time(BigRational[] chain, UnaryOperator<BigRational> afterEachStep){
+        // One warm-up run, then the best of three
+        RationalChainBenchmark.sum(chain, afterEachStep);
+        double best = Double.MAX_VALUE;
+        for(int run = 0; run < 3; run++){
+            long start = System.nanoTime();
+            RationalChainBenchmark.sum(chain, afterEachStep);
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+        }
+        return best;
+    }
+
+    private static BigRational[] harmonic(int n){
+        BigRational[] chain = new BigRational[n];
+        for(int i = 0; i < n; i++){
+            chain[i] = new BigRational(1, i + 1);
+        }
+        return chain;
+    }
+
+    private static BigRational[] random(int n, Random random){
+        BigRational[] chain = new BigRational[n];
+        for(int i = 0; i < n; i++){
+            chain[i] = new BigRational(random.nextInt(1999) - 999, 1 + random.nextInt(999));
+        }
+        return chain;
+    }
+
+    private static BigRational[] steps(int n, Random random){
+        BigRational[] chain = new BigRational[n];
+        for(int i = 0; i < n; i++){
+            chain[i] = new BigRational(random.nextInt(21) - 10, random.nextBoolean()? 997: 1009);
+        }
+        return chain;
+    }
+}
@@ -0,0 +1,115 @@
+package DataStructures.Foundations.BigRational.test;
+
+import DataStructures.Foundations.BigRational.*;
+import DataStructures.Foundations.BigInt.BigInt;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+import org.junit.Test;
+
+public class BigRationalTest {
+
+    private static BigRational random(Random random){
+        // Small numerators and denominators with many common factors, so sums and products reduce
+        long numerator = random.nextInt(2001) - 1000;
+        long denominator = 1 + random.nextInt(360);
+        return new BigRational(numerator, random.nextBoolean()? denominator: -denominator);
+    }
+
+    @Test
+    public void testLowestTerms(){
+        BigRational value = new BigRational(12, -36);
+        assertEquals("-1/3", value.toString());
+        assertEquals(BigInt.valueOf(-1), value.numerator());
+        assertEquals(BigInt.valueOf(3), value.denominator());
+        assertEquals("5", new BigRational(10, 2).toString());
+        assertEquals("0", new BigRational(0, -7).toString());
+        assertEquals(BigRational.parse("-2/6"), value);
+        assertEquals(BigRational.parse("42"), BigRational.valueOf(42));
+        assertThrows(ArithmeticException.class, () -> new BigRational(1, 0));
+        assertThrows(ArithmeticException.class, () -> BigRational.ZERO.reciprocal());
+    }
+
+    @Test
+    public void testArithmeticAgainstEagerReduction(){
+        // Every lazy result must equal the same chain reduced after every step
+        Random random = new Random(23);
+        BigRational lazy = BigRational.ZERO;
+        BigRational eager = BigRational.ZERO;
+        for(int i = 0; i < 2000; i++){
+            BigRational x = random(random);
+            switch(random.nextInt(4)){
+                case 0:
+                    lazy = lazy.add(x);
+                    eager = eager.add(x).normalize();
+                    break;
+                case 1:
+                    lazy = lazy.minus(x);
+                    eager = eager.minus(x).normalize();
+                    break;
+                case 2:
+                    lazy = lazy.multiply(x);
+                    eager = eager.multiply(x).normalize();
+                    break;
+                default:
+                    if(!x.isZero()){
+                        lazy = lazy.divide(x);
+                        eager = eager.divide(x).normalize();
+                    }
+            }
+            if(i % 100 == 0){
+                assertEquals(eager, lazy);
+                assertEquals(eager.hashCode(), lazy.hashCode());
+                assertEquals(eager.toString(), lazy.toString());
+                assertEquals(0, eager.compareTo(lazy));
+                // Keep the values from growing without bound
+                lazy = BigRational.ONE.add(x);
+                eager = lazy.normalize();
+            }
+        }
+    }
+
+    @Test
+    public void testLongChainOfAdditions(){
+        // The harmonic number H(500), whose denominator is far smaller than the product of 1..500
+        BigRational sum = BigRational.ZERO;
+        BigRational eager = BigRational.ZERO;
+        for(int i = 1; i <= 500; i++){
+            sum = sum.add(new BigRational(1, i));
+            eager = eager.add(new BigRational(1, i)).normalize();
+        }
+        assertEquals(eager, sum);
+        BigInt lcm = BigInt.ONE;
+        for(int i = 1; i <= 500; i++){
+            lcm = lcm.lcm(i);
+        }
+        assertTrue(lcm.mod(sum.denominator()).isZero());
+        assertEquals("6.79282342999052460298928714537", sum.toBigDecimal(new MathContext(30, RoundingMode.HALF_EVEN)).toString());
+    }
+
+    @Test
+    public void testCompareAndHash(){
+        Random random = new Random(24);
+        Set<BigRational> set = new HashSet<>();
+        for(int i = 0; i < 500; i++){
+            BigRational a = random(random);
+            BigRational b = random(random);
+            // a/b and c/d in the same order as the doubles, which are exact enough at this size
+            double x = a.numerator().longValueExact() / (double)a.denominator().longValueExact();
+            double y = b.numerator().longValueExact() / (double)b.denominator().longValueExact();
+            assertEquals(Double.compare(x, y) == 0? 0: Integer.signum(Double.compare(x, y)), a.compareTo(b));
+            set.add(a.add(b));
+            assertTrue(set.contains(b.add(a)));
+        }
+        // The same value in different unreduced forms
+        assertEquals(new BigRational(1, 2).add(new BigRational(1, 3)), BigRational.parse("50/60"));
+        assertEquals(-1, new BigRational(-1, 3).compareTo(new BigRational(-1, 4)));
+    }
+}